@@ -98,30 +98,36 @@ class EconomyManager {
         int costPerLevel = 10; // 스텟 업그레이드당 10 스텟코인
         int totalCost = costPerLevel * levels;
         
-        if (plugin.getStatsManager().spendStatCoins(player, totalCost)) {
-            PlayerStatsManager.PlayerStats stats = plugin.getStatsManager().getPlayerStats(player);
-            
-            switch (statType.toLowerCase()) {
-                case "health":
-                    stats.health += levels * 2; // 레벨당 체력 2 증가
-                    break;
-                case "damage":
-                    stats.damage += levels * 1; // 레벨당 공격력 1 증가
-                    break;
-                case "defense":
-                    stats.defense += levels * 1; // 레벨당 방어력 1 증가
-                    break;
-                case "speed":
-                    stats.speed += levels * 1; // 레벨당 속도 1 증가
-                    break;
-                case "mining":
-                    stats.mining += levels * 1; // 레벨당 채굴속도 1 증가
-                    break;
-                default:
-                    player.sendMessage(ChatColor.RED + "잘못된 스텟 타입입니다: " + statType);
-                    return false;
-            }
-            
+        TransactionJournal.Field field;
+        double amount;
+        switch (statType.toLowerCase()) {
+            case "health":
+                field = TransactionJournal.Field.HEALTH;
+                amount = levels * 2; // 레벨당 체력 2 증가
+                break;
+            case "damage":
+                field = TransactionJournal.Field.DAMAGE;
+                amount = levels * 1; // 레벨당 공격력 1 증가
+                break;
+            case "defense":
+                field = TransactionJournal.Field.DEFENSE;
+                amount = levels * 1; // 레벨당 방어력 1 증가
+                break;
+            case "speed":
+                field = TransactionJournal.Field.SPEED;
+                amount = levels * 1; // 레벨당 속도 1 증가
+                break;
+            case "mining":
+                field = TransactionJournal.Field.MINING;
+                amount = levels * 1; // 레벨당 채굴속도 1 증가
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + "잘못된 스텟 타입입니다: " + statType);
+                return false;
+        }
+        
+        // 스텟 코인 차감과 스텟 증가는 거래 저널에 한 건으로 기록
+        if (plugin.getStatsManager().upgradeStat(player, field, amount, totalCost)) {
             plugin.getStatsManager().savePlayerData(player);
             plugin.getStatsManager().applyStatsToPlayer(player);
             
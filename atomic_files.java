@@ -0,0 +1,55 @@
+package com.customrpg.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일 원자적 저장 유틸리티
+ * - 임시 파일에 먼저 기록하고 fsync 한 뒤 rename으로 교체
+ * - 저장 도중 서버가 종료되어도 기존 파일이 깨지지 않음
+ */
+final class AtomicFiles {
+    
+    private AtomicFiles() {}
+    
+    /**
+     * 데이터를 임시 파일에 쓴 뒤 대상 파일로 원자적으로 교체
+     */
+    static void write(File target, byte[] data) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        
+        File temp = new File(parent, target.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        
+        replace(temp, target);
+    }
+    
+    /**
+     * 이미 기록이 끝난 파일로 대상 파일을 원자적으로 교체
+     */
+    static void replace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // 원자적 이동을 지원하지 않는 파일 시스템
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
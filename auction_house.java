@@ -0,0 +1,541 @@
+package com.customrpg.plugin;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * 플레이어 경매장 (커스텀 아이템 전용, 일반 코인으로 거래)
+ * - 가격 순 색인은 전체/아이템 ID별 스킵 리스트 (Leaderboard 재사용, 점수 = MAX - 가격)
+ *   → 페이지 조회와 등록/삭제 모두 O(log n)
+ * - 만료는 타이머 휠로 처리 (매초 칸 하나만 확인, 전체를 훑지 않음)
+ * - 변경은 메인 스레드에서 모았다가 주기적으로 AuctionStore 쓰기 스레드에 한 번에 넘김
+ * - 만료/취소된 아이템은 판매자 보관함으로 가고 /rpg ah claim 으로 찾아감
+ *
+ * 모든 메서드는 메인 스레드에서 호출
+ */
+public class AuctionHouse {
+    
+    private static final long WHEEL_TICK_MILLIS = 1000L;
+    private static final int WHEEL_SLOTS = 4096; // 2의 거듭제곱
+    static final int PAGE_SIZE = 10;
+    
+    /**
+     * 경매 등록 (바뀌지 않음, 아이템은 직렬화된 바이트로 보관)
+     */
+    static final class Listing {
+        final long id;
+        final UUID seller;
+        final String sellerName;
+        final String itemId;
+        final int amount;
+        final int price;
+        final long createdAt;
+        final long expiresAt;
+        final byte[] item;
+        
+        Listing(long id, UUID seller, String sellerName, String itemId, int amount, int price,
+                long createdAt, long expiresAt, byte[] item) {
+            this.id = id;
+            this.seller = seller;
+            this.sellerName = sellerName;
+            this.itemId = itemId;
+            this.amount = amount;
+            this.price = price;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+            this.item = item;
+        }
+    }
+    
+    private final CustomRPGPlugin plugin;
+    private final AuctionStore store;
+    private final long durationMillis;
+    private final int maxListings;
+    private final int feePercent;
+    private final int maxPrice;
+    
+    // 판매 중인 등록과 색인
+    private final Map<Long, Listing> listings = new HashMap<>();
+    private final Leaderboard byPrice = new Leaderboard();
+    private final Map<String, Leaderboard> byItem = new HashMap<>();
+    private final Map<UUID, Set<Long>> bySeller = new HashMap<>();
+    private final ExpiryWheel expiries;
+    
+    // 판매자에게 돌려줄 아이템 (만료/취소 순서)
+    private final Map<UUID, Map<Long, Listing>> returns = new HashMap<>();
+    
+    // 아직 저장 스레드에 넘기지 않은 변경
+    private List<AuctionStore.Op> pendingOps = new ArrayList<>();
+    private long nextId;
+    private BukkitTask tickTask;
+    
+    AuctionHouse(CustomRPGPlugin plugin, AuctionStore store) {
+        this.plugin = plugin;
+        this.store = store;
+        this.durationMillis = Math.max(1, plugin.getConfig().getLong("auction.duration-hours", 48)) * 3_600_000L;
+        this.maxListings = Math.max(1, plugin.getConfig().getInt("auction.max-listings", 20));
+        this.feePercent = Math.max(0, Math.min(100, plugin.getConfig().getInt("auction.fee-percent", 5)));
+        this.maxPrice = Math.max(1, plugin.getConfig().getInt("auction.max-price", 100_000_000));
+        this.nextId = store.getNextId();
+        
+        long now = System.currentTimeMillis();
+        this.expiries = new ExpiryWheel(now);
+        for (Listing listing : store.getActive().values()) {
+            index(listing);
+        }
+        for (Listing listing : store.getReturned().values()) {
+            returns.computeIfAbsent(listing.seller, id -> new LinkedHashMap<>()).put(listing.id, listing);
+        }
+        
+        // 만료 처리와 저장 요청을 1초마다
+        this.tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+        plugin.getLogger().info("경매장 로드: 판매 중 " + listings.size() + "건, 반환 대기 "
+            + store.getReturned().size() + "건");
+    }
+    
+    // ==================== 등록/구매/취소 ====================
+    
+    /**
+     * 손에 든 커스텀 아이템 전체를 경매에 등록
+     */
+    public boolean sell(Player player, int price) {
+        if (price <= 0 || price > maxPrice) {
+            player.sendMessage(ChatColor.RED + "가격은 1 ~ " + maxPrice + " 코인이어야 합니다.");
+            return false;
+        }
+        
+        ItemStack item = player.getInventory().getItemInMainHand();
+        String itemId = plugin.getItemManager().getCustomItemId(item);
+        if (itemId == null) {
+            player.sendMessage(ChatColor.RED + "손에 든 커스텀 아이템만 등록할 수 있습니다.");
+            return false;
+        }
+        
+        Set<Long> own = bySeller.get(player.getUniqueId());
+        if (own != null && own.size() >= maxListings) {
+            player.sendMessage(ChatColor.RED + "최대 " + maxListings + "개까지 등록할 수 있습니다.");
+            return false;
+        }
+        
+        byte[] data;
+        try {
+            data = serialize(item);
+        } catch (IOException e) {
+            player.sendMessage(ChatColor.RED + "이 아이템은 등록할 수 없습니다: " + e.getMessage());
+            return false;
+        }
+        
+        long now = System.currentTimeMillis();
+        Listing listing = new Listing(nextId++, player.getUniqueId(), player.getName(), itemId, item.getAmount(),
+            price, now, now + durationMillis, data);
+        player.getInventory().setItemInMainHand(null);
+        index(listing);
+        pendingOps.add(AuctionStore.Op.add(listing));
+        
+        player.sendMessage(ChatColor.GREEN + "경매 등록 #" + listing.id + ": " + describe(listing) + " - " + price + " 코인");
+        if (feePercent > 0) {
+            player.sendMessage(ChatColor.GRAY + "판매되면 수수료 " + feePercent + "%를 뺀 금액을 받습니다.");
+        }
+        return true;
+    }
+    
+    /**
+     * 등록된 아이템 구매 (구매자 차감과 판매자 지급은 CoinBatch 거래 하나)
+     * - 코인 거래는 바로 저널에 기록되므로, 등록 삭제를 먼저 로그에 기록한 뒤 코인을 옮김
+     * - 그 사이 서버가 죽어도 코인은 빠졌는데 등록이 되살아나는 일이 없도록 함
+     */
+    public boolean buy(Player player, long listingId) {
+        Listing listing = listings.get(listingId);
+        if (listing == null) {
+            player.sendMessage(ChatColor.RED + "판매 중인 등록이 아닙니다: #" + listingId);
+            return false;
+        }
+        if (listing.seller.equals(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "자신이 등록한 아이템은 살 수 없습니다. 취소하려면 /rpg ah cancel " + listingId);
+            return false;
+        }
+        if (player.getInventory().firstEmpty() == -1) {
+            player.sendMessage(ChatColor.RED + "인벤토리에 빈 칸이 없습니다.");
+            return false;
+        }
+        
+        ItemStack item;
+        try {
+            item = deserialize(listing.item);
+        } catch (IOException e) {
+            plugin.getLogger().warning("경매 아이템을 읽을 수 없습니다 (#" + listingId + "): " + e.getMessage());
+            player.sendMessage(ChatColor.RED + "이 아이템을 읽을 수 없습니다.");
+            return false;
+        }
+        
+        if (plugin.getStatsManager().getPlayerStats(player).coins < listing.price) {
+            player.sendMessage(ChatColor.RED + "코인이 부족합니다. 필요한 코인: " + listing.price);
+            return false;
+        }
+        
+        // 아직 넘기지 않은 변경(이 등록의 ADD 포함)과 함께 삭제를 동기로 기록
+        if (!writeNow(AuctionStore.Op.remove(listing.id))) {
+            player.sendMessage(ChatColor.RED + "경매장 저장에 실패했습니다. 잠시 후 다시 시도하세요.");
+            return false;
+        }
+        
+        int fee = (int) ((long) listing.price * feePercent / 100);
+        CoinBatch.Result result = plugin.getStatsManager().applyCoinBatch(new CoinBatch()
+            .debit(player.getUniqueId(), CoinLedger.Currency.COINS, listing.price)
+            .credit(listing.seller, CoinLedger.Currency.COINS, listing.price - fee));
+        if (!result.success) {
+            // 확인 뒤 다른 차감이 먼저 일어난 경우: 삭제한 등록을 다시 기록
+            writeNow(AuctionStore.Op.add(listing));
+            player.sendMessage(ChatColor.RED + "코인이 부족합니다. 필요한 코인: " + listing.price);
+            return false;
+        }
+        
+        unindex(listing);
+        player.getInventory().addItem(item);
+        player.sendMessage(ChatColor.GREEN + "구매 완료: " + describe(listing) + " - " + listing.price + " 코인");
+        
+        Player seller = plugin.getServer().getPlayer(listing.seller);
+        if (seller != null) {
+            seller.sendMessage(ChatColor.GOLD + "경매 #" + listing.id + " (" + describe(listing) + ") 판매: +"
+                + (listing.price - fee) + " 코인");
+        }
+        return true;
+    }
+    
+    /**
+     * 자신의 등록 취소 (아이템은 보관함으로)
+     */
+    public boolean cancel(Player player, long listingId) {
+        Listing listing = listings.get(listingId);
+        if (listing == null || !listing.seller.equals(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "취소할 수 있는 등록이 아닙니다: #" + listingId);
+            return false;
+        }
+        
+        moveToReturns(listing);
+        player.sendMessage(ChatColor.YELLOW + "경매 #" + listingId + " 취소. /rpg ah claim 으로 아이템을 찾아가세요.");
+        return true;
+    }
+    
+    /**
+     * 보관함의 아이템을 인벤토리 빈 칸만큼 찾아감
+     */
+    public int claim(Player player) {
+        Map<Long, Listing> own = returns.get(player.getUniqueId());
+        if (own == null || own.isEmpty()) {
+            player.sendMessage(ChatColor.YELLOW + "찾아갈 아이템이 없습니다.");
+            return 0;
+        }
+        
+        int claimed = 0;
+        Iterator<Listing> iterator = own.values().iterator();
+        while (iterator.hasNext() && player.getInventory().firstEmpty() != -1) {
+            Listing listing = iterator.next();
+            try {
+                player.getInventory().addItem(deserialize(listing.item));
+            } catch (IOException e) {
+                plugin.getLogger().warning("경매 아이템을 읽을 수 없습니다 (#" + listing.id + "): " + e.getMessage());
+                continue;
+            }
+            iterator.remove();
+            pendingOps.add(AuctionStore.Op.remove(listing.id));
+            claimed++;
+        }
+        if (own.isEmpty()) {
+            returns.remove(player.getUniqueId());
+        }
+        
+        player.sendMessage(ChatColor.GREEN + "아이템 " + claimed + "개를 찾았습니다."
+            + (own.isEmpty() ? "" : " (남은 아이템 " + own.size() + "개, 인벤토리를 비운 뒤 다시 시도하세요)"));
+        return claimed;
+    }
+    
+    // ==================== 조회 ====================
+    
+    /**
+     * 가격 순 페이지 표시
+     * @param itemId 아이템 ID (null이면 전체)
+     * @param page 페이지 (1부터)
+     */
+    public void showPage(Player player, String itemId, int page) {
+        Leaderboard index = itemId == null ? byPrice : byItem.get(itemId);
+        int total = index != null ? index.size() : 0;
+        int pages = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(1, Math.min(page, pages));
+        
+        player.sendMessage(ChatColor.GOLD + "=== 경매장" + (itemId != null ? " - " + itemId : "") + " (" + page + "/" + pages
+            + ", " + total + "건) ===");
+        if (total == 0) {
+            player.sendMessage(ChatColor.GRAY + "판매 중인 아이템이 없습니다.");
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        for (Leaderboard.Entry entry : index.range((page - 1) * PAGE_SIZE + 1, PAGE_SIZE)) {
+            Listing listing = listings.get(entry.playerId.getLeastSignificantBits());
+            player.sendMessage(ChatColor.YELLOW + "#" + listing.id + " " + describe(listing) + ChatColor.GOLD + " "
+                + listing.price + " 코인" + ChatColor.GRAY + " (" + listing.sellerName + ", "
+                + remaining(listing.expiresAt - now) + ")");
+        }
+        player.sendMessage(ChatColor.GRAY + "구매: /rpg ah buy <번호>");
+    }
+    
+    /**
+     * 자신의 등록과 보관함 표시
+     */
+    public void showOwn(Player player) {
+        Set<Long> own = bySeller.get(player.getUniqueId());
+        Map<Long, Listing> returned = returns.get(player.getUniqueId());
+        long now = System.currentTimeMillis();
+        
+        player.sendMessage(ChatColor.GOLD + "=== 내 경매 (" + (own != null ? own.size() : 0) + "/" + maxListings + ") ===");
+        if (own != null) {
+            for (long listingId : own) {
+                Listing listing = listings.get(listingId);
+                player.sendMessage(ChatColor.YELLOW + "#" + listing.id + " " + describe(listing) + ChatColor.GOLD + " "
+                    + listing.price + " 코인" + ChatColor.GRAY + " (" + remaining(listing.expiresAt - now) + ")");
+            }
+        }
+        if (returned != null && !returned.isEmpty()) {
+            player.sendMessage(ChatColor.AQUA + "보관함: " + returned.size() + "개 (/rpg ah claim)");
+        }
+    }
+    
+    /**
+     * 판매 중인 등록 수
+     */
+    public int getListingCount() {
+        return listings.size();
+    }
+    
+    /**
+     * 보관함에 찾아갈 아이템이 있는지 (접속 알림용)
+     */
+    public int getReturnCount(UUID playerId) {
+        Map<Long, Listing> returned = returns.get(playerId);
+        return returned != null ? returned.size() : 0;
+    }
+    
+    // ==================== 만료/저장 ====================
+    
+    private void tick() {
+        expiries.advance(System.currentTimeMillis(), this::expire);
+        flush();
+    }
+    
+    private void expire(Listing listing) {
+        moveToReturns(listing);
+        Player seller = plugin.getServer().getPlayer(listing.seller);
+        if (seller != null) {
+            seller.sendMessage(ChatColor.YELLOW + "경매 #" + listing.id + " (" + describe(listing)
+                + ")이(가) 만료되었습니다. /rpg ah claim 으로 찾아가세요.");
+        }
+    }
+    
+    /**
+     * 모인 변경을 저장 스레드에 넘김
+     */
+    private void flush() {
+        // 저장소에 실패한 변경이 남아 있으면 새 변경이 없어도 빈 묶음으로 재시도
+        if (pendingOps.isEmpty() && !store.hasUnwritten()) {
+            return;
+        }
+        
+        List<AuctionStore.Op> ops = pendingOps;
+        pendingOps = new ArrayList<>();
+        store.write(ops).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("경매장 저장 실패, 다음 저장 때 재시도: "
+                    + PlayerBackupService.rootMessage(error));
+            }
+        });
+    }
+    
+    /**
+     * 모인 변경과 op를 지금 기록하고 fsync까지 기다림 (메인 스레드가 잠깐 멈춤)
+     * - 실패하면 저장소에 남아 다음 저장 때 다시 기록되므로, 삭제였다면 등록을 다시 추가해서 상쇄
+     */
+    private boolean writeNow(AuctionStore.Op op) {
+        List<AuctionStore.Op> ops = pendingOps;
+        pendingOps = new ArrayList<>();
+        ops.add(op);
+        try {
+            store.write(ops).join();
+            return true;
+        } catch (CompletionException e) {
+            plugin.getLogger().warning("경매장 저장 실패, 다음 저장 때 재시도: " + PlayerBackupService.rootMessage(e));
+            if (op.type == AuctionStore.REMOVE) {
+                Listing listing = listings.get(op.listingId);
+                if (listing != null) {
+                    pendingOps.add(AuctionStore.Op.add(listing));
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * 남은 변경을 기록하고 저장소 닫기 (onDisable)
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        flush();
+        store.close();
+    }
+    
+    // ==================== 색인 ====================
+    
+    private void index(Listing listing) {
+        listings.put(listing.id, listing);
+        UUID key = indexKey(listing.id);
+        long score = priceScore(listing.price);
+        byPrice.set(key, score);
+        byItem.computeIfAbsent(listing.itemId, id -> new Leaderboard()).set(key, score);
+        bySeller.computeIfAbsent(listing.seller, id -> new LinkedHashSet<>()).add(listing.id);
+        expiries.schedule(listing);
+    }
+    
+    private void unindex(Listing listing) {
+        listings.remove(listing.id);
+        UUID key = indexKey(listing.id);
+        byPrice.set(key, 0);
+        
+        Leaderboard items = byItem.get(listing.itemId);
+        if (items != null) {
+            items.set(key, 0);
+            if (items.size() == 0) {
+                byItem.remove(listing.itemId);
+            }
+        }
+        
+        Set<Long> own = bySeller.get(listing.seller);
+        if (own != null) {
+            own.remove(listing.id);
+            if (own.isEmpty()) {
+                bySeller.remove(listing.seller);
+            }
+        }
+        // 타이머 휠의 항목은 만료 시각에 판매 중이 아니면 버려짐
+    }
+    
+    private void moveToReturns(Listing listing) {
+        unindex(listing);
+        returns.computeIfAbsent(listing.seller, id -> new LinkedHashMap<>()).put(listing.id, listing);
+        pendingOps.add(AuctionStore.Op.returned(listing.id));
+    }
+    
+    /**
+     * 스킵 리스트 키 (등록 번호 순으로 같은 가격 정렬)
+     */
+    private static UUID indexKey(long listingId) {
+        return new UUID(0L, listingId);
+    }
+    
+    /**
+     * 점수가 높은 순으로 정렬되므로 싼 등록이 앞에 오도록 뒤집음 (항상 0보다 큼)
+     */
+    private static long priceScore(int price) {
+        return Long.MAX_VALUE - price;
+    }
+    
+    /**
+     * 만료 타이머 휠
+     * - 1초 칸 4096개, 등록은 만료 시각의 칸에 들어가고 한 바퀴(약 68분)보다 먼 등록은 바퀴마다 한 번씩 다시 확인
+     * - 서버가 멈춰 있던 시간이 한 바퀴보다 길면 모든 칸을 한 번만 확인
+     */
+    private final class ExpiryWheel {
+        private final List<List<Listing>> slots = new ArrayList<>(WHEEL_SLOTS);
+        private long currentTick;
+        
+        ExpiryWheel(long now) {
+            for (int i = 0; i < WHEEL_SLOTS; i++) {
+                slots.add(new ArrayList<>());
+            }
+            this.currentTick = now / WHEEL_TICK_MILLIS;
+        }
+        
+        void schedule(Listing listing) {
+            // 만료 시각 이후의 칸에 넣어야 처리할 때 만료가 확실함
+            long tick = Math.max((listing.expiresAt + WHEEL_TICK_MILLIS - 1) / WHEEL_TICK_MILLIS, currentTick + 1);
+            slots.get((int) (tick & (WHEEL_SLOTS - 1))).add(listing);
+        }
+        
+        void advance(long now, Consumer<Listing> onExpired) {
+            long targetTick = now / WHEEL_TICK_MILLIS;
+            long steps = Math.min(targetTick - currentTick, WHEEL_SLOTS);
+            for (long step = 1; step <= steps; step++) {
+                List<Listing> slot = slots.get((int) ((currentTick + step) & (WHEEL_SLOTS - 1)));
+                if (slot.isEmpty()) {
+                    continue;
+                }
+                
+                List<Listing> expired = new ArrayList<>();
+                Iterator<Listing> iterator = slot.iterator();
+                while (iterator.hasNext()) {
+                    Listing listing = iterator.next();
+                    if (listings.get(listing.id) != listing) {
+                        iterator.remove();
+                    } else if (listing.expiresAt <= now) {
+                        iterator.remove();
+                        expired.add(listing);
+                    }
+                }
+                expired.forEach(onExpired);
+            }
+            currentTick = Math.max(currentTick, targetTick);
+        }
+    }
+    
+    // ==================== 표시/직렬화 ====================
+    
+    private String describe(Listing listing) {
+        CustomItemManager.CustomItem definition = plugin.getItemManager().getCustomItem(listing.itemId);
+        String name = definition != null ? ChatColor.translateAlternateColorCodes('&', definition.name) : listing.itemId;
+        return name + ChatColor.RESET + (listing.amount > 1 ? " x" + listing.amount : "");
+    }
+    
+    private static String remaining(long millis) {
+        long minutes = Math.max(0, millis) / 60_000L;
+        if (minutes >= 60) {
+            return (minutes / 60) + "시간 " + (minutes % 60) + "분 남음";
+        }
+        return minutes + "분 남음";
+    }
+    
+    static byte[] serialize(ItemStack item) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(raw)) {
+            out.writeObject(item);
+        }
+        return raw.toByteArray();
+    }
+    
+    static ItemStack deserialize(byte[] data) throws IOException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ItemStack) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+}
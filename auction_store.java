@@ -0,0 +1,419 @@
+package com.customrpg.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * 경매장 저장소 (auction/)
+ * - 메인 스레드의 변경을 모아서 쓰기 스레드가 로그(auctions.log) 끝에 한 번에 이어 씀
+ * - 로그가 스냅샷보다 커지면 쓰기 스레드가 자기 상태로 스냅샷(auctions.dat)을 다시 쓰고 로그를 비움
+ * - 모든 변경은 같은 내용을 다시 적용해도 결과가 같아서, 스냅샷 교체 후 로그를 비우기 전에 멈춰도 안전
+ *
+ * 로그 엔트리: length(int) + payload + crc32(int), 끝이 잘린 엔트리는 시작 시 잘라냄
+ * payload: 종류(1) + 등록(ADD)은 등록 내용, 반환(RETURN)/삭제(REMOVE)는 등록 번호(8)
+ */
+class AuctionStore {
+    
+    private static final int LOG_MAGIC = 0x4352414C; // "CRAL"
+    private static final int SNAPSHOT_MAGIC = 0x43524148; // "CRAH"
+    private static final short VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 6;
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024;
+    private static final String SNAPSHOT_FILE = "auctions.dat";
+    private static final String LOG_FILE = "auctions.log";
+    
+    static final byte ADD = 1;
+    static final byte RETURN = 2;
+    static final byte REMOVE = 3;
+    
+    /**
+     * 저장할 변경 하나
+     */
+    static final class Op {
+        final byte type;
+        final long listingId;
+        // 등록일 때만
+        final AuctionHouse.Listing listing;
+        
+        private Op(byte type, long listingId, AuctionHouse.Listing listing) {
+            this.type = type;
+            this.listingId = listingId;
+            this.listing = listing;
+        }
+        
+        static Op add(AuctionHouse.Listing listing) {
+            return new Op(ADD, listing.id, listing);
+        }
+        
+        static Op returned(long listingId) {
+            return new Op(RETURN, listingId, null);
+        }
+        
+        static Op remove(long listingId) {
+            return new Op(REMOVE, listingId, null);
+        }
+    }
+    
+    private final File directory;
+    private final Logger logger;
+    private final ExecutorService writer;
+    
+    // 로그에 반영된 상태 (시작 후에는 쓰기 스레드 전용)
+    private final Map<Long, AuctionHouse.Listing> active = new HashMap<>();
+    private final Map<Long, AuctionHouse.Listing> returned = new HashMap<>();
+    private long nextId = 1;
+    
+    // 기록에 실패해서 다음 쓰기 때 먼저 다시 기록할 변경 (쓰기 스레드 전용)
+    private final List<Op> unwritten = new ArrayList<>();
+    private volatile boolean retryPending;
+    
+    private FileChannel log;
+    private long logBytes;
+    private long snapshotBytes;
+    
+    /**
+     * 스냅샷과 로그를 읽어서 열기 (시작 시, 메인 스레드가 아니어도 됨)
+     */
+    AuctionStore(File directory, Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+        directory.mkdirs();
+        
+        readSnapshot();
+        openLog();
+        
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-Auction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 판매 중인 등록 (시작 시 색인 생성용 복사본)
+     */
+    Map<Long, AuctionHouse.Listing> getActive() {
+        return new HashMap<>(active);
+    }
+    
+    /**
+     * 판매자에게 돌려줄 등록 (만료/취소, 아직 찾아가지 않음)
+     */
+    Map<Long, AuctionHouse.Listing> getReturned() {
+        return new HashMap<>(returned);
+    }
+    
+    long getNextId() {
+        return nextId;
+    }
+    
+    /**
+     * 변경 묶음을 쓰기 스레드에서 로그에 기록 (fsync 한 번)
+     * - 기록에 실패한 변경은 버리지 않고 다음 쓰기 때 같은 순서로 먼저 기록
+     */
+    CompletableFuture<Void> write(List<Op> ops) {
+        return CompletableFuture.runAsync(() -> {
+            unwritten.addAll(ops);
+            try {
+                append(unwritten);
+            } catch (IOException e) {
+                retryPending = true;
+                throw new IllegalStateException("경매장 로그 기록 실패: " + e.getMessage(), e);
+            }
+            unwritten.clear();
+            retryPending = false;
+            
+            if (logBytes > Math.max(MIN_COMPACT_BYTES, snapshotBytes)) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    // 로그에는 기록됐으므로 다음 쓰기 때 다시 압축
+                    logger.warning("경매장 스냅샷 기록 실패: " + e.getMessage());
+                }
+            }
+        }, writer);
+    }
+    
+    /**
+     * 기록에 실패해서 다시 기록할 변경이 남아 있는지 (빈 묶음으로 write를 호출하면 재시도)
+     */
+    boolean hasUnwritten() {
+        return retryPending;
+    }
+    
+    /**
+     * 남은 기록을 마치고 쓰기 스레드 종료 (onDisable)
+     */
+    void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warning("경매장 기록이 제한 시간 안에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (retryPending) {
+            logger.severe("경매장 변경 " + unwritten.size() + "건을 기록하지 못하고 종료합니다.");
+        }
+        
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.warning("경매장 로그 닫기 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 로그 끝에 기록하고 fsync 후 상태에 반영
+     * - 실패하면 기록 전 위치로 잘라내서 다음 기록이 잘린 엔트리 뒤에 붙지 않도록 함
+     */
+    private void append(List<Op> ops) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        for (Op op : ops) {
+            byte[] payload = encodeOp(op);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt((int) crc.getValue());
+        }
+        out.flush();
+        
+        ByteBuffer buffer = ByteBuffer.wrap(raw.toByteArray());
+        long start = log.position();
+        try {
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+            log.force(false);
+        } catch (IOException e) {
+            try {
+                log.truncate(start);
+                log.position(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        logBytes += raw.size();
+        
+        // 디스크에 기록된 뒤에만 상태에 반영 (압축 스냅샷이 로그보다 앞서지 않도록)
+        for (Op op : ops) {
+            apply(op);
+        }
+    }
+    
+    private void apply(Op op) {
+        switch (op.type) {
+            case ADD:
+                active.put(op.listingId, op.listing);
+                nextId = Math.max(nextId, op.listingId + 1);
+                break;
+            case RETURN:
+                AuctionHouse.Listing listing = active.remove(op.listingId);
+                if (listing != null) {
+                    returned.put(op.listingId, listing);
+                }
+                break;
+            default:
+                active.remove(op.listingId);
+                returned.remove(op.listingId);
+                break;
+        }
+    }
+    
+    /**
+     * 현재 상태를 스냅샷으로 쓰고 로그 비우기 (쓰기 스레드)
+     */
+    private void compact() throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(nextId);
+        out.writeInt(active.size() + returned.size());
+        for (AuctionHouse.Listing listing : active.values()) {
+            out.writeBoolean(false);
+            writeListing(out, listing);
+        }
+        for (AuctionHouse.Listing listing : returned.values()) {
+            out.writeBoolean(true);
+            writeListing(out, listing);
+        }
+        out.flush();
+        
+        AtomicFiles.write(new File(directory, SNAPSHOT_FILE), raw.toByteArray());
+        snapshotBytes = raw.size();
+        
+        log.truncate(LOG_HEADER_SIZE);
+        log.position(LOG_HEADER_SIZE);
+        log.force(true);
+        logBytes = 0;
+    }
+    
+    private void readSnapshot() throws IOException {
+        File file = new File(directory, SNAPSHOT_FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("경매장 스냅샷 형식이 아닙니다: " + file.getName());
+            }
+            buffer.getShort();
+            nextId = buffer.getLong();
+            
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                boolean isReturned = buffer.get() != 0;
+                AuctionHouse.Listing listing = readListing(buffer);
+                (isReturned ? returned : active).put(listing.id, listing);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("경매장 스냅샷이 손상되었습니다: " + file.getName(), e);
+        }
+        snapshotBytes = buffer.capacity();
+    }
+    
+    private void openLog() throws IOException {
+        File file = new File(directory, LOG_FILE);
+        boolean exists = file.isFile() && file.length() >= LOG_HEADER_SIZE;
+        log = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        if (!exists) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+            header.putInt(LOG_MAGIC).putShort(VERSION).flip();
+            log.truncate(0);
+            log.write(header, 0);
+            log.force(true);
+            log.position(LOG_HEADER_SIZE);
+            return;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.getInt() != LOG_MAGIC) {
+            log.close();
+            throw new IOException("경매장 로그 형식이 아닙니다: " + file.getName());
+        }
+        buffer.getShort();
+        
+        // 온전한 엔트리까지만 재생하고 나머지는 잘라냄
+        int replayed = 0;
+        long validEnd = LOG_HEADER_SIZE;
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt();
+            if (length <= 0 || buffer.remaining() < length + 4) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (buffer.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            
+            try {
+                apply(decodeOp(ByteBuffer.wrap(payload)));
+            } catch (BufferUnderflowException e) {
+                break;
+            }
+            validEnd = buffer.position();
+            replayed++;
+        }
+        
+        if (validEnd < buffer.capacity()) {
+            logger.warning("경매장 로그 끝의 손상된 엔트리를 잘라냅니다 (" + (buffer.capacity() - validEnd) + " bytes)");
+            log.truncate(validEnd);
+        }
+        log.position(validEnd);
+        logBytes = validEnd - LOG_HEADER_SIZE;
+        if (replayed > 0) {
+            logger.info("경매장 로그 재생: " + replayed + "건");
+        }
+    }
+    
+    private static byte[] encodeOp(Op op) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeByte(op.type);
+        if (op.type == ADD) {
+            writeListing(out, op.listing);
+        } else {
+            out.writeLong(op.listingId);
+        }
+        out.flush();
+        return raw.toByteArray();
+    }
+    
+    private static Op decodeOp(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type == ADD) {
+            return Op.add(readListing(buffer));
+        }
+        return new Op(type, buffer.getLong(), null);
+    }
+    
+    private static void writeListing(DataOutputStream out, AuctionHouse.Listing listing) throws IOException {
+        out.writeLong(listing.id);
+        out.writeLong(listing.seller.getMostSignificantBits());
+        out.writeLong(listing.seller.getLeastSignificantBits());
+        writeString(out, listing.sellerName);
+        writeString(out, listing.itemId);
+        out.writeInt(listing.amount);
+        out.writeInt(listing.price);
+        out.writeLong(listing.createdAt);
+        out.writeLong(listing.expiresAt);
+        out.writeInt(listing.item.length);
+        out.write(listing.item);
+    }
+    
+    private static AuctionHouse.Listing readListing(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        UUID seller = new UUID(buffer.getLong(), buffer.getLong());
+        String sellerName = readString(buffer);
+        String itemId = readString(buffer);
+        int amount = buffer.getInt();
+        int price = buffer.getInt();
+        long createdAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        byte[] item = new byte[buffer.getInt()];
+        buffer.get(item);
+        return new AuctionHouse.Listing(id, seller, sellerName, itemId, amount, price, createdAt, expiresAt, item);
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.customrpg.plugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 여러 플레이어의 코인 지급/차감을 묶은 거래 (CustomRPGAPI.applyCoinBatch)
+ * - 같은 플레이어/코인 종류의 지급과 차감은 합산해서 순변경량으로 적용
+ * - 하나라도 잔액이 부족하면 아무것도 바뀌지 않음
+ * - 적용된 거래는 거래 저널에 엔트리 하나로 기록
+ */
+public final class CoinBatch {
+    
+    // 플레이어별 순변경량 [코인, 스텟 코인] (추가 순서 유지)
+    private final Map<UUID, long[]> netDeltas = new LinkedHashMap<>();
+    private int operationCount;
+    
+    /**
+     * 거래 적용 결과
+     */
+    public static class Result {
+        public final boolean success;
+        public final int players;
+        // 실패한 경우 잔액이 부족했던 플레이어와 코인 종류 (성공하면 null)
+        public final UUID failedPlayer;
+        public final CoinLedger.Currency failedCurrency;
+        
+        Result(boolean success, int players, UUID failedPlayer, CoinLedger.Currency failedCurrency) {
+            this.success = success;
+            this.players = players;
+            this.failedPlayer = failedPlayer;
+            this.failedCurrency = failedCurrency;
+        }
+    }
+    
+    /**
+     * 지급 추가
+     */
+    public CoinBatch credit(UUID playerId, CoinLedger.Currency currency, int amount) {
+        return add(playerId, currency, checkAmount(amount));
+    }
+    
+    /**
+     * 차감 추가 (적용 시 잔액이 부족하면 거래 전체 실패)
+     */
+    public CoinBatch debit(UUID playerId, CoinLedger.Currency currency, int amount) {
+        return add(playerId, currency, -(long) checkAmount(amount));
+    }
+    
+    private static int checkAmount(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("금액은 0 이상이어야 합니다: " + amount);
+        }
+        return amount;
+    }
+    
+    private CoinBatch add(UUID playerId, CoinLedger.Currency currency, long delta) {
+        long[] deltas = netDeltas.computeIfAbsent(playerId, id -> new long[2]);
+        deltas[currency.ordinal()] += delta;
+        operationCount++;
+        return this;
+    }
+    
+    /**
+     * 추가한 지급/차감 수
+     */
+    public int size() {
+        return operationCount;
+    }
+    
+    Map<UUID, long[]> getNetDeltas() {
+        return netDeltas;
+    }
+}
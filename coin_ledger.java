@@ -0,0 +1,75 @@
+package com.customrpg.plugin;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 코인/스텟 코인 잔액의 원자적 변경
+ * - 잔액은 PlayerStats의 volatile 필드, 조회는 읽기 한 번 (잠금 없음)
+ * - 적립/차감은 CAS 반복, 차감은 잔액이 부족하면 값을 바꾸지 않고 실패
+ * - 어느 스레드에서 호출해도 안전하고 스케줄러를 거치지 않음
+ */
+public final class CoinLedger {
+    
+    private static final AtomicIntegerFieldUpdater<PlayerStatsManager.PlayerStats> COINS =
+        AtomicIntegerFieldUpdater.newUpdater(PlayerStatsManager.PlayerStats.class, "coins");
+    private static final AtomicIntegerFieldUpdater<PlayerStatsManager.PlayerStats> STAT_COINS =
+        AtomicIntegerFieldUpdater.newUpdater(PlayerStatsManager.PlayerStats.class, "statCoins");
+    
+    /**
+     * 화폐 종류
+     */
+    public enum Currency {
+        COINS, STAT_COINS;
+        
+        AtomicIntegerFieldUpdater<PlayerStatsManager.PlayerStats> updater() {
+            return this == COINS ? CoinLedger.COINS : CoinLedger.STAT_COINS;
+        }
+        
+        TransactionJournal.Field journalField() {
+            return this == COINS ? TransactionJournal.Field.COINS : TransactionJournal.Field.STAT_COINS;
+        }
+    }
+    
+    private CoinLedger() {}
+    
+    public static int balance(PlayerStatsManager.PlayerStats stats, Currency currency) {
+        return currency.updater().get(stats);
+    }
+    
+    /**
+     * 적립 (음수면 잔액과 관계없이 차감)
+     * @return 적립 후 잔액
+     * @throws ArithmeticException 잔액이 int 범위를 넘는 경우 (값은 바뀌지 않음)
+     */
+    static int credit(PlayerStatsManager.PlayerStats stats, Currency currency, int amount) {
+        AtomicIntegerFieldUpdater<PlayerStatsManager.PlayerStats> updater = currency.updater();
+        while (true) {
+            int current = updater.get(stats);
+            int next = Math.addExact(current, amount);
+            if (updater.compareAndSet(stats, current, next)) {
+                return next;
+            }
+        }
+    }
+    
+    /**
+     * 잔액이 충분할 때만 차감
+     * @return 차감 후 잔액, 잔액이 부족하면 -1
+     */
+    static int trySpend(PlayerStatsManager.PlayerStats stats, Currency currency, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("차감액은 0 이상이어야 합니다: " + amount);
+        }
+        
+        AtomicIntegerFieldUpdater<PlayerStatsManager.PlayerStats> updater = currency.updater();
+        while (true) {
+            int current = updater.get(stats);
+            if (current < amount) {
+                return -1;
+            }
+            if (updater.compareAndSet(stats, current, current - amount)) {
+                return current - amount;
+            }
+        }
+    }
+}
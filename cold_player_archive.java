@@ -0,0 +1,448 @@
+package com.customrpg.plugin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 오래 접속하지 않은 플레이어의 콜드 보관소 (archive/)
+ * - 보관 파일(*.arc): 레코드 256개씩 압축한 블록들, 한 번 쓰면 수정하지 않음
+ * - 색인(archive.idx): UUID 순으로 정렬된 고정 길이 항목, 이진 탐색으로 블록 위치 조회
+ * - 마지막 접속 시각(lastseen.dat): 현재 저장소에 있는 플레이어만 기록
+ *
+ * 다시 접속한 플레이어는 저장소로 복원되고, 색인 항목은 다음 보관 때 새 항목으로 덮어씀
+ * (저장소에 레코드가 있으면 항상 저장소 값이 우선)
+ * 색인이 더 이상 가리키지 않는 보관 파일은 색인을 바꾼 뒤 삭제
+ *
+ * 색인 항목 (36 bytes): uuid(16) + 보관 파일 번호(4) + 블록 위치(8) + 블록 길이(4) + 블록 내 순번(4)
+ */
+class ColdPlayerArchive {
+    
+    private static final int INDEX_MAGIC = 0x43524149; // "CRAI"
+    private static final int LAST_SEEN_MAGIC = 0x43524153; // "CRAS"
+    private static final int BLOCK_MAGIC = 0x43524142; // "CRAB"
+    private static final short VERSION = 1;
+    private static final int INDEX_HEADER_SIZE = 10;
+    private static final int ENTRY_SIZE = 36;
+    private static final int RECORDS_PER_BLOCK = 256;
+    private static final String INDEX_FILE = "archive.idx";
+    private static final String LAST_SEEN_FILE = "lastseen.dat";
+    private static final String ARCHIVE_SUFFIX = ".arc";
+    
+    // 색인과 같은 순서 (signed 비교로 고정)
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+        .comparingLong(UUID::getMostSignificantBits)
+        .thenComparingLong(UUID::getLeastSignificantBits);
+    
+    private final File directory;
+    private final Logger logger;
+    
+    // 저장소에 있는 플레이어의 마지막 접속 시각
+    private final Map<UUID, Long> lastSeen = new ConcurrentHashMap<>();
+    // 정렬된 색인 항목 (헤더 제외, 교체만 하고 수정하지 않음)
+    private volatile ByteBuffer index;
+    private int nextArchiveId;
+    
+    ColdPlayerArchive(File directory, Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+        directory.mkdirs();
+        
+        this.index = readIndex();
+        readLastSeen();
+        
+        File[] archives = directory.listFiles((dir, name) -> name.endsWith(ARCHIVE_SUFFIX));
+        if (archives != null) {
+            for (File archive : archives) {
+                String name = archive.getName();
+                try {
+                    nextArchiveId = Math.max(nextArchiveId,
+                        Integer.parseInt(name.substring(0, name.length() - ARCHIVE_SUFFIX.length())) + 1);
+                } catch (NumberFormatException e) {
+                    // 보관 파일이 아닌 파일
+                }
+            }
+        }
+        // 보관 파일 기록 후 색인을 바꾸기 전에 종료된 경우 (색인 파일이 없으면 보관 파일을 지우지 않음)
+        if (new File(directory, INDEX_FILE).isFile()) {
+            deleteUnreferenced(index);
+        }
+    }
+    
+    /**
+     * 접속/퇴장 시각 기록 (어느 스레드에서나 호출 가능)
+     */
+    void touch(UUID playerId) {
+        lastSeen.put(playerId, System.currentTimeMillis());
+    }
+    
+    /**
+     * 보관 중인 플레이어 수 (복원 후 다시 보관되지 않은 항목 포함)
+     */
+    int size() {
+        return index.limit() / ENTRY_SIZE;
+    }
+    
+    /**
+     * 보관된 레코드 조회 (어느 스레드에서나 호출 가능)
+     * @return 레코드 (보관된 적이 없으면 null)
+     */
+    PlayerDataStore.Record load(UUID playerId) throws IOException {
+        ByteBuffer entries = index;
+        int position = find(entries, playerId);
+        if (position < 0) {
+            return null;
+        }
+        
+        int archiveId = entries.getInt(position + 16);
+        long blockOffset = entries.getLong(position + 20);
+        int blockLength = entries.getInt(position + 28);
+        int slot = entries.getInt(position + 32);
+        
+        byte[] compressed = new byte[blockLength];
+        try (RandomAccessFile file = new RandomAccessFile(archiveFile(archiveId), "r")) {
+            file.seek(blockOffset);
+            file.readFully(compressed);
+        } catch (FileNotFoundException e) {
+            // 그 사이 새 색인으로 바뀌면서 삭제된 보관 파일이면 새 색인으로 다시 조회
+            if (entries != index) {
+                return load(playerId);
+            }
+            throw e;
+        }
+        
+        List<PlayerDataStore.Record> block = decodeBlock(compressed);
+        if (slot >= block.size() || !block.get(slot).playerId.equals(playerId)) {
+            throw new IOException("보관 색인이 보관 파일과 맞지 않습니다: " + playerId);
+        }
+        return block.get(slot);
+    }
+    
+    /**
+     * 마지막 접속이 기준 시각보다 오래된 플레이어 선택 (저장 스레드)
+     * - 접속 기록이 없는 플레이어는 지금 처음 본 것으로 기록 (기능을 켠 뒤 기준 기간이 지나야 보관)
+     */
+    List<PlayerDataStore.Record> selectInactive(PlayerDataStore store, long cutoff, Collection<UUID> online) throws IOException {
+        long now = System.currentTimeMillis();
+        List<PlayerDataStore.Record> inactive = new ArrayList<>();
+        store.forEach(record -> {
+            Long seen = lastSeen.putIfAbsent(record.playerId, now);
+            if (seen != null && seen < cutoff && !online.contains(record.playerId)) {
+                inactive.add(record);
+            }
+        });
+        return inactive;
+    }
+    
+    /**
+     * 레코드를 새 보관 파일에 쓰고 색인에 합침 (저장 스레드)
+     * - 보관 파일 → 색인 순으로 기록해서 중간에 종료되어도 저장소의 레코드는 그대로 남음
+     * @return 기록한 보관 파일 크기
+     */
+    long archive(List<PlayerDataStore.Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        List<PlayerDataStore.Record> sorted = new ArrayList<>(records);
+        sorted.sort((a, b) -> UUID_ORDER.compare(a.playerId, b.playerId));
+        
+        int archiveId = nextArchiveId++;
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteBuffer newEntries = ByteBuffer.allocate(sorted.size() * ENTRY_SIZE);
+        for (int start = 0; start < sorted.size(); start += RECORDS_PER_BLOCK) {
+            List<PlayerDataStore.Record> block = sorted.subList(start, Math.min(start + RECORDS_PER_BLOCK, sorted.size()));
+            byte[] compressed = encodeBlock(block);
+            long blockOffset = data.size();
+            data.write(compressed);
+            
+            for (int slot = 0; slot < block.size(); slot++) {
+                UUID playerId = block.get(slot).playerId;
+                newEntries.putLong(playerId.getMostSignificantBits());
+                newEntries.putLong(playerId.getLeastSignificantBits());
+                newEntries.putInt(archiveId);
+                newEntries.putLong(blockOffset);
+                newEntries.putInt(compressed.length);
+                newEntries.putInt(slot);
+            }
+        }
+        newEntries.flip();
+        
+        AtomicFiles.write(archiveFile(archiveId), data.toByteArray());
+        
+        ByteBuffer merged = merge(index, newEntries);
+        ByteBuffer file = ByteBuffer.allocate(INDEX_HEADER_SIZE + merged.limit());
+        file.putInt(INDEX_MAGIC);
+        file.putShort(VERSION);
+        file.putInt(merged.limit() / ENTRY_SIZE);
+        file.put(merged.duplicate());
+        AtomicFiles.write(new File(directory, INDEX_FILE), file.array());
+        index = merged;
+        deleteUnreferenced(merged);
+        
+        return data.size();
+    }
+    
+    /**
+     * 색인이 가리키지 않는 보관 파일 삭제 (모든 항목이 새 보관 파일로 덮어써진 파일)
+     */
+    private void deleteUnreferenced(ByteBuffer entries) {
+        Set<Integer> referenced = new HashSet<>();
+        for (int position = 0; position < entries.limit(); position += ENTRY_SIZE) {
+            referenced.add(entries.getInt(position + 16));
+        }
+        
+        File[] archives = directory.listFiles((dir, name) -> name.endsWith(ARCHIVE_SUFFIX));
+        if (archives == null) {
+            return;
+        }
+        int deleted = 0;
+        for (File archive : archives) {
+            String name = archive.getName();
+            int archiveId;
+            try {
+                archiveId = Integer.parseInt(name.substring(0, name.length() - ARCHIVE_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (!referenced.contains(archiveId)) {
+                if (archive.delete()) {
+                    deleted++;
+                } else {
+                    logger.warning("사용하지 않는 보관 파일 삭제 실패: " + name);
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("사용하지 않는 보관 파일 " + deleted + "개 삭제");
+        }
+    }
+    
+    /**
+     * 저장소에서 빠진 플레이어의 접속 기록 정리 (그 사이 다시 접속했으면 유지)
+     */
+    void forget(Collection<PlayerDataStore.Record> records, long cutoff) {
+        for (PlayerDataStore.Record record : records) {
+            lastSeen.computeIfPresent(record.playerId, (playerId, seen) -> seen < cutoff ? null : seen);
+        }
+    }
+    
+    /**
+     * 접속 기록 저장 (저장 스레드 또는 종료 시)
+     */
+    void saveLastSeen() throws IOException {
+        Map<UUID, Long> snapshot = new HashMap<>(lastSeen);
+        ByteBuffer buffer = ByteBuffer.allocate(10 + snapshot.size() * 24);
+        buffer.putInt(LAST_SEEN_MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(snapshot.size());
+        for (Map.Entry<UUID, Long> entry : snapshot.entrySet()) {
+            buffer.putLong(entry.getKey().getMostSignificantBits());
+            buffer.putLong(entry.getKey().getLeastSignificantBits());
+            buffer.putLong(entry.getValue());
+        }
+        AtomicFiles.write(new File(directory, LAST_SEEN_FILE), buffer.array());
+    }
+    
+    private File archiveFile(int archiveId) {
+        return new File(directory, String.format("%08d", archiveId) + ARCHIVE_SUFFIX);
+    }
+    
+    /**
+     * 이진 탐색
+     * @return 항목 위치 (없으면 -1)
+     */
+    private static int find(ByteBuffer entries, UUID playerId) {
+        int low = 0;
+        int high = entries.limit() / ENTRY_SIZE - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = middle * ENTRY_SIZE;
+            int order = compare(entries, position, playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return position;
+            }
+        }
+        return -1;
+    }
+    
+    private static int compare(ByteBuffer entries, int position, long most, long least) {
+        int order = Long.compare(entries.getLong(position), most);
+        return order != 0 ? order : Long.compare(entries.getLong(position + 8), least);
+    }
+    
+    /**
+     * 정렬된 두 색인 병합 (같은 UUID는 새 항목 사용)
+     */
+    private static ByteBuffer merge(ByteBuffer existing, ByteBuffer added) {
+        ByteBuffer merged = ByteBuffer.allocate(existing.limit() + added.limit());
+        int i = 0;
+        int j = 0;
+        byte[] entry = new byte[ENTRY_SIZE];
+        while (i < existing.limit() || j < added.limit()) {
+            int order;
+            if (i >= existing.limit()) {
+                order = 1;
+            } else if (j >= added.limit()) {
+                order = -1;
+            } else {
+                order = compare(existing, i, added.getLong(j), added.getLong(j + 8));
+            }
+            
+            if (order < 0) {
+                ByteBuffer source = existing.duplicate();
+                source.position(i);
+                source.get(entry);
+                i += ENTRY_SIZE;
+            } else {
+                ByteBuffer source = added.duplicate();
+                source.position(j);
+                source.get(entry);
+                j += ENTRY_SIZE;
+                if (order == 0) {
+                    i += ENTRY_SIZE;
+                }
+            }
+            merged.put(entry);
+        }
+        merged.flip();
+        return merged;
+    }
+    
+    private static byte[] encodeBlock(List<PlayerDataStore.Record> records) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(records.size() * 80);
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeInt(BLOCK_MAGIC);
+        out.writeInt(records.size());
+        for (PlayerDataStore.Record record : records) {
+            record.writeTo(out);
+        }
+        out.flush();
+        
+        byte[] input = raw.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            
+            // 압축 해제 버퍼 크기를 위해 원본 길이를 앞에 기록
+            ByteBuffer block = ByteBuffer.allocate(4 + compressed.size());
+            block.putInt(input.length);
+            block.put(compressed.toByteArray());
+            return block.array();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static List<PlayerDataStore.Record> decodeBlock(byte[] block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        int rawLength = buffer.getInt();
+        if (rawLength < 8 || rawLength > 64 * 1024 * 1024) {
+            throw new IOException("잘못된 보관 블록 길이: " + rawLength);
+        }
+        
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block, 4, block.length - 4);
+            int read = 0;
+            while (read < rawLength) {
+                int count = inflater.inflate(raw, read, rawLength - read);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != rawLength) {
+                throw new IOException("보관 블록이 손상되었습니다.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("보관 블록이 손상되었습니다: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+        
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        if (in.readInt() != BLOCK_MAGIC) {
+            throw new IOException("보관 블록 형식이 아닙니다.");
+        }
+        int count = in.readInt();
+        List<PlayerDataStore.Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(PlayerDataStore.Record.readFrom(in));
+        }
+        return records;
+    }
+    
+    private ByteBuffer readIndex() throws IOException {
+        File file = new File(directory, INDEX_FILE);
+        if (!file.isFile()) {
+            return ByteBuffer.allocate(0);
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < INDEX_HEADER_SIZE || buffer.getInt() != INDEX_MAGIC) {
+            throw new IOException("보관 색인 형식이 아닙니다: " + file.getName());
+        }
+        short version = buffer.getShort();
+        if (version > VERSION) {
+            throw new IOException("더 새로운 버전의 보관 색인입니다 (v" + version + ")");
+        }
+        
+        int count = buffer.getInt();
+        if (buffer.remaining() != (long) count * ENTRY_SIZE) {
+            throw new IOException("보관 색인이 손상되었습니다: " + file.getName());
+        }
+        return buffer.slice();
+    }
+    
+    private void readLastSeen() throws IOException {
+        File file = new File(directory, LAST_SEEN_FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < 10 || buffer.getInt() != LAST_SEEN_MAGIC) {
+            logger.warning("접속 기록 파일 형식이 아니어서 무시합니다: " + file.getName());
+            return;
+        }
+        buffer.getShort();
+        
+        int count = buffer.getInt();
+        for (int i = 0; i < count && buffer.remaining() >= 24; i++) {
+            lastSeen.put(new UUID(buffer.getLong(), buffer.getLong()), buffer.getLong());
+        }
+    }
+}
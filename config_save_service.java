@@ -0,0 +1,154 @@
+package com.customrpg.plugin;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 설정 파일 저장 서비스 (config.yml, items.yml, monsters.yml)
+ * - 저장 요청을 일정 시간(settings.config-save-delay) 모아서 파일당 한 번만 저장
+ * - 메인 스레드에서 문자열로 스냅샷, 파일 쓰기는 백그라운드 스레드에서 원자적 교체
+ * - 같은 파일의 쓰기가 아직 대기 중이면 최신 스냅샷으로 덮어써서 한 번만 기록
+ */
+public class ConfigSaveService {
+    
+    private final CustomRPGPlugin plugin;
+    private final ExecutorService ioExecutor;
+    
+    // 저장 요청된 설정 (메인 스레드 전용, 같은 파일은 하나로 합쳐짐)
+    private final Map<File, FileConfiguration> requestedSaves = new LinkedHashMap<>();
+    // 스냅샷은 떴지만 아직 디스크에 쓰이지 않은 내용
+    private final Map<File, String> queuedWrites = new ConcurrentHashMap<>();
+    private BukkitTask flushTask;
+    
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private volatile long lastFlushMillis = -1;
+    
+    public ConfigSaveService(CustomRPGPlugin plugin) {
+        this.plugin = plugin;
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-ConfigSave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 설정 저장 요청 (메인 스레드, 실제 저장은 지연 후 한 번에)
+     */
+    public void requestSave(File file, FileConfiguration config) {
+        if (!plugin.getServer().isPrimaryThread()) {
+            // API 등 다른 스레드에서의 요청은 메인 스레드로 넘김
+            plugin.getServer().getScheduler().runTask(plugin, () -> requestSave(file, config));
+            return;
+        }
+        
+        if (requestedSaves.put(file, config) != null) {
+            coalescedCount.incrementAndGet();
+        }
+        
+        if (flushTask == null) {
+            long delay = Math.max(1, plugin.getConfig().getLong("settings.config-save-delay", 20));
+            flushTask = plugin.getServer().getScheduler().runTaskLater(plugin, this::flush, delay);
+        }
+    }
+    
+    /**
+     * 모인 요청을 스냅샷하고 백그라운드 쓰기 요청 (메인 스레드)
+     */
+    public void flush() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        
+        for (Map.Entry<File, FileConfiguration> entry : requestedSaves.entrySet()) {
+            File file = entry.getKey();
+            String data = entry.getValue().saveToString();
+            long requestedAt = System.nanoTime();
+            
+            // 이미 대기 중인 쓰기가 있으면 그 쓰기가 최신 내용을 기록
+            if (queuedWrites.put(file, data) == null) {
+                ioExecutor.execute(() -> write(file, requestedAt));
+            } else {
+                coalescedCount.incrementAndGet();
+            }
+        }
+        requestedSaves.clear();
+    }
+    
+    /**
+     * 지금까지 요청된 저장이 모두 디스크에 기록된 뒤 저장 스레드에서 작업 실행 (메인 스레드)
+     * - 파일을 다시 읽을 때 아직 쓰이지 않은 변경을 놓치지 않기 위함
+     */
+    public void runAfterWrites(Runnable task) {
+        flush();
+        ioExecutor.execute(task);
+    }
+    
+    private void write(File file, long requestedAt) {
+        String data = queuedWrites.remove(file);
+        if (data == null) {
+            return;
+        }
+        
+        try {
+            AtomicFiles.write(file, data.getBytes(StandardCharsets.UTF_8));
+            writeCount.incrementAndGet();
+            lastFlushMillis = (System.nanoTime() - requestedAt) / 1_000_000L;
+        } catch (IOException e) {
+            plugin.getLogger().warning(file.getName() + " 저장 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 저장을 기다리는 파일 수 (지연 중 + 쓰기 대기 중)
+     */
+    public int getPendingWriteCount() {
+        return requestedSaves.size() + queuedWrites.size();
+    }
+    
+    /**
+     * 마지막 저장의 스냅샷부터 기록 완료까지 걸린 시간 (저장한 적이 없으면 -1)
+     */
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+    
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+    
+    /**
+     * 다른 요청에 합쳐져 생략된 저장 수
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+    
+    /**
+     * 남은 저장을 모두 기록하고 종료 (onDisable)
+     */
+    public void shutdown() {
+        flush();
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("설정 파일 저장이 10초 안에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
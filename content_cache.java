@@ -0,0 +1,311 @@
+package com.customrpg.plugin;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * items.yml / monsters.yml을 컴파일한 바이너리 캐시 (content.cache)
+ * - 두 원본 파일 내용의 SHA-256을 키로 사용, 원본이 바뀌었을 때만 YAML을 다시 파싱
+ * - 한 번에 읽어 CustomItem, CustomMonster, 스폰 지역 정의로 바로 복원
+ * - 형식 버전이 다르거나 CRC가 맞지 않으면 캐시를 버리고 YAML에서 다시 생성
+ *
+ * 로어 문구 등 정의를 만드는 코드가 바뀌면 FORMAT_VERSION을 올릴 것
+ */
+final class ContentCache {
+    
+    private static final int MAGIC = 0x43524343; // "CRCC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_SIZE = 32;
+    
+    /**
+     * 캐시에 담기는 콘텐츠 정의 묶음
+     */
+    static final class Snapshot {
+        final byte[] sourceHash;
+        final List<CustomItemManager.CustomItem> items;
+        final CustomMonsterManager.Definitions monsters;
+        final boolean fromCache;
+        
+        Snapshot(byte[] sourceHash, List<CustomItemManager.CustomItem> items,
+                 CustomMonsterManager.Definitions monsters, boolean fromCache) {
+            this.sourceHash = sourceHash;
+            this.items = items;
+            this.monsters = monsters;
+            this.fromCache = fromCache;
+        }
+    }
+    
+    private ContentCache() {}
+    
+    /**
+     * 원본 YAML 파일들의 내용 해시
+     */
+    static byte[] hash(File... sources) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (File source : sources) {
+                byte[] bytes = source.isFile() ? Files.readAllBytes(source.toPath()) : new byte[0];
+                digest.update(ByteBuffer.allocate(8).putLong(bytes.length).array());
+                digest.update(bytes);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+    
+    /**
+     * 캐시 읽기
+     * @return 해시가 일치하는 정상 캐시면 정의 묶음, 아니면 null (YAML에서 다시 파싱)
+     */
+    static Snapshot read(File file, byte[] sourceHash, Logger logger) {
+        if (!file.isFile()) {
+            return null;
+        }
+        
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.remaining() < 12 + HASH_SIZE || buffer.getInt() != MAGIC) {
+                logger.warning("콘텐츠 캐시 형식이 아니어서 다시 생성합니다.");
+                return null;
+            }
+            
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                logger.info("콘텐츠 캐시 형식이 바뀌어 다시 생성합니다 (v" + version + " → v" + FORMAT_VERSION + ")");
+                return null;
+            }
+            
+            // 마지막 4바이트는 앞부분 전체의 CRC
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.limit() - 4);
+            if (buffer.getInt(buffer.limit() - 4) != (int) crc.getValue()) {
+                logger.warning("콘텐츠 캐시가 손상되어 다시 생성합니다.");
+                return null;
+            }
+            buffer.limit(buffer.limit() - 4);
+            
+            byte[] cachedHash = new byte[HASH_SIZE];
+            buffer.get(cachedHash);
+            if (!Arrays.equals(cachedHash, sourceHash)) {
+                return null;
+            }
+            
+            List<CustomItemManager.CustomItem> items = readItems(buffer);
+            CustomMonsterManager.Definitions monsters = readMonsters(buffer);
+            if (items == null || monsters == null) {
+                logger.warning("콘텐츠 캐시 내용이 현재 서버와 맞지 않아 다시 생성합니다.");
+                return null;
+            }
+            return new Snapshot(sourceHash, items, monsters, true);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warning("콘텐츠 캐시를 읽을 수 없어 다시 생성합니다: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 캐시 저장 (임시 파일 + 원자적 교체)
+     */
+    static void write(File file, Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.write(snapshot.sourceHash);
+        
+        out.writeInt(snapshot.items.size());
+        for (CustomItemManager.CustomItem item : snapshot.items) {
+            writeString(out, item.id);
+            writeString(out, item.name);
+            writeString(out, item.material.name());
+            out.writeDouble(item.dropChance);
+            writeStringList(out, item.lore);
+            writeDoubleMap(out, item.stats);
+        }
+        
+        out.writeInt(snapshot.monsters.monsters.size());
+        for (CustomMonsterManager.CustomMonster monster : snapshot.monsters.monsters) {
+            writeString(out, monster.id);
+            writeString(out, monster.name);
+            writeString(out, monster.entityType.name());
+            out.writeDouble(monster.baseHealth);
+            out.writeDouble(monster.baseDamage);
+            out.writeInt(monster.minLevel);
+            out.writeInt(monster.maxLevel);
+            out.writeInt(monster.statCoinReward);
+            out.writeInt(monster.coinReward);
+            writeStringList(out, monster.dropItems);
+            writeDoubleMap(out, monster.dropChances);
+        }
+        
+        out.writeInt(snapshot.monsters.regions.size());
+        for (CustomMonsterManager.RegionDefinition region : snapshot.monsters.regions) {
+            writeString(out, region.name);
+            writeString(out, region.worldName);
+            out.writeDouble(region.x1);
+            out.writeDouble(region.y1);
+            out.writeDouble(region.z1);
+            out.writeDouble(region.x2);
+            out.writeDouble(region.y2);
+            out.writeDouble(region.z2);
+            out.writeInt(region.minLevel);
+            out.writeInt(region.maxLevel);
+            writeStringList(out, region.monsterIds);
+            out.writeInt(region.maxMonstersPerRegion);
+        }
+        out.flush();
+        
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        
+        AtomicFiles.write(file, bytes.toByteArray());
+    }
+    
+    private static List<CustomItemManager.CustomItem> readItems(ByteBuffer buffer) throws IOException {
+        int count = readCount(buffer);
+        List<CustomItemManager.CustomItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(buffer);
+            String name = readString(buffer);
+            Material material = Material.matchMaterial(readString(buffer));
+            if (material == null) {
+                return null;
+            }
+            
+            CustomItemManager.CustomItem item = new CustomItemManager.CustomItem(id, name, material);
+            item.dropChance = buffer.getDouble();
+            item.lore = readStringList(buffer);
+            item.stats = readDoubleMap(buffer);
+            items.add(item);
+        }
+        return items;
+    }
+    
+    private static CustomMonsterManager.Definitions readMonsters(ByteBuffer buffer) throws IOException {
+        CustomMonsterManager.Definitions definitions = new CustomMonsterManager.Definitions();
+        
+        int monsterCount = readCount(buffer);
+        for (int i = 0; i < monsterCount; i++) {
+            String id = readString(buffer);
+            String name = readString(buffer);
+            EntityType entityType = EntityType.valueOf(readString(buffer));
+            
+            CustomMonsterManager.CustomMonster monster = new CustomMonsterManager.CustomMonster(id, name, entityType);
+            monster.baseHealth = buffer.getDouble();
+            monster.baseDamage = buffer.getDouble();
+            monster.minLevel = buffer.getInt();
+            monster.maxLevel = buffer.getInt();
+            monster.statCoinReward = buffer.getInt();
+            monster.coinReward = buffer.getInt();
+            monster.dropItems = readStringList(buffer);
+            monster.dropChances = readDoubleMap(buffer);
+            definitions.monsters.add(monster);
+        }
+        
+        int regionCount = readCount(buffer);
+        for (int i = 0; i < regionCount; i++) {
+            CustomMonsterManager.RegionDefinition region = new CustomMonsterManager.RegionDefinition();
+            region.name = readString(buffer);
+            region.worldName = readString(buffer);
+            region.x1 = buffer.getDouble();
+            region.y1 = buffer.getDouble();
+            region.z1 = buffer.getDouble();
+            region.x2 = buffer.getDouble();
+            region.y2 = buffer.getDouble();
+            region.z2 = buffer.getDouble();
+            region.minLevel = buffer.getInt();
+            region.maxLevel = buffer.getInt();
+            region.monsterIds = readStringList(buffer);
+            region.maxMonstersPerRegion = buffer.getInt();
+            definitions.regions.add(region);
+        }
+        
+        return buffer.hasRemaining() ? null : definitions;
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static void writeStringList(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+    
+    private static void writeDoubleMap(DataOutputStream out, Map<String, Double> values) throws IOException {
+        out.writeInt(values.size());
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+    }
+    
+    private static int readCount(ByteBuffer buffer) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("잘못된 개수: " + count);
+        }
+        return count;
+    }
+    
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("잘못된 문자열 길이: " + length);
+        }
+        
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+    
+    private static List<String> readStringList(ByteBuffer buffer) throws IOException {
+        int count = readCount(buffer);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+    
+    private static Map<String, Double> readDoubleMap(ByteBuffer buffer) throws IOException {
+        int count = readCount(buffer);
+        Map<String, Double> values = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            values.put(readString(buffer), buffer.getDouble());
+        }
+        return values;
+    }
+}
@@ -4,24 +4,59 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
 
 public class CustomItemManager {
     
+    private static final int STAT_CACHE_SIZE = 8192;
+    
     private CustomRPGPlugin plugin;
-    private Map<String, CustomItem> customItems;
+    // 읽기 전용 스냅샷, 변경 시 복사본을 만들어 참조를 한 번에 교체 (copy-on-write)
+    private final AtomicReference<Map<String, CustomItem>> customItems = new AtomicReference<>(Collections.emptyMap());
     private NamespacedKey customItemKey;
+    // 스텟 키는 한 번만 만들어 재사용 (ItemStats.STAT_TYPES 순서)
+    private final NamespacedKey[] statKeys = new NamespacedKey[ItemStats.STAT_TYPES.length];
+    private NamespacedKey statFingerprintKey;
+    
+    // 스텟 지문 → 공유 스텟 묶음 (최근 사용 순, 가득 차면 가장 오래 쓰지 않은 항목 제거)
+    private final Map<Long, ItemStats> statCache = new LinkedHashMap<Long, ItemStats>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ItemStats> eldest) {
+            return size() > STAT_CACHE_SIZE;
+        }
+    };
+    private long statCacheHits;
+    private long statCacheMisses;
     
     public CustomItemManager(CustomRPGPlugin plugin) {
+        this(plugin, parseCustomItems(plugin.getItemsConfig(), plugin.getLogger()));
+    }
+    
+    /**
+     * 미리 파싱한 아이템 정의로 초기화 (시작 시 items.yml에 다시 쓰지 않음)
+     */
+    CustomItemManager(CustomRPGPlugin plugin, List<CustomItem> definitions) {
         this.plugin = plugin;
-        this.customItems = new HashMap<>();
         this.customItemKey = new NamespacedKey(plugin, "custom_item_id");
-        loadCustomItems();
+        this.statFingerprintKey = new NamespacedKey(plugin, "stat_fingerprint");
+        for (int i = 0; i < statKeys.length; i++) {
+            statKeys[i] = new NamespacedKey(plugin, "stat_" + ItemStats.STAT_TYPES[i]);
+        }
+        Map<String, CustomItem> items = new HashMap<>();
+        for (CustomItem item : definitions) {
+            items.put(item.id, item);
+        }
+        customItems.set(Collections.unmodifiableMap(items));
     }
     
     public static class CustomItem {
@@ -31,6 +66,8 @@ public class CustomItemManager {
         public List<String> lore;
         public Map<String, Double> stats;
         public double dropChance;
+        // 기본 스텟 아이템 원본 (처음 만들 때 생성, 정의가 바뀌지 않으면 리로드 후에도 재사용)
+        volatile ItemStack prototype;
         
         public CustomItem(String id, String name, Material material) {
             this.id = id;
@@ -40,9 +77,96 @@ public class CustomItemManager {
             this.stats = new HashMap<>();
             this.dropChance = 0.1; // 기본 10% 드롭율
         }
+        
+        /**
+         * 정의가 같은지 비교 (로어는 이름/스텟/드롭율에서 만들어지므로 제외)
+         */
+        boolean sameDefinition(CustomItem other) {
+            return id.equals(other.id)
+                && Objects.equals(name, other.name)
+                && material == other.material
+                && Double.compare(dropChance, other.dropChance) == 0
+                && stats.equals(other.stats);
+        }
+    }
+    
+    /**
+     * 리로드 결과 (추가/변경/삭제/유지된 아이템 수)
+     */
+    public static class ReloadResult {
+        public final int added;
+        public final int changed;
+        public final int removed;
+        public final int unchanged;
+        
+        ReloadResult(int added, int changed, int removed, int unchanged) {
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.unchanged = unchanged;
+        }
     }
     
     public void createCustomItem(String id, String name, Material material, Map<String, Double> stats, double dropChance) {
+        CustomItem item = buildCustomItem(id, name, material, stats, dropChance);
+        updateRegistry(items -> {
+            items.put(id, item);
+            return items;
+        });
+        saveCustomItem(item);
+    }
+    
+    /**
+     * 레지스트리 복사본을 수정해서 교체 (다른 스레드의 교체와 겹치면 다시 시도)
+     */
+    private void updateRegistry(UnaryOperator<Map<String, CustomItem>> change) {
+        customItems.updateAndGet(current -> Collections.unmodifiableMap(change.apply(new HashMap<>(current))));
+    }
+    
+    /**
+     * 새로 파싱한 정의를 현재 레지스트리와 비교해서 교체 (어느 스레드에서나 호출 가능)
+     * - 정의가 같은 아이템은 기존 객체를 그대로 사용해서 로어와 원본 아이템을 유지
+     * - 완성된 새 레지스트리를 참조 교체 한 번으로 공개
+     */
+    ReloadResult applyDefinitions(List<CustomItem> definitions) {
+        while (true) {
+            Map<String, CustomItem> current = customItems.get();
+            Map<String, CustomItem> next = new HashMap<>();
+            int added = 0;
+            int changed = 0;
+            int unchanged = 0;
+            
+            for (CustomItem item : definitions) {
+                CustomItem existing = current.get(item.id);
+                if (existing == null) {
+                    next.put(item.id, item);
+                    added++;
+                } else if (existing.sameDefinition(item)) {
+                    next.put(item.id, existing);
+                    unchanged++;
+                } else {
+                    next.put(item.id, item);
+                    changed++;
+                }
+            }
+            
+            int removed = 0;
+            for (String id : current.keySet()) {
+                if (!next.containsKey(id)) {
+                    removed++;
+                }
+            }
+            
+            if (customItems.compareAndSet(current, Collections.unmodifiableMap(next))) {
+                return new ReloadResult(added, changed, removed, unchanged);
+            }
+        }
+    }
+    
+    /**
+     * 아이템 정의 생성 (등록/저장 없음, 어느 스레드에서나 호출 가능)
+     */
+    static CustomItem buildCustomItem(String id, String name, Material material, Map<String, Double> stats, double dropChance) {
         CustomItem item = new CustomItem(id, name, material);
         item.stats = new HashMap<>(stats);
         item.dropChance = dropChance;
@@ -69,8 +193,7 @@ public class CustomItemManager {
         
         item.lore.add(ChatColor.GRAY + "드롭확률: " + (dropChance * 100) + "%");
         
-        customItems.put(id, item);
-        saveCustomItem(item);
+        return item;
     }
     
     public ItemStack createItemStack(String itemId) {
@@ -78,34 +201,58 @@ public class CustomItemManager {
     }
     
     public ItemStack createItemStack(String itemId, boolean randomStats) {
-        CustomItem customItem = customItems.get(itemId);
+        CustomItem customItem = customItems.get().get(itemId);
         if (customItem == null) return null;
         
+        if (!randomStats) {
+            // 기본 스텟 아이템은 원본을 한 번만 만들고 복제
+            ItemStack prototype = customItem.prototype;
+            if (prototype == null) {
+                prototype = buildItemStack(customItem, new HashMap<>(customItem.stats));
+                customItem.prototype = prototype;
+            }
+            return prototype.clone();
+        }
+        return buildItemStack(customItem, rollStats(customItem));
+    }
+    
+    /**
+     * 정해진 스텟으로 아이템 생성 (보관함에서 꺼낼 때)
+     * @return 아이템 (정의가 없으면 null)
+     */
+    public ItemStack createItemStack(String itemId, Map<String, Double> stats) {
+        CustomItem customItem = customItems.get().get(itemId);
+        if (customItem == null) return null;
+        return buildItemStack(customItem, stats);
+    }
+    
+    /**
+     * 랜덤 스텟 생성 (원래 스텟의 50% ~ 150% 범위)
+     */
+    private static Map<String, Double> rollStats(CustomItem customItem) {
+        Map<String, Double> finalStats = new HashMap<>();
+        Random random = new Random();
+        for (Map.Entry<String, Double> entry : customItem.stats.entrySet()) {
+            if (entry.getValue() > 0) {
+                double minStat = entry.getValue() * 0.5;
+                double maxStat = entry.getValue() * 1.5;
+                double randomStat = minStat + (maxStat - minStat) * random.nextDouble();
+                finalStats.put(entry.getKey(), Math.round(randomStat * 100.0) / 100.0);
+            }
+        }
+        return finalStats;
+    }
+    
+    private ItemStack buildItemStack(CustomItem customItem, Map<String, Double> finalStats) {
+        String itemId = customItem.id;
         ItemStack item = new ItemStack(customItem.material);
         ItemMeta meta = item.getItemMeta();
         
         meta.setDisplayName(ChatColor.GOLD + customItem.name);
         
-        // 랜덤 스텟 적용
-        Map<String, Double> finalStats = new HashMap<>();
         List<String> finalLore = new ArrayList<>();
         finalLore.add(ChatColor.GRAY + "=== 커스텀 장비 ===");
         
-        if (randomStats) {
-            // 랜덤 스텟 생성 (원래 스텟의 50% ~ 150% 범위)
-            Random random = new Random();
-            for (Map.Entry<String, Double> entry : customItem.stats.entrySet()) {
-                if (entry.getValue() > 0) {
-                    double minStat = entry.getValue() * 0.5;
-                    double maxStat = entry.getValue() * 1.5;
-                    double randomStat = minStat + (maxStat - minStat) * random.nextDouble();
-                    finalStats.put(entry.getKey(), Math.round(randomStat * 100.0) / 100.0);
-                }
-            }
-        } else {
-            finalStats = new HashMap<>(customItem.stats);
-        }
-        
         // 로어에 스텟 추가
         if (finalStats.containsKey("health") && finalStats.get("health") > 0) {
             finalLore.add(ChatColor.RED + "체력: +" + finalStats.get("health"));
@@ -126,14 +273,17 @@ public class CustomItemManager {
         meta.setLore(finalLore);
         
         // 커스텀 아이템 식별자 추가
-        meta.getPersistentDataContainer().set(customItemKey, PersistentDataType.STRING, itemId);
+        PersistentDataContainer data = meta.getPersistentDataContainer();
+        data.set(customItemKey, PersistentDataType.STRING, itemId);
         
         // 스텟 정보를 NBT에 저장
         for (Map.Entry<String, Double> entry : finalStats.entrySet()) {
-            NamespacedKey statKey = new NamespacedKey(plugin, "stat_" + entry.getKey());
-            meta.getPersistentDataContainer().set(statKey, PersistentDataType.DOUBLE, entry.getValue());
+            data.set(statKey(entry.getKey()), PersistentDataType.DOUBLE, entry.getValue());
         }
         
+        // 스텟 해석 캐시의 키
+        data.set(statFingerprintKey, PersistentDataType.LONG, ItemStats.of(itemId, finalStats).fingerprint);
+        
         item.setItemMeta(meta);
         return item;
     }
@@ -149,50 +299,126 @@ public class CustomItemManager {
     }
     
     public Map<String, Double> getItemStats(ItemStack item) {
-        Map<String, Double> stats = new HashMap<>();
-        if (!isCustomItem(item)) return stats;
+        return getItemStatVector(item).toMap();
+    }
+    
+    /**
+     * 장비 스텟 조회 (인벤토리 클릭/손 아이템 변경마다 호출되는 경로)
+     * - 아이템 메타는 한 번만 복사하고, PDC의 스텟 지문으로 캐시를 찾아 공유 객체를 반환
+     * - 지문이 없는 예전 아이템은 매번 해석하지만 같은 스텟이면 같은 객체를 반환
+     * - 캐시 항목은 해석한 값으로 계산한 지문으로만 넣고, 찾은 항목은 아이템 ID가 같을 때만 사용
+     *   (다른 아이템에서 복사되거나 위조된 지문으로 다른 아이템의 스텟을 얻지 않도록)
+     * @return 스텟 묶음 (커스텀 아이템이 아니면 ItemStats.EMPTY)
+     */
+    public ItemStats getItemStatVector(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return ItemStats.EMPTY;
         
-        ItemMeta meta = item.getItemMeta();
-        String[] statTypes = {"health", "damage", "defense", "speed", "mining"};
-        
-        for (String statType : statTypes) {
-            NamespacedKey statKey = new NamespacedKey(plugin, "stat_" + statType);
-            if (meta.getPersistentDataContainer().has(statKey, PersistentDataType.DOUBLE)) {
-                double value = meta.getPersistentDataContainer().get(statKey, PersistentDataType.DOUBLE);
-                if (value > 0) {
-                    stats.put(statType, value);
+        PersistentDataContainer data = item.getItemMeta().getPersistentDataContainer();
+        Long fingerprint = data.get(statFingerprintKey, PersistentDataType.LONG);
+        if (fingerprint != null) {
+            String itemId = data.get(customItemKey, PersistentDataType.STRING);
+            synchronized (statCache) {
+                ItemStats cached = statCache.get(fingerprint);
+                if (cached != null && cached.itemId.equals(itemId)) {
+                    statCacheHits++;
+                    return cached;
                 }
             }
         }
         
-        return stats;
+        ItemStats decoded = decodeItemStats(data);
+        if (decoded == ItemStats.EMPTY) return decoded;
+        
+        synchronized (statCache) {
+            statCacheMisses++;
+            ItemStats existing = statCache.get(decoded.fingerprint);
+            if (existing != null && existing.sameValues(decoded)) {
+                return existing;
+            }
+            statCache.put(decoded.fingerprint, decoded);
+        }
+        return decoded;
+    }
+    
+    /**
+     * 캐시를 거치지 않고 PDC에서 스텟 해석
+     */
+    ItemStats decodeItemStats(PersistentDataContainer data) {
+        String itemId = data.get(customItemKey, PersistentDataType.STRING);
+        if (itemId == null) return ItemStats.EMPTY;
+        return new ItemStats(itemId, readStat(data, 0), readStat(data, 1), readStat(data, 2),
+                             readStat(data, 3), readStat(data, 4));
+    }
+    
+    private double readStat(PersistentDataContainer data, int index) {
+        Double value = data.get(statKeys[index], PersistentDataType.DOUBLE);
+        return value != null ? value : 0;
+    }
+    
+    private NamespacedKey statKey(String statType) {
+        for (int i = 0; i < statKeys.length; i++) {
+            if (ItemStats.STAT_TYPES[i].equals(statType)) {
+                return statKeys[i];
+            }
+        }
+        return new NamespacedKey(plugin, "stat_" + statType);
+    }
+    
+    public int getStatCacheSize() {
+        synchronized (statCache) {
+            return statCache.size();
+        }
+    }
+    
+    public long getStatCacheHitCount() {
+        synchronized (statCache) {
+            return statCacheHits;
+        }
+    }
+    
+    public long getStatCacheMissCount() {
+        synchronized (statCache) {
+            return statCacheMisses;
+        }
     }
     
     public void giveItemToPlayer(Player player, String itemId) {
         giveItemToPlayer(player, itemId, true);
     }
     
+    /**
+     * 아이템 지급 (인벤토리가 가득 차면 땅에 떨어뜨리지 않고 보관함으로)
+     * - 보관함으로 갈 때는 ItemStack을 만들지 않고 아이템 ID와 스텟만 기록
+     */
     public void giveItemToPlayer(Player player, String itemId, boolean randomStats) {
-        ItemStack item = createItemStack(itemId, randomStats);
-        if (item != null) {
-            if (player.getInventory().firstEmpty() != -1) {
-                player.getInventory().addItem(item);
-            } else {
-                player.getWorld().dropItem(player.getLocation(), item);
-            }
+        CustomItem customItem = customItems.get().get(itemId);
+        if (customItem == null) return;
+        
+        if (player.getInventory().firstEmpty() != -1) {
+            player.getInventory().addItem(createItemStack(itemId, randomStats));
+            return;
+        }
+        
+        // 보관함이 없거나 가득 찼으면 기존처럼 땅에 떨어뜨림
+        RewardStash stash = plugin.getRewardStash();
+        if (stash == null || !stash.add(player, itemId, randomStats ? rollStats(customItem) : customItem.stats)) {
+            player.getWorld().dropItem(player.getLocation(), createItemStack(itemId, randomStats));
         }
     }
     
     public CustomItem getCustomItem(String id) {
-        return customItems.get(id);
+        return customItems.get().get(id);
     }
     
     public Set<String> getCustomItemIds() {
-        return customItems.keySet();
+        return customItems.get().keySet();
     }
     
     public void removeCustomItem(String id) {
-        customItems.remove(id);
+        updateRegistry(items -> {
+            items.remove(id);
+            return items;
+        });
         FileConfiguration config = plugin.getItemsConfig();
         config.set("items." + id, null);
         plugin.saveItemsConfig();
@@ -214,14 +440,21 @@ public class CustomItemManager {
         plugin.saveItemsConfig();
     }
     
-    private void loadCustomItems() {
-        FileConfiguration config = plugin.getItemsConfig();
+    /**
+     * items.yml 내용을 아이템 정의로 변환 (시작 시 작업 스레드에서 실행)
+     */
+    static List<CustomItem> parseCustomItems(ConfigurationSection config, Logger logger) {
+        List<CustomItem> items = new ArrayList<>();
         if (config.contains("items")) {
             for (String id : config.getConfigurationSection("items").getKeys(false)) {
                 String path = "items." + id;
                 
                 String name = config.getString(path + ".name", id);
-                Material material = Material.valueOf(config.getString(path + ".material", "STONE"));
+                Material material = Material.matchMaterial(config.getString(path + ".material", "STONE"));
+                if (material == null) {
+                    logger.warning("알 수 없는 아이템 재료로 건너뜀: " + id + " (" + config.getString(path + ".material") + ")");
+                    continue;
+                }
                 double dropChance = config.getDouble(path + ".dropChance", 0.1);
                 
                 Map<String, Double> stats = new HashMap<>();
@@ -231,8 +464,9 @@ public class CustomItemManager {
                     }
                 }
                 
-                createCustomItem(id, name, material, stats, dropChance);
+                items.add(buildCustomItem(id, name, material, stats, dropChance));
             }
         }
+        return items;
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.customrpg.plugin;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.attribute.Attribute;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
@@ -13,6 +15,7 @@ import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.metadata.FixedMetadataValue;
 
 import java.util.*;
+import java.util.logging.Logger;
 
 public class CustomMonsterManager {
     
@@ -21,17 +24,107 @@ public class CustomMonsterManager {
     private Map<String, SpawnRegion> spawnRegions;
     private NamespacedKey customMonsterKey;
     private NamespacedKey monsterLevelKey;
+    private NamespacedKey monsterVersionKey;
+    private NamespacedKey legacyVersionKey; // 예전 32비트 버전 (갱신할 때 제거)
     
     public CustomMonsterManager(CustomRPGPlugin plugin) {
+        this(plugin, parseDefinitions(plugin.getMonstersConfig(), plugin.getLogger()));
+    }
+    
+    /**
+     * 미리 파싱한 몬스터/지역 정의로 초기화 (시작 시 monsters.yml에 다시 쓰지 않음)
+     * 지역의 월드 조회는 메인 스레드에서 여기서 수행
+     */
+    CustomMonsterManager(CustomRPGPlugin plugin, Definitions definitions) {
         this.plugin = plugin;
         this.customMonsters = new HashMap<>();
         this.spawnRegions = new HashMap<>();
         this.customMonsterKey = new NamespacedKey(plugin, "custom_monster_id");
         this.monsterLevelKey = new NamespacedKey(plugin, "monster_level");
-        loadCustomMonsters();
+        this.monsterVersionKey = new NamespacedKey(plugin, "monster_definition");
+        this.legacyVersionKey = new NamespacedKey(plugin, "monster_version");
+        
+        for (CustomMonster monster : definitions.monsters) {
+            customMonsters.put(monster.id, monster);
+        }
+        for (RegionDefinition definition : definitions.regions) {
+            SpawnRegion region = definition.resolve(plugin);
+            if (region != null) {
+                spawnRegions.put(region.name, region);
+            }
+        }
+        
         startMonsterSpawning();
     }
     
+    /**
+     * monsters.yml에서 읽은 정의 묶음 (월드에 의존하지 않아 작업 스레드에서 생성 가능)
+     */
+    static final class Definitions {
+        final List<CustomMonster> monsters = new ArrayList<>();
+        final List<RegionDefinition> regions = new ArrayList<>();
+    }
+    
+    /**
+     * 월드 연결 전의 스폰 지역 정의
+     */
+    static final class RegionDefinition {
+        String name;
+        String worldName;
+        double x1, y1, z1, x2, y2, z2;
+        int minLevel;
+        int maxLevel;
+        List<String> monsterIds;
+        int maxMonstersPerRegion;
+        
+        /**
+         * 월드가 로드되어 있으면 스폰 지역 생성 (없으면 null)
+         */
+        SpawnRegion resolve(CustomRPGPlugin plugin) {
+            World world = worldName != null ? plugin.getServer().getWorld(worldName) : null;
+            if (world == null) {
+                return null;
+            }
+            
+            SpawnRegion region = new SpawnRegion(name, null, null);
+            applyTo(region, world);
+            return region;
+        }
+        
+        /**
+         * 실행 중인 스폰 지역 객체에 정의를 그대로 덮어씀 (스폰 작업은 다음 주기부터 새 값 사용)
+         */
+        void applyTo(SpawnRegion region, World world) {
+            region.corner1 = new Location(world, x1, y1, z1);
+            region.corner2 = new Location(world, x2, y2, z2);
+            region.minLevel = minLevel;
+            region.maxLevel = maxLevel;
+            region.monsterIds = new ArrayList<>(monsterIds);
+            region.maxMonstersPerRegion = maxMonstersPerRegion;
+        }
+        
+        boolean matches(SpawnRegion region) {
+            return region.corner1.getWorld() != null && region.corner1.getWorld().getName().equals(worldName)
+                && region.corner1.getX() == x1 && region.corner1.getY() == y1 && region.corner1.getZ() == z1
+                && region.corner2.getX() == x2 && region.corner2.getY() == y2 && region.corner2.getZ() == z2
+                && region.minLevel == minLevel && region.maxLevel == maxLevel
+                && region.monsterIds.equals(monsterIds)
+                && region.maxMonstersPerRegion == maxMonstersPerRegion;
+        }
+    }
+    
+    /**
+     * monsters.yml 리로드 결과
+     */
+    public static class ReloadResult {
+        public int monstersAdded;
+        public int monstersChanged;
+        public int monstersRemoved;
+        public int regionsAdded;
+        public int regionsChanged;
+        public int regionsRemoved;
+    }
+    
     public static class CustomMonster {
         public String id;
         public String name;
@@ -58,6 +151,65 @@ public class CustomMonsterManager {
             this.dropItems = new ArrayList<>();
             this.dropChances = new HashMap<>();
         }
+        
+        /**
+         * 살아있는 엔티티에 적용되는 값(이름/종류/체력/공격력)의 64비트 버전 (FNV-1a 후 비트 섞기)
+         * - 엔티티 PDC에 기록해서 정의가 바뀐 몬스터를 나중에 하나씩 갱신
+         * - 정의끼리의 비교는 sameDefinition에서 필드로 직접 함
+         */
+        long definitionVersion() {
+            long hash = 0xCBF29CE484222325L;
+            String text = (name != null ? name : "") + '\0' + entityType;
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+            }
+            hash = mix(hash ^ Double.doubleToLongBits(baseHealth));
+            return mix(hash ^ Double.doubleToLongBits(baseDamage));
+        }
+        
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            hash *= 0xC4CEB9FE1A85EC53L;
+            return hash ^ (hash >>> 33);
+        }
+        
+        boolean sameDefinition(CustomMonster other) {
+            return id.equals(other.id)
+                && Objects.equals(name, other.name) && entityType == other.entityType
+                && Double.compare(baseHealth, other.baseHealth) == 0
+                && Double.compare(baseDamage, other.baseDamage) == 0
+                && minLevel == other.minLevel && maxLevel == other.maxLevel
+                && statCoinReward == other.statCoinReward && coinReward == other.coinReward
+                && dropItems.equals(other.dropItems)
+                && dropChances.equals(other.dropChances);
+        }
+        
+        /**
+         * 처치 보상 공식 (handleMonsterDeath와 LootSimulator가 같이 사용)
+         */
+        int statCoinRewardAt(int level) {
+            return statCoinReward + (level - 1);
+        }
+        
+        int coinRewardAt(int level) {
+            return coinReward + (level - 1) * 5;
+        }
+        
+        /**
+         * 아이템 드롭 확률 (설정이 없으면 10%)
+         */
+        double dropChanceOf(String itemId) {
+            return dropChances.getOrDefault(itemId, 0.1);
+        }
+        
+        /**
+         * 스폰 레벨을 몬스터의 레벨 범위로 제한
+         */
+        int clampLevel(int level) {
+            return Math.max(minLevel, Math.min(level, maxLevel));
+        }
     }
     
     public static class SpawnRegion {
@@ -109,6 +261,18 @@ public class CustomMonsterManager {
     public void createCustomMonster(String id, String name, EntityType entityType, double baseHealth, 
                                   double baseDamage, int minLevel, int maxLevel, int statCoinReward, 
                                   int coinReward, List<String> dropItems, Map<String, Double> dropChances) {
+        CustomMonster monster = buildCustomMonster(id, name, entityType, baseHealth, baseDamage, minLevel, maxLevel,
+                                                   statCoinReward, coinReward, dropItems, dropChances);
+        customMonsters.put(id, monster);
+        saveCustomMonster(monster);
+    }
+    
+    /**
+     * 몬스터 정의 생성 (등록/저장 없음, 어느 스레드에서나 호출 가능)
+     */
+    static CustomMonster buildCustomMonster(String id, String name, EntityType entityType, double baseHealth,
+                                            double baseDamage, int minLevel, int maxLevel, int statCoinReward,
+                                            int coinReward, List<String> dropItems, Map<String, Double> dropChances) {
         CustomMonster monster = new CustomMonster(id, name, entityType);
         monster.baseHealth = baseHealth;
         monster.baseDamage = baseDamage;
@@ -118,9 +282,7 @@ public class CustomMonsterManager {
         monster.coinReward = coinReward;
         monster.dropItems = new ArrayList<>(dropItems);
         monster.dropChances = new HashMap<>(dropChances);
-        
-        customMonsters.put(id, monster);
-        saveCustomMonster(monster);
+        return monster;
     }
     
     public void createSpawnRegion(String name, Location corner1, Location corner2, int minLevel, 
@@ -140,11 +302,24 @@ public class CustomMonsterManager {
         if (customMonster == null) return null;
         
         // 레벨 제한 확인
-        level = Math.max(customMonster.minLevel, Math.min(level, customMonster.maxLevel));
+        level = customMonster.clampLevel(level);
         
         // 몬스터 스폰
         LivingEntity entity = (LivingEntity) location.getWorld().spawnEntity(location, customMonster.entityType);
         
+        // 커스텀 몬스터 식별자와 레벨 저장
+        entity.getPersistentDataContainer().set(customMonsterKey, PersistentDataType.STRING, monsterId);
+        entity.getPersistentDataContainer().set(monsterLevelKey, PersistentDataType.INTEGER, level);
+        
+        applyDefinition(entity, customMonster, level, 1.0);
+        return entity;
+    }
+    
+    /**
+     * 이름/체력/공격력을 정의에 맞게 설정하고 정의 버전 기록
+     * @param healthRatio 새 최대 체력 대비 남길 체력 비율 (스폰 시 1.0)
+     */
+    private void applyDefinition(LivingEntity entity, CustomMonster customMonster, int level, double healthRatio) {
         // 커스텀 이름 설정
         entity.setCustomName(ChatColor.RED + customMonster.name + ChatColor.YELLOW + " [Lv." + level + "]");
         entity.setCustomNameVisible(true);
@@ -158,18 +333,99 @@ public class CustomMonsterManager {
         
         // 체력 설정
         entity.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(finalHealth);
-        entity.setHealth(finalHealth);
+        entity.setHealth(Math.max(0.5, Math.min(finalHealth, finalHealth * healthRatio)));
         
         // 공격력 설정
         if (entity.getAttribute(Attribute.GENERIC_ATTACK_DAMAGE) != null) {
             entity.getAttribute(Attribute.GENERIC_ATTACK_DAMAGE).setBaseValue(finalDamage);
         }
         
-        // 커스텀 몬스터 식별자와 레벨 저장
-        entity.getPersistentDataContainer().set(customMonsterKey, PersistentDataType.STRING, monsterId);
-        entity.getPersistentDataContainer().set(monsterLevelKey, PersistentDataType.INTEGER, level);
+        entity.getPersistentDataContainer().set(monsterVersionKey, PersistentDataType.LONG, customMonster.definitionVersion());
+        entity.getPersistentDataContainer().remove(legacyVersionKey);
+    }
+    
+    /**
+     * 정의가 바뀐 뒤 아직 갱신되지 않은 몬스터면 새 정의 적용 (메인 스레드)
+     * - 리로드 때 전체를 다시 스폰하지 않고, 스폰 검사나 전투에서 만날 때 하나씩 갱신
+     * - 남은 체력 비율은 유지, 종류가 바뀐 경우는 엔티티를 바꿀 수 없어 그대로 둠
+     */
+    public void refreshIfOutdated(Entity entity) {
+        if (!isCustomMonster(entity)) return;
         
-        return entity;
+        CustomMonster customMonster = customMonsters.get(getCustomMonsterId(entity));
+        if (customMonster == null || customMonster.entityType != entity.getType()) return;
+        
+        Long version = entity.getPersistentDataContainer().get(monsterVersionKey, PersistentDataType.LONG);
+        if (version != null && version == customMonster.definitionVersion()) return;
+        
+        LivingEntity livingEntity = (LivingEntity) entity;
+        double maxHealth = livingEntity.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
+        double healthRatio = maxHealth > 0 ? livingEntity.getHealth() / maxHealth : 1.0;
+        applyDefinition(livingEntity, customMonster, getMonsterLevel(entity), healthRatio);
+    }
+    
+    /**
+     * 다시 파싱한 monsters.yml을 적용 (메인 스레드)
+     * - 몬스터 정의는 교체만 하고 살아있는 엔티티는 refreshIfOutdated에서 나중에 갱신
+     * - 기존 스폰 지역은 객체를 그대로 두고 값만 바꿔서 실행 중인 스폰 작업이 계속 사용
+     * - 삭제된 지역은 스폰만 멈추고 이미 나온 몬스터는 제거하지 않음
+     */
+    ReloadResult applyDefinitions(Definitions definitions) {
+        ReloadResult result = new ReloadResult();
+        
+        Map<String, CustomMonster> monsters = new HashMap<>();
+        for (CustomMonster monster : definitions.monsters) {
+            CustomMonster existing = customMonsters.get(monster.id);
+            if (existing == null) {
+                result.monstersAdded++;
+            } else if (!existing.sameDefinition(monster)) {
+                result.monstersChanged++;
+            } else {
+                monster = existing;
+            }
+            monsters.put(monster.id, monster);
+        }
+        for (String id : customMonsters.keySet()) {
+            if (!monsters.containsKey(id)) {
+                result.monstersRemoved++;
+            }
+        }
+        customMonsters = monsters;
+        
+        OptimizedMonsterSpawner spawner = plugin.getMonsterSpawner();
+        Set<String> regionNames = new HashSet<>();
+        for (RegionDefinition definition : definitions.regions) {
+            World world = definition.worldName != null ? plugin.getServer().getWorld(definition.worldName) : null;
+            if (world == null) {
+                plugin.getLogger().warning("월드가 로드되지 않아 스폰 지역을 건너뜀: " + definition.name + " (" + definition.worldName + ")");
+                continue;
+            }
+            regionNames.add(definition.name);
+            
+            SpawnRegion region = spawnRegions.get(definition.name);
+            if (region == null) {
+                region = new SpawnRegion(definition.name, null, null);
+                definition.applyTo(region, world);
+                spawnRegions.put(region.name, region);
+                if (plugin.isPluginEnabled()) {
+                    spawner.activateRegion(region.name);
+                }
+                result.regionsAdded++;
+            } else if (!definition.matches(region)) {
+                definition.applyTo(region, world);
+                result.regionsChanged++;
+            }
+        }
+        
+        for (String name : new ArrayList<>(spawnRegions.keySet())) {
+            if (!regionNames.contains(name)) {
+                spawnRegions.remove(name);
+                spawner.deactivateRegion(name, false);
+                result.regionsRemoved++;
+            }
+        }
+        
+        return result;
     }
     
     public void handleMonsterDeath(LivingEntity entity, Player killer) {
@@ -182,17 +438,17 @@ public class CustomMonsterManager {
         if (monster == null || killer == null) return;
         
         // 보상 지급
-        int statCoinReward = monster.statCoinReward + (level - 1);
-        int coinReward = monster.coinReward + (level - 1) * 5;
+        int statCoinReward = monster.statCoinRewardAt(level);
+        int coinReward = monster.coinRewardAt(level);
         
         plugin.getStatsManager().addStatCoins(killer, statCoinReward);
         plugin.getStatsManager().addCoins(killer, coinReward);
+        plugin.getStatsManager().getLeaderboards().addKill(killer.getUniqueId(), killer.getName());
         
         // 드롭 아이템 처리
         Random random = new Random();
         for (String itemId : monster.dropItems) {
-            double dropChance = monster.dropChances.getOrDefault(itemId, 0.1);
-            if (random.nextDouble() < dropChance) {
+            if (random.nextDouble() < monster.dropChanceOf(itemId)) {
                 plugin.getItemManager().giveItemToPlayer(killer, itemId, true);
             }
         }
@@ -323,16 +579,25 @@ public class CustomMonsterManager {
         plugin.saveMonstersConfig();
     }
     
-    private void loadCustomMonsters() {
-        FileConfiguration config = plugin.getMonstersConfig();
+    /**
+     * monsters.yml 내용을 몬스터/지역 정의로 변환 (시작 시 작업 스레드에서 실행)
+     */
+    static Definitions parseDefinitions(ConfigurationSection config, Logger logger) {
+        Definitions definitions = new Definitions();
         
-        // 커스텀 몬스터 로드
+        // 커스텀 몬스터
         if (config.contains("monsters")) {
             for (String id : config.getConfigurationSection("monsters").getKeys(false)) {
                 String path = "monsters." + id;
                 
                 String name = config.getString(path + ".name", id);
-                EntityType entityType = EntityType.valueOf(config.getString(path + ".entityType", "ZOMBIE"));
+                EntityType entityType;
+                try {
+                    entityType = EntityType.valueOf(config.getString(path + ".entityType", "ZOMBIE"));
+                } catch (IllegalArgumentException e) {
+                    logger.warning("알 수 없는 몬스터 종류로 건너뜀: " + id + " (" + config.getString(path + ".entityType") + ")");
+                    continue;
+                }
                 double baseHealth = config.getDouble(path + ".baseHealth", 20.0);
                 double baseDamage = config.getDouble(path + ".baseDamage", 2.0);
                 int minLevel = config.getInt(path + ".minLevel", 1);
@@ -348,39 +613,33 @@ public class CustomMonsterManager {
                     }
                 }
                 
-                createCustomMonster(id, name, entityType, baseHealth, baseDamage, minLevel, maxLevel,
-                                  statCoinReward, coinReward, dropItems, dropChances);
+                definitions.monsters.add(buildCustomMonster(id, name, entityType, baseHealth, baseDamage, minLevel,
+                                                            maxLevel, statCoinReward, coinReward, dropItems, dropChances));
             }
         }
         
-        // 스폰 지역 로드
+        // 스폰 지역 (월드 연결은 메인 스레드에서)
         if (config.contains("regions")) {
             for (String name : config.getConfigurationSection("regions").getKeys(false)) {
                 String path = "regions." + name;
                 
-                String worldName = config.getString(path + ".corner1.world");
-                if (plugin.getServer().getWorld(worldName) == null) continue;
-                
-                Location corner1 = new Location(
-                    plugin.getServer().getWorld(worldName),
-                    config.getDouble(path + ".corner1.x"),
-                    config.getDouble(path + ".corner1.y"),
-                    config.getDouble(path + ".corner1.z")
-                );
-                
-                Location corner2 = new Location(
-                    plugin.getServer().getWorld(worldName),
-                    config.getDouble(path + ".corner2.x"),
-                    config.getDouble(path + ".corner2.y"),
-                    config.getDouble(path + ".corner2.z")
-                );
-                
-                int minLevel = config.getInt(path + ".minLevel", 1);
-                int maxLevel = config.getInt(path + ".maxLevel", 10);
-                List<String> monsterIds = config.getStringList(path + ".monsterIds");
-                int maxMonstersPerRegion = config.getInt(path + ".maxMonstersPerRegion", 10);
-                
-                createSpawnRegion(name, corner1, corner2, minLevel, maxLevel, monsterIds, maxMonstersPerRegion);
+                RegionDefinition region = new RegionDefinition();
+                region.name = name;
+                region.worldName = config.getString(path + ".corner1.world");
+                region.x1 = config.getDouble(path + ".corner1.x");
+                region.y1 = config.getDouble(path + ".corner1.y");
+                region.z1 = config.getDouble(path + ".corner1.z");
+                region.x2 = config.getDouble(path + ".corner2.x");
+                region.y2 = config.getDouble(path + ".corner2.y");
+                region.z2 = config.getDouble(path + ".corner2.z");
+                region.minLevel = config.getInt(path + ".minLevel", 1);
+                region.maxLevel = config.getInt(path + ".maxLevel", 10);
+                region.monsterIds = config.getStringList(path + ".monsterIds");
+                region.maxMonstersPerRegion = config.getInt(path + ".maxMonstersPerRegion", 10);
+                definitions.regions.add(region);
             }
         }
-    }
\ No newline at end of file
+        
+        return definitions;
+    }
+}
@@ -8,12 +8,20 @@ import org.bukkit.entity.Player;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class CustomRPGPlugin extends JavaPlugin {
     
@@ -27,38 +35,119 @@ public class CustomRPGPlugin extends JavaPlugin {
     private RPGWorldGenerator.WorldManager worldManager;
     private EconomyManager economyManager;
     private OptimizedMonsterSpawner monsterSpawner;
+    private PlayerBackupService backupService;
+    private ConfigSaveService configSaveService;
+    private AuctionHouse auctionHouse;
+    private RewardStash rewardStash;
     
-    // 설정 파일들
+    // 설정 파일들 (콘텐츠 캐시를 쓰면 처음 필요할 때 로드)
     private File itemsConfigFile;
-    private FileConfiguration itemsConfig;
+    private volatile FileConfiguration itemsConfig;
     private File monstersConfigFile;
-    private FileConfiguration monstersConfig;
-    private File playersConfigFile;
-    private FileConfiguration playersConfig;
+    private volatile FileConfiguration monstersConfig;
+    
+    // 시작 단계별 소요 시간 로그 순서
+    private static final String[] STARTUP_PHASES = {
+        "콘텐츠 해시", "콘텐츠 캐시", "items.yml", "monsters.yml", "아이템 정의", "몬스터 정의", "캐시 저장",
+        "플레이어 저장소", "경매장", "월드", "레지스트리"
+    };
     
     @Override
     public void onEnable() {
         instance = this;
+        long startTime = System.nanoTime();
+        Map<String, Long> phaseMillis = new ConcurrentHashMap<>();
         
         // API 초기화
         CustomRPGAPI.initialize(this);
         
-        // 설정 파일 생성
+        // 설정 파일 저장은 모아서 백그라운드에서
+        configSaveService = new ConfigSaveService(this);
+        
+        // 설정 파일 생성 (파싱은 아래 작업 스레드에서)
         saveDefaultConfig();
+        getConfig();
         createConfigFiles();
         
-        // 월드 매니저 먼저 초기화 (다른 매니저들이 의존)
-        worldManager = new RPGWorldGenerator.WorldManager(this);
+        // 콘텐츠 로드와 플레이어 저장소 열기를 병렬로 실행 (시작 중에는 아무 설정 파일도 다시 쓰지 않음)
+        ExecutorService startupPool = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-Startup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<ContentCache.Snapshot> contentFuture = CompletableFuture.supplyAsync(() ->
+            loadContent(startupPool, phaseMillis), startupPool);
+        CompletableFuture<PlayerStatsManager.Storage> storageFuture = CompletableFuture.supplyAsync(() ->
+            timed(phaseMillis, "플레이어 저장소", () -> PlayerStatsManager.openStorage(this)), startupPool);
+        CompletableFuture<AuctionStore> auctionFuture = getConfig().getBoolean("auction.enabled", true)
+            ? CompletableFuture.supplyAsync(() -> timed(phaseMillis, "경매장",
+                () -> new AuctionStore(new File(getDataFolder(), "auction"), getLogger())), startupPool)
+            : CompletableFuture.completedFuture(null);
         
-        // RPG 월드 생성/로드
-        worldManager.createOrLoadRPGWorld();
-        
-        // 매니저 초기화
-        statsManager = new PlayerStatsManager(this);
-        itemManager = new CustomItemManager(this);
-        monsterManager = new CustomMonsterManager(this);
+        try {
+            // 월드 매니저 먼저 초기화 (다른 매니저들이 의존, 파싱과 동시에 메인 스레드에서 진행)
+            timed(phaseMillis, "월드", () -> {
+                worldManager = new RPGWorldGenerator.WorldManager(this);
+                
+                // RPG 월드 생성/로드
+                worldManager.createOrLoadRPGWorld();
+                return null;
+            });
+            
+            // 매니저 초기화
+            ContentCache.Snapshot content = contentFuture.join();
+            PlayerStatsManager.Storage storage = storageFuture.join();
+            AuctionStore auctionStore = auctionFuture.join();
+            
+            timed(phaseMillis, "레지스트리", () -> {
+                statsManager = new PlayerStatsManager(this, storage);
+                itemManager = new CustomItemManager(this, content.items);
+                monsterManager = new CustomMonsterManager(this, content.monsters);
+                if (auctionStore != null) {
+                    auctionHouse = new AuctionHouse(this, auctionStore);
+                }
+                return null;
+            });
+            getLogger().info("콘텐츠 정의 로드 (" + (content.fromCache ? "캐시" : "YAML") + "): 아이템 "
+                + content.items.size() + "개, 몬스터 " + content.monsters.monsters.size() + "개, 스폰 지역 "
+                + content.monsters.regions.size() + "개");
+        } catch (RuntimeException e) {
+            // 매니저에 넘기기 전에 실패하면 열린 저장소를 여기서 닫음 (넘긴 것은 onDisable에서 종료)
+            // 아직 여는 중인 저장소는 열기가 끝난 뒤 시작 스레드에서 닫힘
+            if (statsManager == null) {
+                storageFuture.thenAccept(storage -> storage.store.close());
+            }
+            if (auctionHouse == null) {
+                auctionFuture.thenAccept(auctionStore -> {
+                    if (auctionStore != null) {
+                        auctionStore.close();
+                    }
+                });
+            }
+            
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            startupPool.shutdown();
+        }
         economyManager = new EconomyManager(this);
         
+        // 인벤토리가 가득 찼을 때 지급 아이템을 땅 대신 보관함으로
+        if (getConfig().getBoolean("stash.enabled", true)) {
+            rewardStash = new RewardStash(this);
+            getServer().getPluginManager().registerEvents(rewardStash, this);
+        }
+        
+        // 다른 플러그인(상점 등)이 코인을 쓸 수 있도록 Vault 경제 제공자 등록
+        if (getConfig().getBoolean("economy.vault-provider", true)
+                && getServer().getPluginManager().getPlugin("Vault") != null) {
+            VaultEconomyProvider.register(this);
+        }
+        
+        // 플레이어 데이터 증분 백업
+        backupService = new PlayerBackupService(this, statsManager);
+        backupService.start();
+        
         // 최적화된 몬스터 스포너 초기화
         monsterSpawner = new OptimizedMonsterSpawner(this);
         
@@ -83,6 +172,15 @@ public class CustomRPGPlugin extends JavaPlugin {
         // 자동 저장 작업 시작
         startAutoSaveTask();
         
+        StringBuilder timings = new StringBuilder();
+        for (String phase : STARTUP_PHASES) {
+            Long millis = phaseMillis.get(phase);
+            if (millis != null) {
+                timings.append(timings.length() > 0 ? ", " : "").append(phase).append(' ').append(millis).append("ms");
+            }
+        }
+        getLogger().info("시작 시간: " + (System.nanoTime() - startTime) / 1_000_000L + "ms (" + timings + ")");
+        
         getLogger().info("CustomRPG 플러그인이 활성화되었습니다!");
         getLogger().info("API가 초기화되었습니다. 다른 플러그인에서 CustomRPGAPI를 사용할 수 있습니다.");
     }
@@ -94,9 +192,29 @@ public class CustomRPGPlugin extends JavaPlugin {
             monsterSpawner.shutdown();
         }
         
-        // 플레이어 데이터 저장
+        // 백업은 저장 스레드를 사용하므로 플레이어 데이터 저장보다 먼저 종료
+        if (backupService != null) {
+            backupService.shutdown();
+        }
+        
+        // 보관함에 아직 쓰지 않은 항목 기록
+        if (rewardStash != null) {
+            rewardStash.shutdown();
+        }
+        
+        // 경매장 변경 기록 (거래 코인은 이미 거래 저널에 있음)
+        if (auctionHouse != null) {
+            auctionHouse.shutdown();
+        }
+        
+        // 플레이어 데이터 저장 (제한 시간 내 저장 완료 대기)
         if (statsManager != null) {
-            statsManager.saveAllPlayerData();
+            statsManager.shutdown();
+        }
+        
+        // 남은 설정 파일 저장
+        if (configSaveService != null) {
+            configSaveService.shutdown();
         }
         
         getLogger().info("CustomRPG 플러그인이 비활성화되었습니다!");
@@ -109,7 +227,6 @@ public class CustomRPGPlugin extends JavaPlugin {
             itemsConfigFile.getParentFile().mkdirs();
             saveResource("items.yml", false);
         }
-        itemsConfig = YamlConfiguration.loadConfiguration(itemsConfigFile);
         
         // 몬스터 설정 파일
         monstersConfigFile = new File(getDataFolder(), "monsters.yml");
@@ -117,19 +234,66 @@ public class CustomRPGPlugin extends JavaPlugin {
             monstersConfigFile.getParentFile().mkdirs();
             saveResource("monsters.yml", false);
         }
-        monstersConfig = YamlConfiguration.loadConfiguration(monstersConfigFile);
         
-        // 플레이어 데이터 파일
-        playersConfigFile = new File(getDataFolder(), "players.yml");
-        if (!playersConfigFile.exists()) {
-            playersConfigFile.getParentFile().mkdirs();
+        // 플레이어 데이터는 PlayerStatsManager의 저장소(storage.type)가 직접 관리
+    }
+    
+    /**
+     * 아이템/몬스터 정의 로드 (작업 스레드)
+     * 원본 YAML이 그대로면 컴파일된 캐시를 한 번에 읽고, 바뀌었으면 두 파일을 병렬로 파싱한 뒤 캐시 갱신
+     */
+    private ContentCache.Snapshot loadContent(ExecutorService pool, Map<String, Long> phaseMillis) {
+        boolean useCache = getConfig().getBoolean("settings.content-cache", true);
+        File cacheFile = new File(getDataFolder(), "content.cache");
+        byte[] sourceHash = timed(phaseMillis, "콘텐츠 해시", () -> ContentCache.hash(itemsConfigFile, monstersConfigFile));
+        
+        if (useCache) {
+            ContentCache.Snapshot cached = timed(phaseMillis, "콘텐츠 캐시",
+                () -> ContentCache.read(cacheFile, sourceHash, getLogger()));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        CompletableFuture<List<CustomItemManager.CustomItem>> items = CompletableFuture.supplyAsync(() -> {
+            YamlConfiguration config = timed(phaseMillis, "items.yml", () -> YamlConfiguration.loadConfiguration(itemsConfigFile));
+            itemsConfig = config;
+            return timed(phaseMillis, "아이템 정의", () -> CustomItemManager.parseCustomItems(config, getLogger()));
+        }, pool);
+        CompletableFuture<CustomMonsterManager.Definitions> monsters = CompletableFuture.supplyAsync(() -> {
+            YamlConfiguration config = timed(phaseMillis, "monsters.yml", () -> YamlConfiguration.loadConfiguration(monstersConfigFile));
+            monstersConfig = config;
+            return timed(phaseMillis, "몬스터 정의", () -> CustomMonsterManager.parseDefinitions(config, getLogger()));
+        }, pool);
+        
+        ContentCache.Snapshot snapshot = new ContentCache.Snapshot(sourceHash, items.join(), monsters.join(), false);
+        if (useCache) {
             try {
-                playersConfigFile.createNewFile();
-            } catch (IOException e) {
-                e.printStackTrace();
+                timed(phaseMillis, "캐시 저장", () -> {
+                    ContentCache.write(cacheFile, snapshot);
+                    return null;
+                });
+            } catch (CompletionException e) {
+                getLogger().warning("콘텐츠 캐시 저장 실패: " + e.getCause().getMessage());
             }
         }
-        playersConfig = YamlConfiguration.loadConfiguration(playersConfigFile);
+        return snapshot;
+    }
+    
+    /**
+     * 시작 단계 하나를 실행하고 소요 시간 기록
+     */
+    private static <T> T timed(Map<String, Long> phaseMillis, String phase, Callable<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            phaseMillis.put(phase, (System.nanoTime() - start) / 1_000_000L);
+        }
     }
     
     private void startAutoSaveTask() {
@@ -137,34 +301,95 @@ public class CustomRPGPlugin extends JavaPlugin {
         
         getServer().getScheduler().runTaskTimer(this, () -> {
             if (pluginEnabled) {
-                statsManager.saveAllPlayerData();
-                getLogger().info("플레이어 데이터 자동 저장 완료");
+                statsManager.saveAllPlayerData().thenAccept(result ->
+                    getLogger().info("플레이어 데이터 자동 저장 완료 (" + result.records + "명, "
+                        + result.bytesWritten + " bytes, " + result.durationMillis + "ms)"));
             }
         }, interval, interval);
     }
     
     public void saveItemsConfig() {
-        try {
-            itemsConfig.save(itemsConfigFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (itemsConfig == null) {
+            return; // 로드된 적이 없으면 바뀐 내용도 없음
         }
+        configSaveService.requestSave(itemsConfigFile, itemsConfig);
+    }
+    
+    /**
+     * items.yml을 다시 읽어서 아이템 레지스트리에 반영 (메인 스레드에서 호출)
+     * - 대기 중인 저장이 기록된 뒤 저장 스레드에서 파일 읽기/파싱
+     * - 레지스트리 교체와 itemsConfig 교체는 메인 스레드에서 함께 처리
+     * - YAML 문법 오류면 기존 아이템을 그대로 유지
+     */
+    public CompletableFuture<CustomItemManager.ReloadResult> reloadItemsConfig() {
+        CompletableFuture<CustomItemManager.ReloadResult> result = new CompletableFuture<>();
+        configSaveService.runAfterWrites(() -> {
+            YamlConfiguration config = new YamlConfiguration();
+            List<CustomItemManager.CustomItem> definitions;
+            try {
+                config.load(itemsConfigFile);
+                definitions = CustomItemManager.parseCustomItems(config, getLogger());
+            } catch (IOException | InvalidConfigurationException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            
+            getServer().getScheduler().runTask(this, () -> {
+                CustomItemManager.ReloadResult reloadResult = itemManager.applyDefinitions(definitions);
+                itemsConfig = config;
+                result.complete(reloadResult);
+            });
+        });
+        return result;
+    }
+    
+    /**
+     * monsters.yml을 다시 읽어서 몬스터/스폰 지역에 바로 반영 (메인 스레드에서 호출)
+     * - 읽기/파싱은 저장 스레드, 적용은 메인 스레드 (지역을 끄고 켜지 않으므로 재스폰 없음)
+     */
+    public CompletableFuture<CustomMonsterManager.ReloadResult> reloadMonstersConfig() {
+        CompletableFuture<CustomMonsterManager.ReloadResult> result = new CompletableFuture<>();
+        configSaveService.runAfterWrites(() -> {
+            YamlConfiguration config = new YamlConfiguration();
+            CustomMonsterManager.Definitions definitions;
+            try {
+                config.load(monstersConfigFile);
+                definitions = CustomMonsterManager.parseDefinitions(config, getLogger());
+            } catch (IOException | InvalidConfigurationException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            
+            getServer().getScheduler().runTask(this, () -> {
+                CustomMonsterManager.ReloadResult reloadResult = monsterManager.applyDefinitions(definitions);
+                monstersConfig = config;
+                result.complete(reloadResult);
+            });
+        });
+        return result;
     }
     
     public void saveMonstersConfig() {
-        try {
-            monstersConfig.save(monstersConfigFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (monstersConfig == null) {
+            return; // 로드된 적이 없으면 바뀐 내용도 없음
         }
+        configSaveService.requestSave(monstersConfigFile, monstersConfig);
     }
     
-    public void savePlayersConfig() {
-        try {
-            playersConfig.save(playersConfigFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * config.yml 저장도 ConfigSaveService를 거쳐 모아서 백그라운드에서 기록
+     */
+    @Override
+    public void saveConfig() {
+        if (configSaveService == null) {
+            super.saveConfig();
+            return;
         }
+        configSaveService.requestSave(new File(getDataFolder(), "config.yml"), getConfig());
+    }
+    
+    public void savePlayersConfig() {
+        statsManager.saveAllPlayerData();
     }
     
     // Getter 메소드들
@@ -208,19 +433,59 @@ public class CustomRPGPlugin extends JavaPlugin {
         return economyManager;
     }
     
+    /**
+     * 경매장 (auction.enabled가 false면 null)
+     */
+    public AuctionHouse getAuctionHouse() {
+        return auctionHouse;
+    }
+    
+    /**
+     * 보상 보관함 (stash.enabled가 false면 null)
+     */
+    public RewardStash getRewardStash() {
+        return rewardStash;
+    }
+    
     public OptimizedMonsterSpawner getMonsterSpawner() {
         return monsterSpawner;
     }
     
+    public PlayerBackupService getBackupService() {
+        return backupService;
+    }
+    
+    public ConfigSaveService getConfigSaveService() {
+        return configSaveService;
+    }
+    
     public FileConfiguration getItemsConfig() {
+        if (itemsConfig == null) {
+            synchronized (this) {
+                if (itemsConfig == null) {
+                    itemsConfig = YamlConfiguration.loadConfiguration(itemsConfigFile);
+                }
+            }
+        }
         return itemsConfig;
     }
     
     public FileConfiguration getMonstersConfig() {
+        if (monstersConfig == null) {
+            synchronized (this) {
+                if (monstersConfig == null) {
+                    monstersConfig = YamlConfiguration.loadConfiguration(monstersConfigFile);
+                }
+            }
+        }
         return monstersConfig;
     }
     
+    /**
+     * players.yml 문서 (storage.type이 yaml일 때만, 그 외에는 null)
+     */
     public FileConfiguration getPlayersConfig() {
-        return playersConfig;
+        PlayerDataStore store = statsManager.getStore();
+        return store instanceof YamlPlayerDataStore ? ((YamlPlayerDataStore) store).getDocument() : null;
     }
 }
\ No newline at end of file
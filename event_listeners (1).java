@@ -2,6 +2,8 @@ package com.customrpg.plugin;
 
 import org.bukkit.event.Listener;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
@@ -24,6 +26,18 @@ class PlayerEventListener implements Listener {
         this.plugin = plugin;
     }
     
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        
+        // 접속 처리 전에 비동기 스레드에서 데이터를 미리 불러옴 (접속 시 메인 스레드 대기 방지)
+        if (!plugin.getStatsManager().prefetchPlayerData(event.getUniqueId())) {
+            // 공유 저장소에서 다른 서버가 아직 이 플레이어를 저장 중
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                "다른 서버에서 플레이어 데이터를 저장하는 중입니다. 잠시 후 다시 접속해 주세요.");
+        }
+    }
+    
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
@@ -32,13 +46,22 @@ class PlayerEventListener implements Listener {
         
         // 장착된 아이템의 스텟 적용
         updatePlayerItemStats(player);
+        
+        // 만료/취소된 경매 아이템 알림
+        AuctionHouse auctionHouse = plugin.getAuctionHouse();
+        if (auctionHouse != null && auctionHouse.getReturnCount(player.getUniqueId()) > 0) {
+            player.sendMessage(ChatColor.YELLOW + "경매장 보관함에 찾아갈 아이템이 "
+                + auctionHouse.getReturnCount(player.getUniqueId()) + "개 있습니다. (/rpg ah claim)");
+        }
     }
     
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         plugin.getStatsManager().savePlayerData(player);
-        plugin.getStatsManager().resetPlayerStats(player);
+        // 캐시로 옮긴 스텟 객체를 0으로 만들지 않도록 옮긴 뒤 속성만 되돌림
+        plugin.getStatsManager().unloadPlayerData(player);
+        plugin.getStatsManager().resetPlayerAttributes(player);
     }
     
     @EventHandler
@@ -71,28 +94,23 @@ class PlayerEventListener implements Listener {
         PlayerInventory inventory = player.getInventory();
         double totalHealth = 0, totalDamage = 0, totalDefense = 0, totalSpeed = 0, totalMining = 0;
         
-        // 손에 든 아이템 확인
-        ItemStack mainHand = inventory.getItemInMainHand();
-        if (plugin.getItemManager().isCustomItem(mainHand)) {
-            Map<String, Double> stats = plugin.getItemManager().getItemStats(mainHand);
-            totalHealth += stats.getOrDefault("health", 0.0);
-            totalDamage += stats.getOrDefault("damage", 0.0);
-            totalDefense += stats.getOrDefault("defense", 0.0);
-            totalSpeed += stats.getOrDefault("speed", 0.0);
-            totalMining += stats.getOrDefault("mining", 0.0);
-        }
+        // 손에 든 아이템 확인 (커스텀 아이템이 아니면 EMPTY라서 0이 더해짐)
+        ItemStats stats = plugin.getItemManager().getItemStatVector(inventory.getItemInMainHand());
+        totalHealth += stats.health;
+        totalDamage += stats.damage;
+        totalDefense += stats.defense;
+        totalSpeed += stats.speed;
+        totalMining += stats.mining;
         
         // 착용한 방어구 확인
         ItemStack[] armorContents = inventory.getArmorContents();
         for (ItemStack armor : armorContents) {
-            if (plugin.getItemManager().isCustomItem(armor)) {
-                Map<String, Double> stats = plugin.getItemManager().getItemStats(armor);
-                totalHealth += stats.getOrDefault("health", 0.0);
-                totalDamage += stats.getOrDefault("damage", 0.0);
-                totalDefense += stats.getOrDefault("defense", 0.0);
-                totalSpeed += stats.getOrDefault("speed", 0.0);
-                totalMining += stats.getOrDefault("mining", 0.0);
-            }
+            stats = plugin.getItemManager().getItemStatVector(armor);
+            totalHealth += stats.health;
+            totalDamage += stats.damage;
+            totalDefense += stats.defense;
+            totalSpeed += stats.speed;
+            totalMining += stats.mining;
         }
         
         // 스텟 적용
@@ -126,6 +144,10 @@ class MonsterEventListener implements Listener {
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         if (!plugin.isPluginEnabled()) return;
         
+        // 리로드 후 아직 갱신되지 않은 몬스터는 전투 전에 새 정의 적용
+        plugin.getMonsterManager().refreshIfOutdated(event.getEntity());
+        plugin.getMonsterManager().refreshIfOutdated(event.getDamager());
+        
         // 플레이어가 공격할 때 추가 데미지 적용
         if (event.getDamager() instanceof Player) {
             Player player = (Player) event.getDamager();
@@ -0,0 +1,103 @@
+package com.customrpg.plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 커스텀 장비 스텟 묶음 (변경 불가, 스텟이 같은 아이템끼리 한 객체를 공유)
+ * - 장비 스텟 합산 때 맵이나 키 객체를 만들지 않도록 다섯 스텟을 필드로 보관
+ * - 0 이하인 스텟은 0 (로어와 합산에서 무시하던 값)
+ * - 지문(fingerprint)은 아이템 ID와 스텟 값으로 계산, 아이템 PDC에 기록해서 해석 캐시의 키로 사용
+ */
+public final class ItemStats {
+    
+    static final String[] STAT_TYPES = {"health", "damage", "defense", "speed", "mining"};
+    
+    public static final ItemStats EMPTY = new ItemStats(null, 0, 0, 0, 0, 0);
+    
+    // 커스텀 아이템이 아니면 null
+    public final String itemId;
+    public final double health;
+    public final double damage;
+    public final double defense;
+    public final double speed;
+    public final double mining;
+    final long fingerprint;
+    
+    ItemStats(String itemId, double health, double damage, double defense, double speed, double mining) {
+        this.itemId = itemId;
+        this.health = positive(health);
+        this.damage = positive(damage);
+        this.defense = positive(defense);
+        this.speed = positive(speed);
+        this.mining = positive(mining);
+        this.fingerprint = itemId != null
+            ? fingerprint(itemId, this.health, this.damage, this.defense, this.speed, this.mining) : 0;
+    }
+    
+    /**
+     * 스텟 맵에서 생성 (알 수 없는 스텟 이름은 무시)
+     */
+    static ItemStats of(String itemId, Map<String, Double> stats) {
+        return new ItemStats(itemId,
+            stats.getOrDefault("health", 0.0), stats.getOrDefault("damage", 0.0),
+            stats.getOrDefault("defense", 0.0), stats.getOrDefault("speed", 0.0),
+            stats.getOrDefault("mining", 0.0));
+    }
+    
+    public boolean isEmpty() {
+        return health == 0 && damage == 0 && defense == 0 && speed == 0 && mining == 0;
+    }
+    
+    /**
+     * 예전 getItemStats 형식의 맵 (0보다 큰 스텟만, 호출할 때마다 새 맵)
+     */
+    public Map<String, Double> toMap() {
+        Map<String, Double> stats = new HashMap<>();
+        putIfPositive(stats, "health", health);
+        putIfPositive(stats, "damage", damage);
+        putIfPositive(stats, "defense", defense);
+        putIfPositive(stats, "speed", speed);
+        putIfPositive(stats, "mining", mining);
+        return stats;
+    }
+    
+    boolean sameValues(ItemStats other) {
+        return itemId.equals(other.itemId)
+            && health == other.health && damage == other.damage && defense == other.defense
+            && speed == other.speed && mining == other.mining;
+    }
+    
+    /**
+     * 아이템 ID와 스텟 값의 64비트 지문 (FNV-1a 후 비트 섞기)
+     */
+    static long fingerprint(String itemId, double health, double damage, double defense, double speed, double mining) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < itemId.length(); i++) {
+            hash = (hash ^ itemId.charAt(i)) * 0x100000001B3L;
+        }
+        hash = mix(hash ^ Double.doubleToLongBits(health));
+        hash = mix(hash ^ Double.doubleToLongBits(damage));
+        hash = mix(hash ^ Double.doubleToLongBits(defense));
+        hash = mix(hash ^ Double.doubleToLongBits(speed));
+        return mix(hash ^ Double.doubleToLongBits(mining));
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+    
+    private static double positive(double value) {
+        return value > 0 ? value : 0;
+    }
+    
+    private static void putIfPositive(Map<String, Double> stats, String statType, double value) {
+        if (value > 0) {
+            stats.put(statType, value);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.customrpg.plugin;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 장비 스텟 조회 할당량 측정 (/rpgmonitor itemstats)
+ * - 예전 방식(커스텀 아이템 확인 + getItemStats: 메타 3번 복사, 맵/배열/키를 매번 생성)과
+ *   getItemStatVector를 같은 아이템으로 실행해서 비교
+ * - 스레드별 할당 바이트(com.sun.management.ThreadMXBean)와 시간을 호출당 값으로 보고
+ *
+ * 실제 장비 스텟 갱신과 같은 조건이 되도록 메인 스레드에서 실행하되,
+ * 한 틱에 ITERATIONS_PER_TICK회씩 나눠서 서버 틱을 오래 막지 않음 (할당량/시간은 나눈 구간만 합산)
+ */
+public final class ItemStatsBenchmark {
+    
+    static final int ITERATIONS_PER_TICK = 500;
+    private static final String[] LEGACY_STAT_TYPES = {"health", "damage", "defense", "speed", "mining"};
+    // 측정 결과를 버리지 않도록 합계를 기록 (JIT가 호출을 없애지 않게)
+    private static volatile double sink;
+    
+    /**
+     * 측정 결과 (호출당 평균)
+     */
+    public static final class Result {
+        public final String name;
+        public final long calls;
+        public final double bytesPerCall;
+        public final double nanosPerCall;
+        
+        Result(String name, long calls, double bytesPerCall, double nanosPerCall) {
+            this.name = name;
+            this.calls = calls;
+            this.bytesPerCall = bytesPerCall;
+            this.nanosPerCall = nanosPerCall;
+        }
+    }
+    
+    private ItemStatsBenchmark() {}
+    
+    /**
+     * 스레드별 할당량 측정을 지원하는 JVM인지
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+    }
+    
+    /**
+     * 예전 방식과 캐시 방식을 여러 틱에 나눠서 측정하고, 끝나면 메인 스레드에서 결과 전달
+     * @param items 측정할 아이템 (손에 든 아이템 + 방어구)
+     * @param iterations 아이템 묶음 반복 횟수 (같은 횟수만큼 먼저 예열)
+     */
+    public static void run(CustomRPGPlugin plugin, ItemStack[] items, int iterations, Consumer<List<Result>> callback) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        
+        NamespacedKey customItemKey = new NamespacedKey(plugin, "custom_item_id");
+        CustomItemManager itemManager = plugin.getItemManager();
+        
+        String[] names = {"예전 방식 (getItemStats)", "캐시 (getItemStatVector)"};
+        List<ToDoubleFunction<ItemStack>> calls = new ArrayList<>();
+        calls.add(item -> {
+            if (!legacyIsCustomItem(customItemKey, item)) return 0;
+            Map<String, Double> stats = legacyItemStats(plugin, customItemKey, item);
+            return stats.getOrDefault("health", 0.0) + stats.getOrDefault("damage", 0.0)
+                + stats.getOrDefault("defense", 0.0) + stats.getOrDefault("speed", 0.0)
+                + stats.getOrDefault("mining", 0.0);
+        });
+        calls.add(item -> {
+            ItemStats stats = itemManager.getItemStatVector(item);
+            return stats.health + stats.damage + stats.defense + stats.speed + stats.mining;
+        });
+        
+        new BukkitRunnable() {
+            private final List<Result> results = new ArrayList<>();
+            private final long threadId = Thread.currentThread().getId();
+            private int method = 0;
+            private boolean warmingUp = true;
+            private int done = 0;
+            private long allocated = 0;
+            private long elapsed = 0;
+            private double total = 0;
+            
+            @Override
+            public void run() {
+                ToDoubleFunction<ItemStack> call = calls.get(method);
+                int slice = Math.min(ITERATIONS_PER_TICK, iterations - done);
+                
+                long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                for (int i = 0; i < slice; i++) {
+                    for (ItemStack item : items) {
+                        total += call.applyAsDouble(item);
+                    }
+                }
+                if (!warmingUp) {
+                    elapsed += System.nanoTime() - start;
+                    allocated += threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+                }
+                
+                done += slice;
+                if (done < iterations) {
+                    return;
+                }
+                
+                // 예열이 끝나면 같은 횟수를 측정, 측정이 끝나면 다음 방식
+                done = 0;
+                if (warmingUp) {
+                    warmingUp = false;
+                    return;
+                }
+                
+                long callCount = (long) iterations * items.length;
+                results.add(new Result(names[method], callCount, (double) allocated / callCount, (double) elapsed / callCount));
+                allocated = 0;
+                elapsed = 0;
+                warmingUp = true;
+                method++;
+                
+                if (method == calls.size()) {
+                    cancel();
+                    sink = total;
+                    callback.accept(results);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+    
+    /**
+     * 예전 CustomItemManager.isCustomItem
+     */
+    private static boolean legacyIsCustomItem(NamespacedKey customItemKey, ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return false;
+        return item.getItemMeta().getPersistentDataContainer().has(customItemKey, PersistentDataType.STRING);
+    }
+    
+    /**
+     * 예전 CustomItemManager.getItemStats
+     */
+    private static Map<String, Double> legacyItemStats(CustomRPGPlugin plugin, NamespacedKey customItemKey, ItemStack item) {
+        Map<String, Double> stats = new HashMap<>();
+        if (!legacyIsCustomItem(customItemKey, item)) return stats;
+        
+        ItemMeta meta = item.getItemMeta();
+        // 예전 코드처럼 호출마다 배열 생성
+        String[] statTypes = LEGACY_STAT_TYPES.clone();
+        
+        for (String statType : statTypes) {
+            NamespacedKey statKey = new NamespacedKey(plugin, "stat_" + statType);
+            if (meta.getPersistentDataContainer().has(statKey, PersistentDataType.DOUBLE)) {
+                double value = meta.getPersistentDataContainer().get(statKey, PersistentDataType.DOUBLE);
+                if (value > 0) {
+                    stats.put(statType, value);
+                }
+            }
+        }
+        
+        return stats;
+    }
+}
@@ -0,0 +1,255 @@
+package com.customrpg.plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * 점수 순위표 (순위 조회가 가능한 스킵 리스트)
+ * - 각 링크에 건너뛰는 노드 수(span)를 저장해서 순위 조회/순위로 찾기가 O(log n)
+ * - 점수가 높은 순, 같으면 UUID 순
+ * - 점수 변경은 삭제 후 삽입 (O(log n)), 어느 스레드에서나 호출 가능
+ */
+final class Leaderboard {
+    
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+    
+    /**
+     * 순위표 항목
+     */
+    static final class Entry {
+        final UUID playerId;
+        final long score;
+        final int rank;
+        
+        Entry(UUID playerId, long score, int rank) {
+            this.playerId = playerId;
+            this.score = score;
+            this.rank = rank;
+        }
+    }
+    
+    private static final class Node {
+        final UUID playerId;
+        final long score;
+        final Node[] next;
+        final int[] span;
+        
+        Node(UUID playerId, long score, int level) {
+            this.playerId = playerId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+    
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<UUID, Long> scores = new HashMap<>();
+    private int level = 1;
+    private int size;
+    
+    /**
+     * 점수 설정 (0 이하면 순위에서 제외)
+     */
+    synchronized void set(UUID playerId, long score) {
+        Long current = scores.get(playerId);
+        if (current != null) {
+            if (current == score) {
+                return;
+            }
+            delete(playerId, current);
+            scores.remove(playerId);
+        }
+        if (score > 0) {
+            insert(playerId, score);
+            scores.put(playerId, score);
+        }
+    }
+    
+    /**
+     * 잠금 안에서 읽은 현재 값으로 점수 설정
+     * - 여러 스레드가 같은 잔액을 바꿔도 마지막으로 반영된 값이 항상 최신 잔액
+     */
+    synchronized void refresh(UUID playerId, LongSupplier score) {
+        set(playerId, score.getAsLong());
+    }
+    
+    /**
+     * 점수 증가
+     * @return 증가 후 점수
+     */
+    synchronized long increment(UUID playerId, long amount) {
+        long score = getScore(playerId) + amount;
+        set(playerId, score);
+        return score;
+    }
+    
+    synchronized long getScore(UUID playerId) {
+        Long score = scores.get(playerId);
+        return score != null ? score : 0;
+    }
+    
+    synchronized int size() {
+        return size;
+    }
+    
+    synchronized Map<UUID, Long> copyScores() {
+        return new HashMap<>(scores);
+    }
+    
+    synchronized void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        scores.clear();
+        level = 1;
+        size = 0;
+    }
+    
+    /**
+     * 순위 (1부터, 순위표에 없으면 0)
+     */
+    synchronized int rankOf(UUID playerId) {
+        Long score = scores.get(playerId);
+        if (score == null) {
+            return 0;
+        }
+        
+        int rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i], score, playerId) <= 0) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node != head && node.playerId.equals(playerId)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * 순위 구간 조회
+     * @param fromRank 시작 순위 (1부터)
+     * @param count 최대 개수
+     */
+    synchronized List<Entry> range(int fromRank, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size - fromRank + 1)));
+        Node node = nodeAt(fromRank);
+        for (int rank = fromRank; node != null && entries.size() < count; rank++) {
+            entries.add(new Entry(node.playerId, node.score, rank));
+            node = node.next[0];
+        }
+        return entries;
+    }
+    
+    private Node nodeAt(int rank) {
+        if (rank < 1 || rank > size) {
+            return null;
+        }
+        
+        int traversed = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= rank) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == rank) {
+                return node;
+            }
+        }
+        return null;
+    }
+    
+    private void insert(UUID playerId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && compare(node.next[i], score, playerId) < 0) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+        
+        Node inserted = new Node(playerId, score, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+    
+    private void delete(UUID playerId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i], score, playerId) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        
+        Node target = node.next[0];
+        if (target == null || target.score != score || !target.playerId.equals(playerId)) {
+            return;
+        }
+        
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+    
+    /**
+     * 노드가 (score, playerId)보다 앞 순위면 음수
+     */
+    private static int compare(Node node, long score, UUID playerId) {
+        if (node.score != score) {
+            return node.score > score ? -1 : 1;
+        }
+        return node.playerId.compareTo(playerId);
+    }
+    
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            level++;
+        }
+        return level;
+    }
+}
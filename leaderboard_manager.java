@@ -0,0 +1,494 @@
+package com.customrpg.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * 코인/스텟 코인/처치 수 순위표 (leaderboards.dat)
+ * - 잔액이나 처치 수가 바뀔 때마다 해당 플레이어만 갱신 (O(log n)), 조회 때 정렬하지 않음
+ * - 처치 수는 플레이어 데이터가 아니라 이 파일에 저장 (플레이어 데이터 형식은 그대로)
+ * - 처치마다 kills-<n>.log에 uuid(16)를 이어 쓰고, 저장한 파일에 반영된 기록은 삭제 (비정상 종료에도 처치 수 유지)
+ * - 주기적으로 저장하고, 정상 종료 때 저장한 파일에만 종료 표시를 남김
+ * - 종료 표시가 없으면 (비정상 종료) 코인 순위표는 시작 시 저장소에서 다시 만듦
+ * - 시작 때 읽은 파일을 leaderboards.dat.bak으로 남겨서, 파일이 손상되면 처치 수는 백업에서 복구
+ *
+ * 파일: magic(4) + version(2) + 정상 종료(1) + 반영 안 된 첫 처치 기록 번호(8) + 이름 목록 + 순위표별 (uuid, 점수) 목록
+ */
+public class LeaderboardManager {
+    
+    private static final int MAGIC = 0x43524C42; // "CRLB"
+    private static final short VERSION = 2;
+    private static final int CLEAN_FLAG_OFFSET = 6;
+    private static final String FILE_NAME = "leaderboards.dat";
+    private static final String BACKUP_FILE_NAME = "leaderboards.dat.bak";
+    private static final String KILL_LOG_PREFIX = "kills-";
+    private static final String KILL_LOG_SUFFIX = ".log";
+    
+    /**
+     * 순위표 종류
+     */
+    public enum Board {
+        COINS, STAT_COINS, KILLS;
+        
+        static Board of(CoinLedger.Currency currency) {
+            return currency == CoinLedger.Currency.COINS ? COINS : STAT_COINS;
+        }
+    }
+    
+    /**
+     * 순위표 항목
+     */
+    public static final class Entry {
+        public final int rank;
+        public final UUID playerId;
+        // 알 수 없으면 null
+        public final String name;
+        public final long score;
+        
+        Entry(int rank, UUID playerId, String name, long score) {
+            this.rank = rank;
+            this.playerId = playerId;
+            this.name = name;
+            this.score = score;
+        }
+    }
+    
+    private final File directory;
+    private final File file;
+    private final Logger logger;
+    private final Leaderboard[] boards = new Leaderboard[Board.values().length];
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Object saveLock = new Object();
+    private boolean needsRebuild;
+    
+    // 처치 기록 (처치 순위표 갱신과 기록은 같은 잠금 안에서)
+    private final Object killLock = new Object();
+    private FileChannel killLog;
+    private long killGeneration;
+    
+    LeaderboardManager(File dataFolder, Logger logger) {
+        this.directory = dataFolder;
+        this.file = new File(dataFolder, FILE_NAME);
+        this.logger = logger;
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Leaderboard();
+        }
+        load();
+    }
+    
+    // ==================== 갱신 (어느 스레드에서나 호출 가능) ====================
+    
+    /**
+     * 잔액이 바뀐 뒤 호출
+     * - 순위표 잠금 안에서 현재 잔액을 다시 읽으므로 동시에 바뀌어도 마지막 값이 남음
+     */
+    void updateBalance(UUID playerId, PlayerStatsManager.PlayerStats stats, CoinLedger.Currency currency) {
+        boards[Board.of(currency).ordinal()].refresh(playerId, () -> CoinLedger.balance(stats, currency));
+        dirty.set(true);
+    }
+    
+    /**
+     * 저장소에 직접 복원한 잔액 반영
+     */
+    void setBalances(UUID playerId, int coins, int statCoins) {
+        boards[Board.COINS.ordinal()].set(playerId, coins);
+        boards[Board.STAT_COINS.ordinal()].set(playerId, statCoins);
+        dirty.set(true);
+    }
+    
+    /**
+     * 처치 수 1 증가
+     * @return 증가 후 처치 수
+     */
+    long addKill(UUID playerId, String name) {
+        setName(playerId, name);
+        long kills;
+        synchronized (killLock) {
+            kills = boards[Board.KILLS.ordinal()].increment(playerId, 1);
+            try {
+                appendKill(playerId);
+            } catch (IOException e) {
+                logger.warning("처치 기록 실패 (다음 순위표 저장 때 반영): " + e.getMessage());
+            }
+        }
+        dirty.set(true);
+        return kills;
+    }
+    
+    /**
+     * 처치 기록에 이어 씀 (fsync는 순위표 저장 때, 프로세스가 죽어도 OS에 넘긴 기록은 남음)
+     */
+    private void appendKill(UUID playerId) throws IOException {
+        if (killLog == null) {
+            killLog = FileChannel.open(killLogFile(killGeneration).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(playerId.getMostSignificantBits()).putLong(playerId.getLeastSignificantBits());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            killLog.write(buffer);
+        }
+    }
+    
+    void setName(UUID playerId, String name) {
+        if (name != null && !name.equals(names.put(playerId, name))) {
+            dirty.set(true);
+        }
+    }
+    
+    // ==================== 조회 (O(log n), 어느 스레드에서나 호출 가능) ====================
+    
+    /**
+     * 순위 (1부터, 점수가 0이면 0)
+     */
+    public int getRank(Board board, UUID playerId) {
+        return boards[board.ordinal()].rankOf(playerId);
+    }
+    
+    public long getScore(Board board, UUID playerId) {
+        return boards[board.ordinal()].getScore(playerId);
+    }
+    
+    /**
+     * 순위 구간 조회
+     * @param fromRank 시작 순위 (1부터)
+     * @param count 최대 개수
+     */
+    public List<Entry> getRange(Board board, int fromRank, int count) {
+        List<Leaderboard.Entry> range = boards[board.ordinal()].range(fromRank, count);
+        List<Entry> entries = new ArrayList<>(range.size());
+        for (Leaderboard.Entry entry : range) {
+            entries.add(new Entry(entry.rank, entry.playerId, names.get(entry.playerId), entry.score));
+        }
+        return entries;
+    }
+    
+    /**
+     * 순위표에 오른 플레이어 수 (점수가 0보다 큰 플레이어)
+     */
+    public int size(Board board) {
+        return boards[board.ordinal()].size();
+    }
+    
+    public String getName(UUID playerId) {
+        return names.get(playerId);
+    }
+    
+    /**
+     * 이름으로 플레이어 찾기 (대소문자 무시, 모든 이름을 훑으므로 자주 부르지 않는 조회용)
+     * @return 모르는 이름이면 null
+     */
+    public UUID findPlayerId(String name) {
+        for (Map.Entry<UUID, String> entry : names.entrySet()) {
+            if (entry.getValue().equalsIgnoreCase(name)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+    
+    // ==================== 저장/복구 ====================
+    
+    /**
+     * 파일이 없거나 비정상 종료 후라서 코인 순위표를 저장소에서 다시 만들어야 하는지
+     */
+    boolean needsRebuild() {
+        return needsRebuild;
+    }
+    
+    /**
+     * 저장소 전체를 한 번 읽어서 코인 순위표 재생성 (시작 시, 플레이어가 접속하기 전)
+     * - 처치 수는 저장소에 없으므로 그대로 둠
+     */
+    void rebuildBalances(PlayerDataStore store) throws IOException {
+        long start = System.currentTimeMillis();
+        Leaderboard coins = boards[Board.COINS.ordinal()];
+        Leaderboard statCoins = boards[Board.STAT_COINS.ordinal()];
+        coins.clear();
+        statCoins.clear();
+        
+        int[] count = new int[1];
+        store.forEach(record -> {
+            coins.set(record.playerId, record.stats.coins);
+            statCoins.set(record.playerId, record.stats.statCoins);
+            if (record.name != null) {
+                names.putIfAbsent(record.playerId, record.name);
+            }
+            count[0]++;
+        });
+        
+        needsRebuild = false;
+        dirty.set(true);
+        logger.info("순위표 재생성 완료: 플레이어 " + count[0] + "명 ("
+            + (System.currentTimeMillis() - start) + "ms)");
+    }
+    
+    /**
+     * 바뀐 내용이 있으면 저장 (비동기 타이머)
+     */
+    void saveIfDirty() {
+        if (dirty.get()) {
+            save(false);
+        }
+    }
+    
+    /**
+     * 순위표 저장
+     * @param clean 정상 종료 시 저장 (다음 시작 때 재생성하지 않음)
+     */
+    void save(boolean clean) {
+        synchronized (saveLock) {
+            dirty.set(false);
+            
+            // 처치 수 복사와 기록 교체를 같은 잠금 안에서: 이전 기록의 처치는 모두 복사본에 들어 있음
+            Map<UUID, Long> kills;
+            long killLogsFrom;
+            synchronized (killLock) {
+                kills = boards[Board.KILLS.ordinal()].copyScores();
+                if (killLog != null) {
+                    try {
+                        killLog.force(false);
+                        killLog.close();
+                    } catch (IOException e) {
+                        logger.warning("처치 기록 닫기 실패: " + e.getMessage());
+                    }
+                    killLog = null;
+                    killGeneration++;
+                }
+                killLogsFrom = killGeneration;
+            }
+            
+            try {
+                AtomicFiles.write(file, encode(clean, kills, killLogsFrom));
+            } catch (IOException e) {
+                // 처치 기록은 지우지 않았으므로 다음 시작 때 이전 파일과 함께 재생됨
+                dirty.set(true);
+                logger.warning("순위표 저장 실패: " + e.getMessage());
+                return;
+            }
+            deleteKillLogs(killLogsFrom);
+        }
+    }
+    
+    private byte[] encode(boolean clean, Map<UUID, Long> kills, long killLogsFrom) throws IOException {
+        // 순위표마다 잠금 안에서 복사만 하고 직렬화는 잠금 밖에서
+        Map<UUID, String> nameSnapshot = new HashMap<>(names);
+        List<Map<UUID, Long>> scoreSnapshots = new ArrayList<>(boards.length);
+        for (Board board : Board.values()) {
+            scoreSnapshots.add(board == Board.KILLS ? kills : boards[board.ordinal()].copyScores());
+        }
+        
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeBoolean(clean);
+        out.writeLong(killLogsFrom);
+        
+        out.writeInt(nameSnapshot.size());
+        for (Map.Entry<UUID, String> entry : nameSnapshot.entrySet()) {
+            writeUuid(out, entry.getKey());
+            byte[] name = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        
+        out.writeByte(scoreSnapshots.size());
+        for (Map<UUID, Long> scores : scoreSnapshots) {
+            out.writeInt(scores.size());
+            for (Map.Entry<UUID, Long> entry : scores.entrySet()) {
+                writeUuid(out, entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        out.flush();
+        return raw.toByteArray();
+    }
+    
+    private void load() {
+        long killLogsFrom = 0;
+        if (!file.isFile()) {
+            needsRebuild = true;
+        } else {
+            try {
+                killLogsFrom = read(file, true);
+                try {
+                    Files.copy(file.toPath(), new File(directory, BACKUP_FILE_NAME).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    logger.warning("순위표 백업 실패: " + e.getMessage());
+                }
+            } catch (IOException | BufferUnderflowException e) {
+                killLogsFrom = loadBackup(e);
+            }
+        }
+        replayKillLogs(killLogsFrom);
+    }
+    
+    /**
+     * 손상된 순위표 대신 시작 때 남긴 백업을 읽음 (코인 순위표는 저장소에서 다시 만듦)
+     * @return 백업에 반영되지 않은 첫 처치 기록 번호
+     */
+    private long loadBackup(Exception cause) {
+        clear();
+        needsRebuild = true;
+        File backup = new File(directory, BACKUP_FILE_NAME);
+        if (!backup.isFile()) {
+            logger.warning("순위표 파일을 읽을 수 없어서 다시 만듭니다: " + cause.getMessage());
+            return 0;
+        }
+        
+        try {
+            long killLogsFrom = read(backup, false);
+            needsRebuild = true;
+            logger.warning("순위표 파일을 읽을 수 없어서 백업에서 처치 수를 복구합니다: " + cause.getMessage());
+            return killLogsFrom;
+        } catch (IOException | BufferUnderflowException e) {
+            clear();
+            logger.warning("순위표 파일과 백업을 읽을 수 없어서 다시 만듭니다: " + cause.getMessage());
+            return 0;
+        }
+    }
+    
+    private void clear() {
+        for (Leaderboard board : boards) {
+            board.clear();
+        }
+        names.clear();
+    }
+    
+    /**
+     * 순위표 파일 읽기
+     * @param primary leaderboards.dat이면 true (종료 표시를 지움)
+     * @return 파일에 반영되지 않은 첫 처치 기록 번호
+     */
+    private long read(File source, boolean primary) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(source.toPath()));
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("순위표 파일 형식이 아닙니다: " + source.getName());
+        }
+        short version = buffer.getShort();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("지원하지 않는 순위표 버전: " + version);
+        }
+        boolean clean = buffer.get() != 0;
+        // 버전 1은 처치 기록이 없던 형식
+        long killLogsFrom = version >= 2 ? buffer.getLong() : 0;
+        
+        int nameCount = buffer.getInt();
+        for (int i = 0; i < nameCount; i++) {
+            UUID playerId = readUuid(buffer);
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            names.put(playerId, new String(name, StandardCharsets.UTF_8));
+        }
+        
+        int boardCount = Math.min(buffer.get() & 0xFF, boards.length);
+        for (int i = 0; i < boardCount; i++) {
+            int count = buffer.getInt();
+            for (int j = 0; j < count; j++) {
+                boards[i].set(readUuid(buffer), buffer.getLong());
+            }
+        }
+        
+        needsRebuild = !clean;
+        if (primary && clean) {
+            // 다음 정상 종료 전에 서버가 멈추면 재생성하도록 종료 표시를 지움
+            try (RandomAccessFile out = new RandomAccessFile(source, "rw")) {
+                out.seek(CLEAN_FLAG_OFFSET);
+                out.writeBoolean(false);
+            }
+        }
+        return killLogsFrom;
+    }
+    
+    /**
+     * 순위표 파일에 반영되지 않은 처치 기록을 순서대로 재생 (끝이 잘린 항목은 무시)
+     * - 재생한 기록은 다음 저장 때 삭제되고, 새 처치는 다음 번호의 기록에 씀
+     */
+    private void replayKillLogs(long killLogsFrom) {
+        killGeneration = killLogsFrom;
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(KILL_LOG_PREFIX) && name.endsWith(KILL_LOG_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        
+        TreeMap<Long, File> logs = new TreeMap<>();
+        for (File log : files) {
+            String number = log.getName().substring(KILL_LOG_PREFIX.length(), log.getName().length() - KILL_LOG_SUFFIX.length());
+            try {
+                logs.put(Long.parseLong(number), log);
+            } catch (NumberFormatException e) {
+                // 다른 파일
+            }
+        }
+        
+        int replayed = 0;
+        Leaderboard kills = boards[Board.KILLS.ordinal()];
+        for (Map.Entry<Long, File> entry : logs.tailMap(killLogsFrom).entrySet()) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(entry.getValue().toPath()));
+                while (buffer.remaining() >= 16) {
+                    kills.increment(readUuid(buffer), 1);
+                    replayed++;
+                }
+            } catch (IOException e) {
+                logger.warning("처치 기록을 읽을 수 없습니다 (" + entry.getValue().getName() + "): " + e.getMessage());
+            }
+            killGeneration = entry.getKey() + 1;
+        }
+        if (replayed > 0) {
+            dirty.set(true);
+            logger.info("처치 기록 재생: " + replayed + "건");
+        }
+    }
+    
+    /**
+     * 순위표 파일에 반영된 (번호가 killLogsFrom보다 작은) 처치 기록 삭제
+     */
+    private void deleteKillLogs(long killLogsFrom) {
+        for (long generation = killLogsFrom - 1; generation >= 0; generation--) {
+            File log = killLogFile(generation);
+            if (!log.exists()) {
+                break;
+            }
+            if (!log.delete()) {
+                logger.warning("처치 기록 삭제 실패: " + log.getName());
+            }
+        }
+    }
+    
+    private File killLogFile(long generation) {
+        return new File(directory, KILL_LOG_PREFIX + generation + KILL_LOG_SUFFIX);
+    }
+    
+    private static void writeUuid(DataOutputStream out, UUID playerId) throws IOException {
+        out.writeLong(playerId.getMostSignificantBits());
+        out.writeLong(playerId.getLeastSignificantBits());
+    }
+    
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
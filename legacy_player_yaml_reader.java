@@ -0,0 +1,198 @@
+package com.customrpg.plugin;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * players.yml 스트리밍 리더
+ * - YamlConfiguration처럼 전체 트리를 메모리에 올리지 않고 한 줄씩 읽음
+ * - "players.<uuid>.<필드>: <값>" 형식(저장기가 기록하는 형식)만 지원
+ */
+final class LegacyPlayerYamlReader implements Closeable {
+    
+    private final BufferedReader reader;
+    private boolean inPlayersSection = false;
+    private boolean finished = false;
+    private int playerIndent = -1;
+    private String pendingKey;
+    private int skippedCount = 0;
+    private long lineNumber = 0;
+    
+    LegacyPlayerYamlReader(File file) throws IOException {
+        this.reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 다음 플레이어 레코드
+     * @return 레코드 (더 이상 없으면 null)
+     */
+    PlayerDataStore.Record next() throws IOException {
+        while (!finished) {
+            String key = pendingKey != null ? pendingKey : readPlayerKey();
+            pendingKey = null;
+            if (key == null) {
+                return null;
+            }
+            
+            Map<String, String> fields = readFields();
+            
+            UUID playerId;
+            try {
+                playerId = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                skippedCount++;
+                continue;
+            }
+            
+            return new PlayerDataStore.Record(playerId, fields.get("name"), new PlayerStatsManager.PlayerStats(
+                parseDouble(fields.get("health")),
+                parseDouble(fields.get("damage")),
+                parseDouble(fields.get("defense")),
+                parseDouble(fields.get("speed")),
+                parseDouble(fields.get("mining")),
+                (int) parseDouble(fields.get("statCoins")),
+                (int) parseDouble(fields.get("coins"))
+            ));
+        }
+        return null;
+    }
+    
+    int getSkippedCount() {
+        return skippedCount;
+    }
+    
+    long getLineNumber() {
+        return lineNumber;
+    }
+    
+    /**
+     * players 섹션에서 다음 플레이어 키 줄을 찾음
+     */
+    private String readPlayerKey() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            int indent = indentOf(line);
+            
+            if (!inPlayersSection) {
+                if (indent == 0 && line.trim().equals("players:")) {
+                    inPlayersSection = true;
+                }
+                continue;
+            }
+            
+            if (indent == 0) {
+                // players 섹션 종료
+                finished = true;
+                return null;
+            }
+            
+            if (playerIndent < 0) {
+                playerIndent = indent;
+            }
+            if (indent != playerIndent) {
+                throw new IOException("지원하지 않는 players.yml 형식 (줄 " + lineNumber + ")");
+            }
+            
+            return unquote(stripColon(line.trim()));
+        }
+        
+        finished = true;
+        return null;
+    }
+    
+    /**
+     * 현재 플레이어의 필드들을 읽음 (다음 플레이어 키를 만나면 보관 후 종료)
+     */
+    private Map<String, String> readFields() throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        String line;
+        int fieldIndent = -1;
+        
+        while ((line = readLine()) != null) {
+            int indent = indentOf(line);
+            
+            if (indent == 0) {
+                finished = true;
+                break;
+            }
+            if (indent == playerIndent) {
+                pendingKey = unquote(stripColon(line.trim()));
+                break;
+            }
+            
+            if (fieldIndent < 0) {
+                fieldIndent = indent;
+            }
+            
+            String trimmed = line.trim();
+            int colon = trimmed.indexOf(": ");
+            if (indent != fieldIndent || colon < 0) {
+                throw new IOException("지원하지 않는 players.yml 형식 (줄 " + lineNumber + ")");
+            }
+            
+            fields.put(unquote(trimmed.substring(0, colon)), unquote(trimmed.substring(colon + 2).trim()));
+        }
+        
+        if (line == null) {
+            finished = true;
+        }
+        return fields;
+    }
+    
+    private String readLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                return line;
+            }
+        }
+        return null;
+    }
+    
+    private static int indentOf(String line) {
+        int indent = 0;
+        while (indent < line.length() && line.charAt(indent) == ' ') {
+            indent++;
+        }
+        return indent;
+    }
+    
+    private static String stripColon(String key) {
+        return key.endsWith(":") ? key.substring(0, key.length() - 1) : key;
+    }
+    
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+        }
+        return value;
+    }
+    
+    private static double parseDouble(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
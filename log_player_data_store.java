@@ -0,0 +1,457 @@
+package com.customrpg.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * 로그 구조 저장소 (playerlog/)
+ * - 저장할 때마다 레코드를 세그먼트 파일 끝에 이어 쓰기만 함 (순차 쓰기)
+ * - 세그먼트가 일정 개수 쌓이면 백그라운드에서 스냅샷으로 합치고 옛 세그먼트 삭제
+ * - 시작 시 최신 스냅샷을 읽고 그 이후 세그먼트만 재생
+ *
+ * 엔트리: length(int) + payload + crc32(int)
+ * payload: uuid(16) + 스텟 5개(double) + 코인 2개(int) + 이름 길이(1) + 이름
+ * 삭제 표시(tombstone) payload: uuid(16)만 기록, 재생 시 해당 플레이어 제거
+ * 끝이 잘린 엔트리(쓰는 도중 종료)는 재생 시 잘라내고 무시
+ */
+class LogPlayerDataStore implements PlayerDataStore {
+    
+    private static final int SEGMENT_MAGIC = 0x4352504C; // "CRPL"
+    private static final int SNAPSHOT_MAGIC = 0x43525053; // "CRPS"
+    private static final short VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 6;
+    private static final int MAX_PAYLOAD_SIZE = 1024;
+    private static final int TOMBSTONE_SIZE = 16;
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    private final File directory;
+    private final Logger logger;
+    private final long segmentSize;
+    private final int compactAfter;
+    
+    // 플레이어별 최신 레코드 (로그 전체를 재생한 결과)
+    private final Map<UUID, Record> latestRecords = new ConcurrentHashMap<>();
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    
+    private FileChannel segment;
+    private long segmentId;
+    private long segmentBytes;
+    private volatile long snapshotSegmentId; // 이 번호까지의 세그먼트는 스냅샷에 포함됨
+    
+    LogPlayerDataStore(File directory, long segmentSize, int compactAfter, Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+        this.segmentSize = Math.max(64 * 1024, segmentSize);
+        this.compactAfter = Math.max(1, compactAfter);
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-LogCompactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        directory.mkdirs();
+        
+        long startTime = System.currentTimeMillis();
+        snapshotSegmentId = readSnapshot();
+        
+        // 스냅샷 이후의 세그먼트를 순서대로 재생
+        long lastSegmentId = snapshotSegmentId;
+        int replayed = 0;
+        for (Map.Entry<Long, File> entry : listSegments().entrySet()) {
+            if (entry.getKey() <= snapshotSegmentId) {
+                // 스냅샷 교체 직후 삭제되지 못한 세그먼트
+                Files.deleteIfExists(entry.getValue().toPath());
+                continue;
+            }
+            replaySegment(entry.getValue());
+            lastSegmentId = entry.getKey();
+            replayed++;
+        }
+        
+        openSegment(lastSegmentId + 1);
+        logger.info("로그 저장소 로드: " + latestRecords.size() + "명, 세그먼트 " + replayed + "개 재생 ("
+            + (System.currentTimeMillis() - startTime) + "ms)");
+        
+        if (replayed >= this.compactAfter) {
+            scheduleCompaction();
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "log";
+    }
+    
+    @Override
+    public PlayerStatsManager.PlayerStats load(UUID playerId) {
+        Record record = latestRecords.get(playerId);
+        return record != null ? record.stats.copy() : null;
+    }
+    
+    @Override
+    public long write(Collection<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Record record : records) {
+            writeEntry(out, record);
+        }
+        
+        append(bytes.toByteArray(), () -> {
+            for (Record record : records) {
+                apply(record);
+            }
+        });
+        return bytes.size();
+    }
+    
+    @Override
+    public void remove(Collection<UUID> playerIds) throws IOException {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(playerIds.size() * 24);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (UUID playerId : playerIds) {
+            writeTombstone(out, playerId);
+        }
+        
+        append(bytes.toByteArray(), () -> {
+            for (UUID playerId : playerIds) {
+                latestRecords.remove(playerId);
+            }
+        });
+    }
+    
+    /**
+     * 현재 세그먼트 끝에 기록하고 메모리 상태 반영
+     * - 실패하면 기록 전 위치로 잘라냄 (재시도가 잘린 엔트리 뒤에 붙으면 재생 때 함께 버려짐)
+     * - 잘라내지도 못하면 새 세그먼트로 넘어감 (재생은 세그먼트마다 잘린 끝부분만 버림)
+     */
+    private void append(byte[] data, Runnable applyChanges) throws IOException {
+        boolean compactNeeded = false;
+        synchronized (this) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            try {
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                try {
+                    segment.truncate(segmentBytes);
+                    segment.position(segmentBytes);
+                } catch (IOException truncateError) {
+                    e.addSuppressed(truncateError);
+                    try {
+                        openSegment(segmentId + 1);
+                    } catch (IOException rollError) {
+                        e.addSuppressed(rollError);
+                    }
+                }
+                throw e;
+            }
+            segmentBytes += data.length;
+            
+            // 스냅샷이 기록된 로그와 어긋나지 않도록 같은 잠금 안에서 반영
+            applyChanges.run();
+            
+            if (segmentBytes >= segmentSize) {
+                openSegment(segmentId + 1);
+                compactNeeded = segmentId - snapshotSegmentId - 1 >= compactAfter;
+            }
+        }
+        
+        if (compactNeeded) {
+            scheduleCompaction();
+        }
+    }
+    
+    @Override
+    public void forEach(Consumer<Record> consumer) {
+        new ArrayList<>(latestRecords.values()).forEach(consumer);
+    }
+    
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        synchronized (this) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                // 닫는 중 오류는 무시
+            }
+        }
+    }
+    
+    private void apply(Record record) {
+        if (record.stats == null) {
+            // 삭제 표시
+            latestRecords.remove(record.playerId);
+            return;
+        }
+        if (record.name == null) {
+            // 이름이 없는 레코드는 기존 이름 유지
+            Record previous = latestRecords.get(record.playerId);
+            if (previous != null && previous.name != null) {
+                record = new Record(record.playerId, previous.name, record.stats);
+            }
+        }
+        latestRecords.put(record.playerId, record);
+    }
+    
+    private void scheduleCompaction() {
+        if (compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+    
+    /**
+     * 현재 세그먼트를 닫고, 그 시점까지의 최신 레코드를 스냅샷으로 저장한 뒤 옛 세그먼트 삭제
+     */
+    private void compact() {
+        try {
+            long sealedSegmentId;
+            List<Record> records;
+            synchronized (this) {
+                openSegment(segmentId + 1);
+                sealedSegmentId = segmentId - 1;
+                records = new ArrayList<>(latestRecords.values());
+            }
+            
+            long startTime = System.currentTimeMillis();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 96 + 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(sealedSegmentId);
+            out.writeInt(records.size());
+            for (Record record : records) {
+                writeEntry(out, record);
+            }
+            AtomicFiles.write(new File(directory, SNAPSHOT_FILE), bytes.toByteArray());
+            snapshotSegmentId = sealedSegmentId;
+            
+            int deleted = 0;
+            for (Map.Entry<Long, File> entry : listSegments().entrySet()) {
+                if (entry.getKey() <= sealedSegmentId && entry.getValue().delete()) {
+                    deleted++;
+                }
+            }
+            
+            logger.info("로그 저장소 압축 완료: " + records.size() + "명, 세그먼트 " + deleted + "개 정리 ("
+                + (System.currentTimeMillis() - startTime) + "ms)");
+        } catch (IOException e) {
+            logger.warning("로그 저장소 압축 실패: " + e.getMessage());
+        } finally {
+            compacting.set(false);
+        }
+    }
+    
+    private void openSegment(long id) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        
+        File file = new File(directory, String.format("%016d", id) + SEGMENT_SUFFIX);
+        segment = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(SEGMENT_MAGIC);
+        header.putShort(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        
+        segmentId = id;
+        segmentBytes = SEGMENT_HEADER_SIZE;
+    }
+    
+    private TreeMap<Long, File> listSegments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return segments;
+        }
+        
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            } catch (NumberFormatException e) {
+                // 세그먼트가 아닌 파일
+            }
+        }
+        return segments;
+    }
+    
+    /**
+     * 스냅샷 읽기
+     * @return 스냅샷에 포함된 마지막 세그먼트 번호 (스냅샷이 없으면 0)
+     */
+    private long readSnapshot() throws IOException {
+        File file = new File(directory, SNAPSHOT_FILE);
+        if (!file.isFile()) {
+            return 0;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < 18 || buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("스냅샷 형식이 아닙니다: " + file.getName());
+        }
+        short version = buffer.getShort();
+        if (version > VERSION) {
+            throw new IOException("더 새로운 버전의 스냅샷입니다 (v" + version + ")");
+        }
+        
+        long lastSegmentId = buffer.getLong();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            Record record = readEntry(buffer);
+            if (record == null) {
+                throw new IOException("스냅샷이 손상되었습니다: " + file.getName());
+            }
+            latestRecords.put(record.playerId, record);
+        }
+        return lastSegmentId;
+    }
+    
+    private void replaySegment(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != SEGMENT_MAGIC) {
+            logger.warning("세그먼트 형식이 아니어서 건너뜀: " + file.getName());
+            return;
+        }
+        buffer.getShort();
+        
+        while (buffer.hasRemaining()) {
+            int position = buffer.position();
+            Record record = readEntry(buffer);
+            if (record == null) {
+                // 쓰는 도중 종료되어 끝이 잘린 엔트리 → 이후 내용 잘라냄
+                logger.warning("세그먼트 " + file.getName() + "의 손상된 끝부분 정리 ("
+                    + (buffer.limit() - position) + " bytes)");
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(position);
+                }
+                return;
+            }
+            apply(record);
+        }
+    }
+    
+    private static void writeEntry(DataOutputStream out, Record record) throws IOException {
+        byte[] name = record.name != null ? record.name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int nameLength = Math.min(name.length, 255);
+        
+        ByteBuffer payload = ByteBuffer.allocate(16 + 5 * 8 + 2 * 4 + 1 + nameLength);
+        PlayerStatsManager.PlayerStats stats = record.stats;
+        payload.putLong(record.playerId.getMostSignificantBits());
+        payload.putLong(record.playerId.getLeastSignificantBits());
+        payload.putDouble(stats.health);
+        payload.putDouble(stats.damage);
+        payload.putDouble(stats.defense);
+        payload.putDouble(stats.speed);
+        payload.putDouble(stats.mining);
+        payload.putInt(stats.statCoins);
+        payload.putInt(stats.coins);
+        payload.put((byte) nameLength);
+        payload.put(name, 0, nameLength);
+        
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        out.writeInt(payload.capacity());
+        out.write(payload.array());
+        out.writeInt((int) crc.getValue());
+    }
+    
+    private static void writeTombstone(DataOutputStream out, UUID playerId) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate(TOMBSTONE_SIZE);
+        payload.putLong(playerId.getMostSignificantBits());
+        payload.putLong(playerId.getLeastSignificantBits());
+        
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        out.writeInt(TOMBSTONE_SIZE);
+        out.write(payload.array());
+        out.writeInt((int) crc.getValue());
+    }
+    
+    /**
+     * 엔트리 하나 읽기
+     * @return 레코드 (삭제 표시는 stats가 null인 레코드, 끝이 잘렸거나 CRC가 맞지 않으면 null)
+     */
+    private static Record readEntry(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        
+        int length = buffer.getInt();
+        if ((length != TOMBSTONE_SIZE && length < 65) || length > MAX_PAYLOAD_SIZE || buffer.remaining() < length + 4) {
+            return null;
+        }
+        
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            return null;
+        }
+        
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        UUID playerId = new UUID(in.getLong(), in.getLong());
+        if (length == TOMBSTONE_SIZE) {
+            return new Record(playerId, null, null);
+        }
+        PlayerStatsManager.PlayerStats stats = new PlayerStatsManager.PlayerStats(
+            in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(),
+            in.getInt(), in.getInt());
+        int nameLength = in.get() & 0xff;
+        if (nameLength > in.remaining()) {
+            return null;
+        }
+        
+        String name = null;
+        if (nameLength > 0) {
+            byte[] nameBytes = new byte[nameLength];
+            in.get(nameBytes);
+            name = new String(nameBytes, StandardCharsets.UTF_8);
+        }
+        return new Record(playerId, name, stats);
+    }
+}
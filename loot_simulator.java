@@ -0,0 +1,489 @@
+package com.customrpg.plugin;
+
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * 몬스터 보상 몬테카를로 시뮬레이터 (monsters.yml 밸런스 확인용)
+ * - 실제 몬스터/지역 정의와 CustomMonster의 보상 공식(레벨별 코인, 드롭 확률, 레벨 제한)을 그대로 사용
+ * - 지역마다 스폰 작업처럼 몬스터와 레벨을 무작위로 골라 처치 보상을 누적
+ * - 플레이 시간 단위로 나눠 포크-조인 풀에서 병렬 실행, 작업마다 SplittableRandom을 분할 (같은 시드면 같은 결과)
+ * - 지역별 드롭률, 시간당 코인 유입, 시간당 스텟 코인 분포, 레벨 구간별 보상을 보고
+ *
+ * 서버 안에서는 /rpg simulate, 서버 밖에서는 main()으로 실행
+ */
+public class LootSimulator {
+    
+    static final long MAX_KILLS = 500_000_000L;
+    static final int MAX_HOURS = 1_000_000;
+    private static final int LEAF_KILLS = 1 << 16;
+    private static final int MAX_BANDS = 10;
+    private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+    
+    /**
+     * 시뮬레이션할 스폰 지역 (월드 정보 없이 레벨 범위와 몬스터 목록만)
+     */
+    static final class Region {
+        final String name;
+        final int minLevel;
+        final int maxLevel;
+        final List<String> monsterIds;
+        
+        Region(String name, int minLevel, int maxLevel, List<String> monsterIds) {
+            this.name = name;
+            this.minLevel = minLevel;
+            this.maxLevel = maxLevel;
+            this.monsterIds = new ArrayList<>(monsterIds);
+        }
+    }
+    
+    /**
+     * 몬스터 하나의 보상표 (지역 레벨 굴림 값 → 실제 보상, 미리 계산)
+     */
+    private static final class MonsterModel {
+        final int[] coins;
+        final int[] statCoins;
+        final int[] bands;
+        final int[] itemIndex;
+        final double[] chances;
+        
+        MonsterModel(int rolls, int drops) {
+            this.coins = new int[rolls];
+            this.statCoins = new int[rolls];
+            this.bands = new int[rolls];
+            this.itemIndex = new int[drops];
+            this.chances = new double[drops];
+        }
+    }
+    
+    /**
+     * 지역 하나의 시뮬레이션 모델 (생성 후 변경하지 않으므로 여러 스레드에서 읽기만 함)
+     */
+    private static final class RegionModel {
+        final Region region;
+        final MonsterModel[] monsters;
+        final String[] items;
+        final int bandMinLevel;
+        final int bandWidth;
+        final int bandCount;
+        
+        RegionModel(Region region, MonsterModel[] monsters, String[] items, int bandMinLevel, int bandWidth, int bandCount) {
+            this.region = region;
+            this.monsters = monsters;
+            this.items = items;
+            this.bandMinLevel = bandMinLevel;
+            this.bandWidth = bandWidth;
+            this.bandCount = bandCount;
+        }
+    }
+    
+    /**
+     * 작업 하나의 누적 결과
+     */
+    private static final class Tally {
+        long coins;
+        long statCoins;
+        final long[] drops;
+        final long[] bandKills;
+        final long[] bandCoins;
+        final long[] bandStatCoins;
+        final long[] bandDrops;
+        
+        Tally(RegionModel model) {
+            this.drops = new long[model.items.length];
+            this.bandKills = new long[model.bandCount];
+            this.bandCoins = new long[model.bandCount];
+            this.bandStatCoins = new long[model.bandCount];
+            this.bandDrops = new long[model.bandCount];
+        }
+        
+        Tally merge(Tally other) {
+            coins += other.coins;
+            statCoins += other.statCoins;
+            add(drops, other.drops);
+            add(bandKills, other.bandKills);
+            add(bandCoins, other.bandCoins);
+            add(bandStatCoins, other.bandStatCoins);
+            add(bandDrops, other.bandDrops);
+            return this;
+        }
+        
+        private static void add(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+    
+    /**
+     * 플레이 시간 구간 [from, to)을 시뮬레이션하는 작업
+     * - 구간이 크면 반으로 나누고 오른쪽에 분할한 난수 생성기를 넘김
+     * - 시간별 합계는 겹치지 않는 인덱스에 바로 기록
+     */
+    private static final class HourTask extends RecursiveTask<Tally> {
+        private final RegionModel model;
+        private final int killsPerHour;
+        private final int leafHours;
+        private final long[] hourlyCoins;
+        private final long[] hourlyStatCoins;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        
+        HourTask(RegionModel model, int killsPerHour, int leafHours, long[] hourlyCoins, long[] hourlyStatCoins,
+                 int from, int to, SplittableRandom random) {
+            this.model = model;
+            this.killsPerHour = killsPerHour;
+            this.leafHours = leafHours;
+            this.hourlyCoins = hourlyCoins;
+            this.hourlyStatCoins = hourlyStatCoins;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+        
+        @Override
+        protected Tally compute() {
+            if (to - from <= leafHours) {
+                return simulate();
+            }
+            
+            int mid = (from + to) >>> 1;
+            HourTask right = new HourTask(model, killsPerHour, leafHours, hourlyCoins, hourlyStatCoins,
+                mid, to, random.split());
+            HourTask left = new HourTask(model, killsPerHour, leafHours, hourlyCoins, hourlyStatCoins,
+                from, mid, random);
+            right.fork();
+            Tally tally = left.compute();
+            return tally.merge(right.join());
+        }
+        
+        private Tally simulate() {
+            Tally tally = new Tally(model);
+            MonsterModel[] monsters = model.monsters;
+            int rolls = monsters[0].coins.length;
+            
+            for (int hour = from; hour < to; hour++) {
+                long coins = 0;
+                long statCoins = 0;
+                for (int kill = 0; kill < killsPerHour; kill++) {
+                    // 스폰 작업과 같이 몬스터와 지역 레벨을 고르고, 레벨은 몬스터 범위로 제한된 값 사용
+                    MonsterModel monster = monsters[random.nextInt(monsters.length)];
+                    int roll = random.nextInt(rolls);
+                    int band = monster.bands[roll];
+                    
+                    int drops = 0;
+                    for (int i = 0; i < monster.chances.length; i++) {
+                        if (random.nextDouble() < monster.chances[i]) {
+                            tally.drops[monster.itemIndex[i]]++;
+                            drops++;
+                        }
+                    }
+                    
+                    coins += monster.coins[roll];
+                    statCoins += monster.statCoins[roll];
+                    tally.bandKills[band]++;
+                    tally.bandCoins[band] += monster.coins[roll];
+                    tally.bandStatCoins[band] += monster.statCoins[roll];
+                    tally.bandDrops[band] += drops;
+                }
+                hourlyCoins[hour] = coins;
+                hourlyStatCoins[hour] = statCoins;
+                tally.coins += coins;
+                tally.statCoins += statCoins;
+            }
+            return tally;
+        }
+    }
+    
+    private final Map<String, RegionModel> models = new LinkedHashMap<>();
+    private final List<String> warnings = new ArrayList<>();
+    
+    /**
+     * 몬스터/지역 정의로 보상표를 미리 계산 (정의는 여기서만 읽으므로 이후 리로드와 무관)
+     */
+    LootSimulator(Map<String, CustomMonsterManager.CustomMonster> monsters, List<Region> regions) {
+        for (Region region : regions) {
+            RegionModel model = buildModel(region, monsters);
+            if (model != null) {
+                models.put(region.name, model);
+            }
+        }
+    }
+    
+    /**
+     * 서버에 로드된 정의로 생성 (메인 스레드에서 호출)
+     */
+    static LootSimulator of(CustomMonsterManager monsterManager) {
+        Map<String, CustomMonsterManager.CustomMonster> monsters = new HashMap<>();
+        for (String id : monsterManager.getCustomMonsterIds()) {
+            monsters.put(id, monsterManager.getCustomMonster(id));
+        }
+        
+        List<Region> regions = new ArrayList<>();
+        for (String name : monsterManager.getSpawnRegionNames()) {
+            CustomMonsterManager.SpawnRegion region = monsterManager.getSpawnRegion(name);
+            regions.add(new Region(region.name, region.minLevel, region.maxLevel, region.monsterIds));
+        }
+        return new LootSimulator(monsters, regions);
+    }
+    
+    /**
+     * monsters.yml에서 파싱한 정의로 생성 (월드가 없어도 됨)
+     */
+    static LootSimulator of(CustomMonsterManager.Definitions definitions) {
+        Map<String, CustomMonsterManager.CustomMonster> monsters = new HashMap<>();
+        for (CustomMonsterManager.CustomMonster monster : definitions.monsters) {
+            monsters.put(monster.id, monster);
+        }
+        
+        List<Region> regions = new ArrayList<>();
+        for (CustomMonsterManager.RegionDefinition definition : definitions.regions) {
+            regions.add(new Region(definition.name, definition.minLevel, definition.maxLevel, definition.monsterIds));
+        }
+        return new LootSimulator(monsters, regions);
+    }
+    
+    Set<String> getRegionNames() {
+        return models.keySet();
+    }
+    
+    /**
+     * 모델을 만들 수 없어 제외한 지역 (레벨 범위 오류, 등록된 몬스터 없음)
+     */
+    List<String> getWarnings() {
+        return warnings;
+    }
+    
+    /**
+     * 기본 병렬도 (서버 안에서는 메인 스레드 몫으로 코어 하나를 남김)
+     */
+    static int defaultParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+    
+    /**
+     * 시뮬레이션 실행 (오래 걸리므로 메인 스레드 밖에서 호출)
+     * @param regionName 지역 이름 (null이면 전체 지역)
+     * @param kills 지역마다 시뮬레이션할 처치 수 (시간당 처치 수 단위로 올림)
+     * @param killsPerHour 플레이 1시간 동안의 처치 수
+     * @param parallelism 작업 스레드 수
+     * @param seed 난수 시드 (같은 시드면 같은 결과)
+     * @return 보고서 줄 목록 (색상 코드 포함)
+     */
+    List<String> run(String regionName, long kills, int killsPerHour, int parallelism, long seed) {
+        if (kills <= 0 || killsPerHour <= 0 || kills > MAX_KILLS) {
+            throw new IllegalArgumentException("처치 수는 1 ~ " + MAX_KILLS + ", 시간당 처치 수는 1 이상이어야 합니다.");
+        }
+        long hourCount = (kills + killsPerHour - 1) / killsPerHour;
+        if (hourCount > MAX_HOURS) {
+            throw new IllegalArgumentException("플레이 시간이 너무 깁니다 (최대 " + MAX_HOURS + "시간). 시간당 처치 수를 늘리세요.");
+        }
+        
+        List<RegionModel> targets = new ArrayList<>();
+        if (regionName == null) {
+            targets.addAll(models.values());
+        } else {
+            RegionModel model = models.get(regionName);
+            if (model == null) {
+                throw new IllegalArgumentException("시뮬레이션할 수 없는 지역입니다: " + regionName);
+            }
+            targets.add(model);
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("시뮬레이션할 수 있는 지역이 없습니다.");
+        }
+        
+        if (!RUNNING.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 시뮬레이션이 진행 중입니다.");
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism, LootSimulator::newWorker, null, false);
+        try {
+            List<String> lines = new ArrayList<>();
+            SplittableRandom random = new SplittableRandom(seed);
+            int hours = (int) hourCount;
+            int leafHours = Math.max(1, LEAF_KILLS / killsPerHour);
+            
+            for (RegionModel model : targets) {
+                long start = System.nanoTime();
+                long[] hourlyCoins = new long[hours];
+                long[] hourlyStatCoins = new long[hours];
+                Tally tally = pool.invoke(new HourTask(model, killsPerHour, leafHours, hourlyCoins, hourlyStatCoins,
+                    0, hours, random.split()));
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                report(lines, model, tally, (long) hours * killsPerHour, hours, killsPerHour,
+                    hourlyCoins, hourlyStatCoins, millis);
+            }
+            return lines;
+        } finally {
+            pool.shutdown();
+            RUNNING.set(false);
+        }
+    }
+    
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("CustomRPG-Simulate-" + thread.getPoolIndex());
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    }
+    
+    private RegionModel buildModel(Region region, Map<String, CustomMonsterManager.CustomMonster> definitions) {
+        if (region.maxLevel < region.minLevel) {
+            warnings.add("지역 " + region.name + ": 레벨 범위 오류 (Lv." + region.minLevel + "~" + region.maxLevel + ")");
+            return null;
+        }
+        
+        // 스폰 작업은 등록되지 않은 몬스터 ID를 고르면 아무것도 스폰하지 않으므로 처치 분포에서 제외
+        List<CustomMonsterManager.CustomMonster> monsters = new ArrayList<>();
+        for (String id : region.monsterIds) {
+            CustomMonsterManager.CustomMonster monster = definitions.get(id);
+            if (monster != null) {
+                monsters.add(monster);
+            }
+        }
+        if (monsters.isEmpty()) {
+            warnings.add("지역 " + region.name + ": 등록된 몬스터가 없음");
+            return null;
+        }
+        
+        // 몬스터 범위로 제한된 실제 레벨 범위를 최대 MAX_BANDS개 구간으로 나눔
+        int rolls = region.maxLevel - region.minLevel + 1;
+        int minLevel = Integer.MAX_VALUE;
+        int maxLevel = Integer.MIN_VALUE;
+        for (CustomMonsterManager.CustomMonster monster : monsters) {
+            minLevel = Math.min(minLevel, monster.clampLevel(region.minLevel));
+            maxLevel = Math.max(maxLevel, monster.clampLevel(region.maxLevel));
+        }
+        int levelCount = maxLevel - minLevel + 1;
+        int bandWidth = (levelCount + MAX_BANDS - 1) / MAX_BANDS;
+        int bandCount = (levelCount + bandWidth - 1) / bandWidth;
+        
+        Map<String, Integer> itemIndex = new LinkedHashMap<>();
+        MonsterModel[] models = new MonsterModel[monsters.size()];
+        for (int m = 0; m < models.length; m++) {
+            CustomMonsterManager.CustomMonster monster = monsters.get(m);
+            MonsterModel model = new MonsterModel(rolls, monster.dropItems.size());
+            for (int roll = 0; roll < rolls; roll++) {
+                int level = monster.clampLevel(region.minLevel + roll);
+                model.coins[roll] = monster.coinRewardAt(level);
+                model.statCoins[roll] = monster.statCoinRewardAt(level);
+                model.bands[roll] = (level - minLevel) / bandWidth;
+            }
+            for (int i = 0; i < monster.dropItems.size(); i++) {
+                String itemId = monster.dropItems.get(i);
+                Integer index = itemIndex.get(itemId);
+                if (index == null) {
+                    index = itemIndex.size();
+                    itemIndex.put(itemId, index);
+                }
+                model.itemIndex[i] = index;
+                model.chances[i] = monster.dropChanceOf(itemId);
+            }
+            models[m] = model;
+        }
+        
+        return new RegionModel(region, models, itemIndex.keySet().toArray(new String[0]), minLevel, bandWidth, bandCount);
+    }
+    
+    private static void report(List<String> lines, RegionModel model, Tally tally, long kills, int hours,
+                               int killsPerHour, long[] hourlyCoins, long[] hourlyStatCoins, long millis) {
+        Region region = model.region;
+        lines.add(ChatColor.GOLD + "=== 지역 " + region.name + " (Lv." + region.minLevel + "~" + region.maxLevel
+            + ", 몬스터 " + model.monsters.length + "종) ===");
+        lines.add(ChatColor.GRAY + String.format("처치 %,d회 = %,d시간 x 시간당 %,d회 (%,dms)",
+            kills, hours, killsPerHour, millis));
+        
+        Arrays.sort(hourlyCoins);
+        Arrays.sort(hourlyStatCoins);
+        lines.add(ChatColor.YELLOW + String.format("코인: 시간당 평균 %,.1f (p10 %,d / p50 %,d / p90 %,d)",
+            (double) tally.coins / hours, percentile(hourlyCoins, 10), percentile(hourlyCoins, 50),
+            percentile(hourlyCoins, 90)));
+        lines.add(ChatColor.YELLOW + String.format("스텟 코인: 시간당 평균 %,.1f (최소 %,d / p10 %,d / p50 %,d / p90 %,d / 최대 %,d)",
+            (double) tally.statCoins / hours, hourlyStatCoins[0], percentile(hourlyStatCoins, 10),
+            percentile(hourlyStatCoins, 50), percentile(hourlyStatCoins, 90), hourlyStatCoins[hours - 1]));
+        
+        for (int i = 0; i < model.items.length; i++) {
+            lines.add(ChatColor.AQUA + String.format("드롭 %s: 처치당 %.3f%%, 시간당 %,.2f개",
+                model.items[i], 100.0 * tally.drops[i] / kills, (double) tally.drops[i] / hours));
+        }
+        if (model.items.length == 0) {
+            lines.add(ChatColor.AQUA + "드롭 아이템 없음");
+        }
+        
+        for (int band = 0; band < model.bandCount; band++) {
+            long bandKills = tally.bandKills[band];
+            if (bandKills == 0) {
+                continue;
+            }
+            int from = model.bandMinLevel + band * model.bandWidth;
+            int to = from + model.bandWidth - 1;
+            lines.add(ChatColor.WHITE + String.format("Lv.%s: 처치 %.1f%%, 처치당 코인 %,.1f / 스텟 코인 %,.2f / 드롭 %.3f개",
+                from == to ? String.valueOf(from) : from + "~" + to, 100.0 * bandKills / kills,
+                (double) tally.bandCoins[band] / bandKills, (double) tally.bandStatCoins[band] / bandKills,
+                (double) tally.bandDrops[band] / bandKills));
+        }
+    }
+    
+    /**
+     * 정렬된 배열의 백분위 값 (nearest-rank)
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    
+    /**
+     * 서버 밖에서 실행 (Bukkit API jar를 클래스패스에 포함)
+     * java -cp CustomRPG.jar:spigot-api.jar com.customrpg.plugin.LootSimulator <monsters.yml> [지역|all] [처치 수] [시간당 처치 수] [시드]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("사용법: LootSimulator <monsters.yml> [지역|all] [처치 수] [시간당 처치 수] [시드]");
+            System.exit(2);
+            return;
+        }
+        
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(new File(args[0]));
+        } catch (InvalidConfigurationException e) {
+            System.err.println("monsters.yml 형식 오류: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        
+        String regionName = args.length > 1 && !args[1].equalsIgnoreCase("all") ? args[1] : null;
+        long kills = args.length > 2 ? Long.parseLong(args[2]) : 10_000_000L;
+        int killsPerHour = args.length > 3 ? Integer.parseInt(args[3]) : 300;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        
+        LootSimulator simulator = of(CustomMonsterManager.parseDefinitions(config, Logger.getLogger("CustomRPG-Simulate")));
+        for (String warning : simulator.getWarnings()) {
+            System.err.println(warning);
+        }
+        
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        System.out.println("시드 " + seed + ", 스레드 " + parallelism);
+        for (String line : simulator.run(regionName, kills, killsPerHour, parallelism, seed)) {
+            System.out.println(ChatColor.stripColor(line));
+        }
+    }
+}
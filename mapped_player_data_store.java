@@ -0,0 +1,340 @@
+package com.customrpg.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 메모리 맵 고정 길이 바이너리 저장소 (players.dat)
+ * - 플레이어 한 명 = 고정 크기 레코드 한 칸, UUID → 슬롯 인덱스로 위치 조회
+ * - 저장은 매핑된 버퍼에 제자리 쓰기 (직렬화 없음)
+ * - 시작 시 파일을 매핑하고 UUID만 훑어 인덱스 구성 (파싱 없음)
+ *
+ * 헤더 (64 bytes): magic, version, headerSize, recordSize, fieldCount, slotCount, capacity
+ * 레코드 (v1, 96 bytes): uuid(16) + 스텟 5개(double) + 코인 2개(int) + 이름(1 + 16) + 여유 공간
+ * 필드가 추가되면 version/recordSize/fieldCount를 올리고, 옛 파일은 열 때 새 형식으로 변환
+ */
+class MappedPlayerDataStore implements PlayerDataStore {
+    
+    private static final int MAGIC = 0x43525044; // "CRPD"
+    private static final short CURRENT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 96;
+    private static final int FIELD_COUNT = 8; // 스텟 5 + 코인 2 + 이름
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    // 헤더 오프셋
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_HEADER_SIZE = 6;
+    private static final int HEADER_RECORD_SIZE = 8;
+    private static final int HEADER_FIELD_COUNT = 12;
+    private static final int HEADER_SLOT_COUNT = 16;
+    private static final int HEADER_CAPACITY = 20;
+    
+    // 레코드 내부 오프셋 (필드 순서 = fieldCount 기준)
+    private static final int[] FIELD_OFFSETS = {16, 24, 32, 40, 48, 56, 60, 64};
+    private static final int OFFSET_UUID_MOST = 0;
+    private static final int OFFSET_UUID_LEAST = 8;
+    private static final int OFFSET_HEALTH = 16;
+    private static final int OFFSET_DAMAGE = 24;
+    private static final int OFFSET_DEFENSE = 32;
+    private static final int OFFSET_SPEED = 40;
+    private static final int OFFSET_MINING = 48;
+    private static final int OFFSET_STAT_COINS = 56;
+    private static final int OFFSET_COINS = 60;
+    private static final int OFFSET_NAME_LENGTH = 64;
+    private static final int OFFSET_NAME = 65;
+    private static final int MAX_NAME_BYTES = 16;
+    
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final Map<UUID, Integer> slotIndex = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int slotCount;
+    private int capacity;
+    
+    MappedPlayerDataStore(File file) throws IOException {
+        this.file = file;
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        boolean created = !file.exists() || file.length() == 0;
+        if (!created) {
+            upgradeIfNeeded(file);
+        }
+        
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.channel = randomAccessFile.getChannel();
+        
+        if (created) {
+            capacity = INITIAL_CAPACITY;
+            slotCount = 0;
+            map();
+            writeHeader();
+        } else {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+                close();
+                throw new IOException("players.dat 형식이 아닙니다: " + file.getName());
+            }
+            slotCount = buffer.getInt(HEADER_SLOT_COUNT);
+            capacity = buffer.getInt(HEADER_CAPACITY);
+            buildIndex();
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "binary";
+    }
+    
+    @Override
+    public synchronized PlayerStatsManager.PlayerStats load(UUID playerId) {
+        Integer slot = slotIndex.get(playerId);
+        return slot != null ? readStats(slotOffset(slot)) : null;
+    }
+    
+    @Override
+    public synchronized long write(Collection<Record> records) throws IOException {
+        for (Record record : records) {
+            Integer slot = slotIndex.get(record.playerId);
+            if (slot == null) {
+                slot = allocateSlot(record.playerId);
+            }
+            writeRecord(slotOffset(slot), record);
+        }
+        
+        if (!records.isEmpty()) {
+            buffer.putInt(HEADER_SLOT_COUNT, slotCount);
+            buffer.force();
+        }
+        return (long) records.size() * RECORD_SIZE;
+    }
+    
+    /**
+     * 마지막 슬롯을 삭제된 슬롯 자리로 옮겨서 빈칸 없이 유지
+     */
+    @Override
+    public synchronized void remove(Collection<UUID> playerIds) {
+        boolean changed = false;
+        for (UUID playerId : playerIds) {
+            Integer slot = slotIndex.remove(playerId);
+            if (slot == null) {
+                continue;
+            }
+            
+            int last = slotCount - 1;
+            int lastOffset = slotOffset(last);
+            if (slot != last) {
+                int offset = slotOffset(slot);
+                for (int i = 0; i < RECORD_SIZE; i++) {
+                    buffer.put(offset + i, buffer.get(lastOffset + i));
+                }
+                UUID moved = new UUID(buffer.getLong(offset + OFFSET_UUID_MOST), buffer.getLong(offset + OFFSET_UUID_LEAST));
+                slotIndex.put(moved, slot);
+            }
+            
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                buffer.put(lastOffset + i, (byte) 0);
+            }
+            slotCount--;
+            changed = true;
+        }
+        
+        if (changed) {
+            buffer.putInt(HEADER_SLOT_COUNT, slotCount);
+            buffer.force();
+        }
+    }
+    
+    @Override
+    public void forEach(Consumer<Record> consumer) {
+        List<Record> records = new ArrayList<>();
+        synchronized (this) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                int offset = slotOffset(slot);
+                UUID playerId = new UUID(buffer.getLong(offset + OFFSET_UUID_MOST), buffer.getLong(offset + OFFSET_UUID_LEAST));
+                if (playerId.getMostSignificantBits() == 0 && playerId.getLeastSignificantBits() == 0) {
+                    continue;
+                }
+                records.add(new Record(playerId, readName(offset), readStats(offset)));
+            }
+        }
+        records.forEach(consumer);
+    }
+    
+    @Override
+    public synchronized void close() {
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            channel.close();
+            randomAccessFile.close();
+        } catch (IOException e) {
+            // 닫는 중 오류는 무시
+        }
+    }
+    
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+    
+    private void writeHeader() {
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putShort(HEADER_VERSION, CURRENT_VERSION);
+        buffer.putShort(HEADER_HEADER_SIZE, (short) HEADER_SIZE);
+        buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(HEADER_FIELD_COUNT, FIELD_COUNT);
+        buffer.putInt(HEADER_SLOT_COUNT, slotCount);
+        buffer.putInt(HEADER_CAPACITY, capacity);
+    }
+    
+    private void buildIndex() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = slotOffset(slot);
+            long most = buffer.getLong(offset + OFFSET_UUID_MOST);
+            long least = buffer.getLong(offset + OFFSET_UUID_LEAST);
+            if (most != 0 || least != 0) {
+                slotIndex.put(new UUID(most, least), slot);
+            }
+        }
+    }
+    
+    private int allocateSlot(UUID playerId) throws IOException {
+        if (slotCount >= capacity) {
+            // 용량 두 배로 늘리고 다시 매핑
+            capacity *= 2;
+            buffer.force();
+            map();
+            buffer.putInt(HEADER_CAPACITY, capacity);
+        }
+        
+        int slot = slotCount++;
+        slotIndex.put(playerId, slot);
+        
+        int offset = slotOffset(slot);
+        buffer.putLong(offset + OFFSET_UUID_MOST, playerId.getMostSignificantBits());
+        buffer.putLong(offset + OFFSET_UUID_LEAST, playerId.getLeastSignificantBits());
+        buffer.put(offset + OFFSET_NAME_LENGTH, (byte) 0);
+        return slot;
+    }
+    
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+    
+    private PlayerStatsManager.PlayerStats readStats(int offset) {
+        return new PlayerStatsManager.PlayerStats(
+            buffer.getDouble(offset + OFFSET_HEALTH),
+            buffer.getDouble(offset + OFFSET_DAMAGE),
+            buffer.getDouble(offset + OFFSET_DEFENSE),
+            buffer.getDouble(offset + OFFSET_SPEED),
+            buffer.getDouble(offset + OFFSET_MINING),
+            buffer.getInt(offset + OFFSET_STAT_COINS),
+            buffer.getInt(offset + OFFSET_COINS)
+        );
+    }
+    
+    private String readName(int offset) {
+        int length = buffer.get(offset + OFFSET_NAME_LENGTH);
+        if (length <= 0) {
+            return null;
+        }
+        
+        byte[] bytes = new byte[Math.min(length, MAX_NAME_BYTES)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + OFFSET_NAME + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private void writeRecord(int offset, Record record) {
+        PlayerStatsManager.PlayerStats stats = record.stats;
+        buffer.putDouble(offset + OFFSET_HEALTH, stats.health);
+        buffer.putDouble(offset + OFFSET_DAMAGE, stats.damage);
+        buffer.putDouble(offset + OFFSET_DEFENSE, stats.defense);
+        buffer.putDouble(offset + OFFSET_SPEED, stats.speed);
+        buffer.putDouble(offset + OFFSET_MINING, stats.mining);
+        buffer.putInt(offset + OFFSET_STAT_COINS, stats.statCoins);
+        buffer.putInt(offset + OFFSET_COINS, stats.coins);
+        
+        // 이름이 없는 레코드는 기존 이름 유지
+        if (record.name != null) {
+            byte[] bytes = record.name.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, MAX_NAME_BYTES);
+            buffer.put(offset + OFFSET_NAME_LENGTH, (byte) length);
+            for (int i = 0; i < length; i++) {
+                buffer.put(offset + OFFSET_NAME + i, bytes[i]);
+            }
+        }
+    }
+    
+    /**
+     * 옛 형식(작은 recordSize/fieldCount) 파일을 현재 형식으로 변환
+     * 알려진 필드는 복사하고 새 필드는 기본값(0)으로 채움
+     */
+    private static void upgradeIfNeeded(File file) throws IOException {
+        File upgraded = new File(file.getParentFile(), file.getName() + ".upgrade");
+        
+        try (RandomAccessFile source = new RandomAccessFile(file, "r")) {
+            if (source.length() < HEADER_SIZE || source.readInt() != MAGIC) {
+                throw new IOException("players.dat 형식이 아닙니다: " + file.getName());
+            }
+            
+            short version = source.readShort();
+            int headerSize = source.readShort();
+            int recordSize = source.readInt();
+            int fieldCount = source.readInt();
+            int slotCount = source.readInt();
+            
+            if (version > CURRENT_VERSION) {
+                throw new IOException("더 새로운 버전의 players.dat입니다 (v" + version + ")");
+            }
+            if (version == CURRENT_VERSION && recordSize == RECORD_SIZE && fieldCount == FIELD_COUNT) {
+                return;
+            }
+            
+            int capacity = Math.max(INITIAL_CAPACITY, slotCount);
+            try (RandomAccessFile target = new RandomAccessFile(upgraded, "rw")) {
+                target.setLength(HEADER_SIZE + (long) capacity * RECORD_SIZE);
+                MappedByteBuffer out = target.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, target.length());
+                out.putInt(HEADER_MAGIC, MAGIC);
+                out.putShort(HEADER_VERSION, CURRENT_VERSION);
+                out.putShort(HEADER_HEADER_SIZE, (short) HEADER_SIZE);
+                out.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+                out.putInt(HEADER_FIELD_COUNT, FIELD_COUNT);
+                out.putInt(HEADER_SLOT_COUNT, slotCount);
+                out.putInt(HEADER_CAPACITY, capacity);
+                
+                // 옛 레코드에 있는 필드 범위까지만 복사 (uuid + fieldCount개 필드)
+                int knownFields = Math.min(fieldCount, FIELD_COUNT);
+                int copyLength = knownFields >= FIELD_COUNT ? Math.min(recordSize, RECORD_SIZE)
+                    : FIELD_OFFSETS[knownFields];
+                byte[] record = new byte[recordSize];
+                for (int slot = 0; slot < slotCount; slot++) {
+                    source.seek(headerSize + (long) slot * recordSize);
+                    source.readFully(record);
+                    int offset = HEADER_SIZE + slot * RECORD_SIZE;
+                    for (int i = 0; i < copyLength; i++) {
+                        out.put(offset + i, record[i]);
+                    }
+                }
+                out.force();
+            }
+        }
+        
+        // 원본을 닫은 뒤 교체
+        AtomicFiles.replace(upgraded, file);
+    }
+}
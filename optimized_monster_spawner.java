@@ -64,6 +64,14 @@ public class OptimizedMonsterSpawner {
      * 스폰 지역 비활성화
      */
     public void deactivateRegion(String regionName) {
+        deactivateRegion(regionName, true);
+    }
+    
+    /**
+     * 스폰 지역 비활성화
+     * @param removeMonsters false면 스폰만 멈추고 이미 나온 몬스터는 남겨둠 (리로드로 지역이 삭제된 경우)
+     */
+    public void deactivateRegion(String regionName, boolean removeMonsters) {
         SpawnTask task = activeTasks.remove(regionName);
         if (task != null) {
             task.cancel();
@@ -71,7 +79,7 @@ public class OptimizedMonsterSpawner {
         
         // 해당 지역의 몬스터들 제거 (선택사항)
         Set<UUID> monsters = regionMonsters.remove(regionName);
-        if (monsters != null) {
+        if (monsters != null && removeMonsters) {
             for (UUID monsterId : monsters) {
                 Entity entity = plugin.getServer().getEntity(monsterId);
                 if (entity != null && plugin.getMonsterManager().isCustomMonster(entity)) {
@@ -183,7 +191,12 @@ public class OptimizedMonsterSpawner {
         private void cleanupDeadMonsters(Set<UUID> monsters) {
             monsters.removeIf(uuid -> {
                 Entity entity = plugin.getServer().getEntity(uuid);
-                return entity == null || entity.isDead() || !entity.isValid();
+                if (entity == null || entity.isDead() || !entity.isValid()) {
+                    return true;
+                }
+                // 리로드로 정의가 바뀐 몬스터는 여기서 하나씩 갱신
+                plugin.getMonsterManager().refreshIfOutdated(entity);
+                return false;
             });
         }
         
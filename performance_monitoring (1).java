@@ -1,12 +1,18 @@
 package com.customrpg.plugin.monitoring;
 
+import com.customrpg.plugin.ConfigSaveService;
+import com.customrpg.plugin.CustomItemManager;
 import com.customrpg.plugin.CustomRPGPlugin;
+import com.customrpg.plugin.ItemStatsBenchmark;
+import com.customrpg.plugin.LeaderboardManager;
+import com.customrpg.plugin.PlayerStatsManager;
 import com.customrpg.plugin.api.CustomRPGAPI;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.ChatColor;
 
 import java.util.*;
@@ -129,6 +135,25 @@ public class PerformanceMonitor extends BukkitRunnable implements CommandExecuto
         performanceMetrics.put("monsters_active", (long) snapshot.activeMonsters);
         performanceMetrics.put("tps", (long) (snapshot.tps * 100)); // 소수점 두 자리
         
+        // 플레이어 데이터 저장 비용
+        PlayerStatsManager.SaveResult saveResult = plugin.getStatsManager().getLastSaveResult();
+        if (saveResult != null) {
+            performanceMetrics.put("player_save_ms", saveResult.durationMillis);
+            performanceMetrics.put("player_save_bytes", saveResult.bytesWritten);
+        }
+        
+        // 설정 파일 저장 대기/지연
+        ConfigSaveService configSaveService = plugin.getConfigSaveService();
+        performanceMetrics.put("config_pending_writes", (long) configSaveService.getPendingWriteCount());
+        performanceMetrics.put("config_flush_ms", configSaveService.getLastFlushMillis());
+        
+        // 오프라인 플레이어 캐시
+        PlayerStatsManager statsManager = plugin.getStatsManager();
+        performanceMetrics.put("player_cache_size", (long) statsManager.getCachedPlayerCount());
+        performanceMetrics.put("player_cache_hits", statsManager.getCacheHitCount());
+        performanceMetrics.put("player_cache_misses", statsManager.getCacheMissCount());
+        performanceMetrics.put("player_cache_evictions", statsManager.getCacheEvictionCount());
+        
         // 로그 출력 (디버그 모드일 때만)
         if (plugin.getConfig().getBoolean("debug-mode", false)) {
             plugin.getLogger().info(String.format(
@@ -292,6 +317,10 @@ public class PerformanceMonitor extends BukkitRunnable implements CommandExecuto
                 exportStats(sender);
                 break;
                 
+            case "itemstats":
+                benchmarkItemStats(sender, args);
+                break;
+                
             default:
                 showHelp(sender);
                 break;
@@ -317,6 +346,26 @@ public class PerformanceMonitor extends BukkitRunnable implements CommandExecuto
         sender.sendMessage(ChatColor.WHITE + "스폰 지역: " + latest.spawnRegions + "개");
         sender.sendMessage(ChatColor.RED + "현재 TPS: " + String.format("%.1f", latest.tps));
         
+        PlayerStatsManager.SaveResult saveResult = plugin.getStatsManager().getLastSaveResult();
+        if (saveResult != null) {
+            sender.sendMessage(ChatColor.GRAY + "마지막 플레이어 저장: " + saveResult.records + "명, "
+                + saveResult.bytesWritten + " bytes, " + saveResult.durationMillis + "ms");
+        }
+        
+        PlayerStatsManager statsManager = plugin.getStatsManager();
+        sender.sendMessage(ChatColor.GRAY + "플레이어 캐시: " + statsManager.getCachedPlayerCount() + "명 (적중 "
+            + statsManager.getCacheHitCount() + " / 실패 " + statsManager.getCacheMissCount()
+            + " / 제거 " + statsManager.getCacheEvictionCount() + ")");
+        
+        ConfigSaveService configSaveService = plugin.getConfigSaveService();
+        sender.sendMessage(ChatColor.GRAY + "설정 파일 저장: 대기 " + configSaveService.getPendingWriteCount()
+            + "개, 마지막 " + configSaveService.getLastFlushMillis() + "ms (저장 " + configSaveService.getWriteCount()
+            + "회 / 합쳐짐 " + configSaveService.getCoalescedCount() + "회)");
+        
+        CustomItemManager itemManager = plugin.getItemManager();
+        sender.sendMessage(ChatColor.GRAY + "장비 스텟 캐시: " + itemManager.getStatCacheSize() + "개 (적중 "
+            + itemManager.getStatCacheHitCount() + " / 해석 " + itemManager.getStatCacheMissCount() + ")");
+        
         // 성능 상태 표시
         String status = getPerformanceStatus(latest);
         sender.sendMessage(ChatColor.BOLD + "전체 상태: " + status);
@@ -345,16 +394,16 @@ public class PerformanceMonitor extends BukkitRunnable implements CommandExecuto
     private void showPlayerStats(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== 플레이어 활동 통계 ===");
         
-        List<PlayerActivity> sortedActivities = playerActivities.values().stream()
-            .sorted((a, b) -> Integer.compare(b.monstersKilled, a.monstersKilled))
-            .limit(10)
-            .collect(java.util.stream.Collectors.toList());
+        // 처치 수 순위표에서 상위 10명만 읽음 (활동 목록 전체를 정렬하지 않음)
+        List<LeaderboardManager.Entry> topKillers = plugin.getStatsManager().getLeaderboards()
+            .getRange(LeaderboardManager.Board.KILLS, 1, 10);
         
         sender.sendMessage(ChatColor.YELLOW + "몬스터 처치량 TOP 10:");
-        for (int i = 0; i < sortedActivities.size(); i++) {
-            PlayerActivity activity = sortedActivities.get(i);
+        for (LeaderboardManager.Entry entry : topKillers) {
+            PlayerActivity activity = playerActivities.get(entry.playerId);
             sender.sendMessage(String.format("§7%d. §f%s: §c%d마리 처치 §7/ §e%d개 아이템",
-                i + 1, activity.playerName, activity.monstersKilled, activity.itemsReceived));
+                entry.rank, entry.name != null ? entry.name : entry.playerId.toString(), entry.score,
+                activity != null ? activity.itemsReceived : 0));
         }
         
         // 전체 통계
@@ -400,6 +449,62 @@ public class PerformanceMonitor extends BukkitRunnable implements CommandExecuto
         sender.sendMessage(ChatColor.YELLOW + "/rpgmonitor optimize - 수동 최적화");
         sender.sendMessage(ChatColor.YELLOW + "/rpgmonitor reset - 통계 초기화");
         sender.sendMessage(ChatColor.YELLOW + "/rpgmonitor export - 데이터 내보내기");
+        sender.sendMessage(ChatColor.YELLOW + "/rpgmonitor itemstats [반복 횟수] - 장비 스텟 조회 할당량 측정");
+    }
+    
+    /**
+     * 착용 중인 장비로 장비 스텟 조회의 호출당 할당량/시간 측정
+     * - 메인 스레드에서 여러 틱에 나눠 실행하고 끝나면 결과 보고
+     */
+    private void benchmarkItemStats(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatColor.RED + "장비를 착용한 플레이어만 측정할 수 있습니다.");
+            return;
+        }
+        if (!ItemStatsBenchmark.isSupported()) {
+            sender.sendMessage(ChatColor.RED + "이 JVM은 스레드별 할당량 측정을 지원하지 않습니다.");
+            return;
+        }
+        
+        int iterations = 5000;
+        if (args.length > 1) {
+            try {
+                iterations = Math.max(1, Math.min(20000, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "반복 횟수는 숫자여야 합니다.");
+                return;
+            }
+        }
+        
+        Player player = (Player) sender;
+        ItemStack[] armor = player.getInventory().getArmorContents();
+        ItemStack[] items = new ItemStack[armor.length + 1];
+        items[0] = player.getInventory().getItemInMainHand();
+        System.arraycopy(armor, 0, items, 1, armor.length);
+        
+        int customItems = 0;
+        for (ItemStack item : items) {
+            if (plugin.getItemManager().isCustomItem(item)) {
+                customItems++;
+            }
+        }
+        
+        // 예열과 측정을 두 방식 모두 실행하므로 틱 수는 반복 횟수의 네 배를 틱당 반복 횟수로 나눈 값
+        int ticks = 4 * ((iterations + ItemStatsBenchmark.ITERATIONS_PER_TICK - 1) / ItemStatsBenchmark.ITERATIONS_PER_TICK);
+        sender.sendMessage(ChatColor.GRAY + "장비 스텟 조회 측정 중... (약 " + Math.max(1, ticks / 20) + "초)");
+        
+        int customCount = customItems;
+        int iterationCount = iterations;
+        ItemStatsBenchmark.run(plugin, items, iterations, results -> {
+            if (!player.isOnline()) return;
+            
+            sender.sendMessage(ChatColor.GOLD + "=== 장비 스텟 조회 측정 (아이템 " + items.length + "개 중 커스텀 "
+                + customCount + "개, " + iterationCount + "회 반복) ===");
+            for (ItemStatsBenchmark.Result result : results) {
+                sender.sendMessage(ChatColor.YELLOW + String.format("%s: 호출당 %.1f bytes, %.0fns (%d회)",
+                    result.name, result.bytesPerCall, result.nanosPerCall, result.calls));
+            }
+        });
     }
     
     private void resetStats() {
@@ -0,0 +1,435 @@
+package com.customrpg.plugin;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 플레이어 데이터 백업 서비스 (backups/)
+ * - 대기 중인 저장이 끝난 시점에 저장 스레드에서 전체 레코드를 복사 (복사하는 동안 다른 쓰기 없음)
+ * - 비교/압축/파일 쓰기는 백업 스레드에서 수행해서 메인 스레드와 저장 스레드를 막지 않음
+ * - 직전 백업과 달라진 레코드만 담는 증분 백업, backup.full-every번마다 전체 백업
+ * - 최근 backup.retention개의 전체 백업과 그 뒤의 증분 백업만 유지
+ */
+public class PlayerBackupService {
+    
+    private static final int MAGIC = 0x43525042; // "CRPB"
+    private static final int FORMAT_VERSION = 1;
+    private static final String FULL_SUFFIX = ".full.gz";
+    private static final String DELTA_SUFFIX = ".delta.gz";
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    // 복사한 레코드 하나의 대략적인 객체 크기 (Record, PlayerStats, UUID)
+    private static final int RECORD_OVERHEAD_BYTES = 120;
+    // 레코드 지문 맵 항목 하나의 대략적인 크기
+    private static final int FINGERPRINT_ENTRY_BYTES = 64;
+    
+    private final CustomRPGPlugin plugin;
+    private final PlayerStatsManager statsManager;
+    private final File backupFolder;
+    private final ExecutorService backupExecutor;
+    private final Executor mainThread;
+    private final int fullEvery;
+    private final int retention;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    
+    // 직전 백업의 레코드 지문 (백업 스레드 전용, 재시작 후 첫 백업은 전체 백업)
+    private Map<UUID, Long> lastFingerprints;
+    private int deltasSinceFull;
+    private volatile boolean forceFull;
+    private volatile BackupResult lastResult;
+    private BukkitTask scheduleTask;
+    
+    /**
+     * 백업 한 번의 결과
+     */
+    public static class BackupResult {
+        public final String id;
+        public final boolean full;
+        public final int records;
+        public final int changed;
+        public final int removed;
+        public final long compressedBytes;
+        public final long memoryBytes;
+        public final long captureMillis;
+        public final long durationMillis;
+        
+        BackupResult(String id, boolean full, int records, int changed, int removed, long compressedBytes,
+                     long memoryBytes, long captureMillis, long durationMillis) {
+            this.id = id;
+            this.full = full;
+            this.records = records;
+            this.changed = changed;
+            this.removed = removed;
+            this.compressedBytes = compressedBytes;
+            this.memoryBytes = memoryBytes;
+            this.captureMillis = captureMillis;
+            this.durationMillis = durationMillis;
+        }
+    }
+    
+    /**
+     * 저장 스레드에서 복사한 레코드 묶음
+     */
+    private static final class Capture {
+        final List<PlayerDataStore.Record> records;
+        final long captureMillis;
+        
+        Capture(List<PlayerDataStore.Record> records, long captureMillis) {
+            this.records = records;
+            this.captureMillis = captureMillis;
+        }
+    }
+    
+    public PlayerBackupService(CustomRPGPlugin plugin, PlayerStatsManager statsManager) {
+        this.plugin = plugin;
+        this.statsManager = statsManager;
+        this.backupFolder = new File(plugin.getDataFolder(), "backups");
+        this.fullEvery = Math.max(1, plugin.getConfig().getInt("backup.full-every", 24));
+        this.retention = Math.max(1, plugin.getConfig().getInt("backup.retention", 7));
+        this.backupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-Backup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mainThread = task -> plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+    
+    /**
+     * 주기적 백업 시작 (backup.interval-minutes가 0 이하면 자동 백업 안 함)
+     */
+    public void start() {
+        long minutes = plugin.getConfig().getLong("backup.interval-minutes", 60);
+        if (minutes <= 0) {
+            return;
+        }
+        
+        long interval = minutes * 60L * 20L;
+        scheduleTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () ->
+            backupNow().whenComplete((result, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("플레이어 데이터 백업 실패: " + rootMessage(error));
+                }
+            }), interval, interval);
+    }
+    
+    /**
+     * 지금 백업 (메인 스레드에서 호출)
+     */
+    public CompletableFuture<BackupResult> backupNow() {
+        if (!running.compareAndSet(false, true)) {
+            return failed(new IllegalStateException("이미 백업 또는 복원이 진행 중입니다."));
+        }
+        
+        long startTime = System.nanoTime();
+        String id = LocalDateTime.now().format(ID_FORMAT);
+        
+        CompletableFuture<BackupResult> result = statsManager.callOnStorageThread(() -> {
+            long captureStart = System.nanoTime();
+            List<PlayerDataStore.Record> records = new ArrayList<>();
+            statsManager.getStore().forEach(record ->
+                records.add(new PlayerDataStore.Record(record.playerId, record.name, record.stats.copy())));
+            return new Capture(records, (System.nanoTime() - captureStart) / 1_000_000L);
+        }).thenApplyAsync(capture -> {
+            try {
+                return writeBackup(id, capture, startTime);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, backupExecutor);
+        
+        result.whenComplete((backup, error) -> {
+            running.set(false);
+            if (backup != null) {
+                lastResult = backup;
+                plugin.getLogger().info("플레이어 데이터 백업 완료 (" + backup.id + ", " + (backup.full ? "전체" : "증분")
+                    + ", " + backup.records + "명 중 변경 " + backup.changed + " / 삭제 " + backup.removed
+                    + ", 압축 " + backup.compressedBytes / 1024 + "KB, 메모리 약 " + backup.memoryBytes / 1024
+                    + "KB, 복사 " + backup.captureMillis + "ms, 전체 " + backup.durationMillis + "ms)");
+            }
+        });
+        return result;
+    }
+    
+    private BackupResult writeBackup(String id, Capture capture, long startTime) throws IOException {
+        if (forceFull) {
+            forceFull = false;
+            lastFingerprints = null;
+        }
+        boolean full = lastFingerprints == null || deltasSinceFull + 1 >= fullEvery;
+        
+        Map<UUID, Long> fingerprints = new HashMap<>(capture.records.size() * 2);
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(128);
+        DataOutputStream recordOut = new DataOutputStream(recordBytes);
+        ByteArrayOutputStream changedBytes = new ByteArrayOutputStream();
+        int changed = 0;
+        long memoryBytes = 0;
+        
+        for (PlayerDataStore.Record record : capture.records) {
+            recordBytes.reset();
+            record.writeTo(recordOut);
+            recordOut.flush();
+            byte[] encoded = recordBytes.toByteArray();
+            memoryBytes += encoded.length + RECORD_OVERHEAD_BYTES + FINGERPRINT_ENTRY_BYTES;
+            
+            long fingerprint = fingerprint(encoded);
+            fingerprints.put(record.playerId, fingerprint);
+            Long previous = full ? null : lastFingerprints.get(record.playerId);
+            if (previous == null || previous != fingerprint) {
+                changedBytes.write(encoded);
+                changed++;
+            }
+        }
+        
+        List<UUID> removed = new ArrayList<>();
+        if (!full) {
+            for (UUID playerId : lastFingerprints.keySet()) {
+                if (!fingerprints.containsKey(playerId)) {
+                    removed.add(playerId);
+                }
+            }
+        }
+        
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(compressed))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeBoolean(full);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(capture.records.size());
+            out.writeInt(changed);
+            changedBytes.writeTo(out);
+            out.writeInt(removed.size());
+            for (UUID playerId : removed) {
+                out.writeLong(playerId.getMostSignificantBits());
+                out.writeLong(playerId.getLeastSignificantBits());
+            }
+        }
+        
+        byte[] data = compressed.toByteArray();
+        AtomicFiles.write(new File(backupFolder, id + (full ? FULL_SUFFIX : DELTA_SUFFIX)), data);
+        
+        // 파일이 기록된 뒤에만 기준을 옮김 (실패하면 다음 증분에 변경 내용이 다시 포함됨)
+        lastFingerprints = fingerprints;
+        deltasSinceFull = full ? 0 : deltasSinceFull + 1;
+        applyRetention();
+        
+        return new BackupResult(id, full, capture.records.size(), changed, removed.size(), data.length,
+            memoryBytes, capture.captureMillis, (System.nanoTime() - startTime) / 1_000_000L);
+    }
+    
+    /**
+     * 최근 retention개의 전체 백업보다 오래된 백업 파일 삭제
+     */
+    private void applyRetention() {
+        List<File> backups = listBackups();
+        List<File> fulls = new ArrayList<>();
+        for (File backup : backups) {
+            if (backup.getName().endsWith(FULL_SUFFIX)) {
+                fulls.add(backup);
+            }
+        }
+        if (fulls.size() <= retention) {
+            return;
+        }
+        
+        String oldestKept = fulls.get(fulls.size() - retention).getName();
+        for (File backup : backups) {
+            if (backup.getName().compareTo(oldestKept) < 0 && !backup.delete()) {
+                plugin.getLogger().warning("오래된 백업을 삭제할 수 없습니다: " + backup.getName());
+            }
+        }
+    }
+    
+    /**
+     * 백업 파일 목록 (오래된 순)
+     */
+    public List<File> listBackups() {
+        File[] files = backupFolder.listFiles((dir, name) -> name.endsWith(FULL_SUFFIX) || name.endsWith(DELTA_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+    
+    /**
+     * 백업 시점으로 복원 (메인 스레드에서 호출)
+     * - 가장 가까운 전체 백업부터 대상까지 증분을 차례로 적용해서 레코드 재구성
+     * - 저장 스레드에서 저장소에 기록하고 저널 체크포인트를 옮긴 뒤 메모리의 값도 교체
+     * - 백업 이후에 처음 생긴 플레이어의 레코드는 그대로 남음
+     * @return 복원된 레코드 수
+     */
+    public CompletableFuture<Integer> restore(String id) {
+        if (!running.compareAndSet(false, true)) {
+            return failed(new IllegalStateException("이미 백업 또는 복원이 진행 중입니다."));
+        }
+        
+        CompletableFuture<Integer> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return readChain(id);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, backupExecutor).thenComposeAsync(records -> statsManager.callOnStorageThread(() -> {
+            statsManager.getStore().write(records);
+            TransactionJournal journal = statsManager.getJournal();
+            journal.checkpoint(journal.getLastTxid());
+            return records;
+        }), mainThread).thenApplyAsync(records -> {
+            for (PlayerDataStore.Record record : records) {
+                statsManager.replaceStats(record.playerId, record.stats);
+            }
+            return records.size();
+        }, mainThread);
+        
+        result.whenComplete((count, error) -> {
+            // 복원 뒤에는 이전 지문이 맞지 않으므로 다음 백업은 전체 백업
+            forceFull = true;
+            running.set(false);
+            if (count != null) {
+                plugin.getLogger().info("플레이어 데이터 복원 완료 (" + id + ", " + count + "명)");
+            }
+        });
+        return result;
+    }
+    
+    private Collection<PlayerDataStore.Record> readChain(String id) throws IOException {
+        List<File> backups = listBackups();
+        int target = -1;
+        for (int i = 0; i < backups.size(); i++) {
+            String name = backups.get(i).getName();
+            if (name.equals(id + FULL_SUFFIX) || name.equals(id + DELTA_SUFFIX)) {
+                target = i;
+                break;
+            }
+        }
+        if (target < 0) {
+            throw new IOException("백업을 찾을 수 없습니다: " + id);
+        }
+        
+        int start = target;
+        while (start >= 0 && !backups.get(start).getName().endsWith(FULL_SUFFIX)) {
+            start--;
+        }
+        if (start < 0) {
+            throw new IOException("기준이 되는 전체 백업이 없어 복원할 수 없습니다: " + id);
+        }
+        
+        Map<UUID, PlayerDataStore.Record> records = new LinkedHashMap<>();
+        for (int i = start; i <= target; i++) {
+            applyBackupFile(backups.get(i), records);
+        }
+        return records.values();
+    }
+    
+    private static void applyBackupFile(File file, Map<UUID, PlayerDataStore.Record> records) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("백업 파일 형식이 아닙니다: " + file.getName());
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("지원하지 않는 백업 형식 버전: " + version + " (" + file.getName() + ")");
+            }
+            
+            boolean full = in.readBoolean();
+            in.readLong(); // 생성 시각
+            int total = in.readInt();
+            if (full) {
+                records.clear();
+            }
+            
+            int changed = in.readInt();
+            for (int i = 0; i < changed; i++) {
+                PlayerDataStore.Record record = PlayerDataStore.Record.readFrom(in);
+                records.put(record.playerId, record);
+            }
+            
+            int removed = in.readInt();
+            for (int i = 0; i < removed; i++) {
+                records.remove(new UUID(in.readLong(), in.readLong()));
+            }
+            
+            if (records.size() != total) {
+                throw new IOException("백업 레코드 수가 맞지 않습니다: " + file.getName()
+                    + " (예상 " + total + ", 실제 " + records.size() + ")");
+            }
+        }
+    }
+    
+    /**
+     * 직렬화한 레코드의 64비트 FNV-1a 해시
+     */
+    private static long fingerprint(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+    
+    static String rootMessage(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error.getMessage();
+    }
+    
+    /**
+     * 마지막 백업 결과 (백업한 적이 없으면 null)
+     */
+    public BackupResult getLastResult() {
+        return lastResult;
+    }
+    
+    /**
+     * 자동 백업 중지 (onDisable, 진행 중인 백업은 잠시 기다림)
+     */
+    public void shutdown() {
+        if (scheduleTask != null) {
+            scheduleTask.cancel();
+        }
+        
+        backupExecutor.shutdown();
+        try {
+            if (!backupExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("진행 중인 백업이 10초 안에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.customrpg.plugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 플레이어 데이터 형식 변환 도구
+ * - 원본을 한 레코드씩 읽어 일정 크기 묶음으로 크기가 제한된 대기열에 넣음 (전체를 메모리에 올리지 않음)
+ * - 여러 쓰기 스레드가 대기열에서 꺼내 대상 저장소에 기록
+ * - 앞에서부터 연속으로 기록이 끝난 레코드 수를 체크포인트로 저장, 중단 후 다시 실행하면 이어서 진행
+ * - 끝나면 원본과 대상의 레코드 수와 체크섬(uuid + 스텟, 순서 무관)을 비교
+ *
+ * 서버 안에서는 /rpg migrate, 서버 밖에서는 main()으로 실행
+ * (이름은 저장소마다 길이 제한이 달라 체크섬에서 제외)
+ */
+public class PlayerDataMigrator {
+    
+    private static final int CHECKPOINT_MAGIC = 0x4352504D; // "CRPM"
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int QUEUE_BATCHES = 8;
+    private static final long PROGRESS_INTERVAL = 10_000;
+    private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
+    
+    private final File dataFolder;
+    private final ConfigurationSection config;
+    private final Logger logger;
+    private final String sourceType;
+    private final String targetType;
+    private final int writerCount;
+    private final int batchSize;
+    private final File checkpointFile;
+    
+    // 기록이 끝났지만 앞 묶음이 아직 끝나지 않은 묶음 (순번 → 레코드 수)
+    private final Map<Long, Integer> finishedBatches = new HashMap<>();
+    private long nextBatchToCommit;
+    private long committedRecords;
+    private long lastReportedRecords;
+    
+    /**
+     * 변환/검증 결과
+     */
+    public static class Result {
+        public long migrated;
+        public long resumedFrom;
+        public long durationMillis;
+        public long sourceCount;
+        public long targetCount;
+        public boolean verified;
+    }
+    
+    /**
+     * 레코드 수와 순서에 무관한 체크섬
+     */
+    static final class Summary {
+        long count;
+        long checksum;
+    }
+    
+    public PlayerDataMigrator(File dataFolder, ConfigurationSection config, Logger logger,
+                              String sourceType, String targetType, int writerCount) {
+        this.dataFolder = dataFolder;
+        this.config = config;
+        this.logger = logger;
+        this.sourceType = sourceType.toLowerCase();
+        this.targetType = targetType.toLowerCase();
+        // yaml 대상은 파일 하나를 통째로 다시 쓰므로 쓰기 스레드 하나만 사용
+        this.writerCount = this.targetType.equals("yaml") ? 1 : Math.max(1, writerCount);
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.checkpointFile = new File(dataFolder, "migration-" + this.sourceType + "-" + this.targetType + ".checkpoint");
+    }
+    
+    /**
+     * 변환 후 검증 (호출한 스레드에서 끝날 때까지 실행)
+     */
+    public Result run(Consumer<String> progress) throws IOException {
+        validateTypes();
+        if (!RUNNING.compareAndSet(false, true)) {
+            throw new IOException("이미 마이그레이션이 진행 중입니다.");
+        }
+        
+        try {
+            Result result = new Result();
+            long startTime = System.currentTimeMillis();
+            committedRecords = readCheckpoint();
+            result.resumedFrom = committedRecords;
+            if (committedRecords > 0) {
+                progress.accept("체크포인트에서 이어서 진행: " + committedRecords + "명 건너뜀");
+            }
+            
+            PlayerDataStore target = PlayerDataStore.create(dataFolder, targetType, config, logger);
+            try {
+                copy(target, progress);
+                result.migrated = committedRecords - result.resumedFrom;
+                result.durationMillis = System.currentTimeMillis() - startTime;
+                progress.accept("변환 완료: " + result.migrated + "명 (" + result.durationMillis + "ms), 검증 중...");
+                
+                verify(target, result);
+            } finally {
+                target.close();
+            }
+            
+            if (result.verified) {
+                Files.deleteIfExists(checkpointFile.toPath());
+            }
+            return result;
+        } finally {
+            RUNNING.set(false);
+        }
+    }
+    
+    /**
+     * 검증만 실행 (원본과 대상 모두 이미 있는 경우)
+     */
+    public Result verifyOnly() throws IOException {
+        validateTypes();
+        Result result = new Result();
+        PlayerDataStore target = PlayerDataStore.create(dataFolder, targetType, config, logger);
+        try {
+            verify(target, result);
+        } finally {
+            target.close();
+        }
+        return result;
+    }
+    
+    private void validateTypes() throws IOException {
+        if (!PlayerDataStore.isKnownType(sourceType) || !PlayerDataStore.isKnownType(targetType)) {
+            throw new IOException("저장소 종류는 yaml, sharded, binary, log, sqlite, shared 중 하나여야 합니다.");
+        }
+        if (sourceType.equals(targetType)) {
+            throw new IOException("원본과 대상 저장소 종류가 같습니다: " + sourceType);
+        }
+    }
+    
+    private void copy(PlayerDataStore target, Consumer<String> progress) throws IOException {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService writers = Executors.newFixedThreadPool(writerCount, runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-Migrate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < writerCount; i++) {
+            tasks.add(writers.submit(() -> {
+                try {
+                    Batch batch;
+                    while ((batch = queue.take()) != Batch.END) {
+                        // 오류가 난 뒤에는 기록하지 않고 대기열만 비움
+                        if (failure.get() == null) {
+                            target.write(batch.records);
+                            onBatchWritten(batch.number, batch.records.size(), progress);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        
+        BatchReader reader = new BatchReader(queue, failure, committedRecords);
+        try {
+            forEachSource(reader);
+            reader.finish();
+        } catch (AbortException e) {
+            // 쓰기 스레드 오류로 중단, 아래에서 보고
+        } finally {
+            for (int i = 0; i < writerCount; i++) {
+                putUninterruptibly(queue, Batch.END);
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            writers.shutdown();
+        }
+        
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IOException("마이그레이션 중단 (" + committedRecords + "명까지 체크포인트 저장됨): " + error.getMessage(), error);
+        }
+    }
+    
+    /**
+     * 읽은 순서대로 순번이 붙은 레코드 묶음
+     */
+    private static final class Batch {
+        static final Batch END = new Batch(-1, Collections.emptyList());
+        
+        final long number;
+        final List<PlayerDataStore.Record> records;
+        
+        Batch(long number, List<PlayerDataStore.Record> records) {
+            this.number = number;
+            this.records = records;
+        }
+    }
+    
+    /**
+     * 원본 레코드를 묶음으로 모아 대기열에 넣음 (체크포인트까지는 건너뜀)
+     */
+    private final class BatchReader implements Consumer<PlayerDataStore.Record> {
+        private final BlockingQueue<Batch> queue;
+        private final AtomicReference<Throwable> failure;
+        private final long skip;
+        private long seen;
+        private long nextNumber;
+        private List<PlayerDataStore.Record> current = new ArrayList<>(batchSize);
+        
+        BatchReader(BlockingQueue<Batch> queue, AtomicReference<Throwable> failure, long skip) {
+            this.queue = queue;
+            this.failure = failure;
+            this.skip = skip;
+        }
+        
+        @Override
+        public void accept(PlayerDataStore.Record record) {
+            if (failure.get() != null) {
+                throw new AbortException();
+            }
+            if (seen++ < skip) {
+                return;
+            }
+            
+            current.add(record);
+            if (current.size() >= batchSize) {
+                finish();
+                current = new ArrayList<>(batchSize);
+            }
+        }
+        
+        void finish() {
+            if (!current.isEmpty()) {
+                putUninterruptibly(queue, new Batch(nextNumber++, current));
+            }
+        }
+    }
+    
+    private static void putUninterruptibly(BlockingQueue<Batch> queue, Batch batch) {
+        while (true) {
+            try {
+                queue.put(batch);
+                return;
+            } catch (InterruptedException e) {
+                // 쓰기 스레드가 대기열을 비울 때까지 계속 대기
+            }
+        }
+    }
+    
+    /**
+     * 기록이 끝난 묶음 반영, 앞에서부터 연속으로 끝난 만큼만 체크포인트 전진
+     */
+    private synchronized void onBatchWritten(long number, int size, Consumer<String> progress) throws IOException {
+        finishedBatches.put(number, size);
+        boolean advanced = false;
+        Integer finished;
+        while ((finished = finishedBatches.remove(nextBatchToCommit)) != null) {
+            committedRecords += finished;
+            nextBatchToCommit++;
+            advanced = true;
+        }
+        
+        if (advanced) {
+            writeCheckpoint(committedRecords);
+            if (committedRecords - lastReportedRecords >= PROGRESS_INTERVAL) {
+                lastReportedRecords = committedRecords;
+                progress.accept("마이그레이션 진행: " + committedRecords + "명");
+            }
+        }
+    }
+    
+    /**
+     * 원본 레코드를 순서대로 전달 (yaml은 players.yml을 한 줄씩 스트리밍)
+     */
+    private void forEachSource(Consumer<PlayerDataStore.Record> consumer) throws IOException {
+        if (sourceType.equals("yaml")) {
+            File legacyFile = new File(dataFolder, "players.yml");
+            if (!legacyFile.isFile()) {
+                return;
+            }
+            try (LegacyPlayerYamlReader reader = new LegacyPlayerYamlReader(legacyFile)) {
+                PlayerDataStore.Record record;
+                while ((record = reader.next()) != null) {
+                    consumer.accept(record);
+                }
+            }
+            return;
+        }
+        
+        PlayerDataStore source = PlayerDataStore.create(dataFolder, sourceType, config, logger);
+        try {
+            source.forEach(consumer);
+        } finally {
+            source.close();
+        }
+    }
+    
+    private void verify(PlayerDataStore target, Result result) throws IOException {
+        Summary source = new Summary();
+        forEachSource(record -> add(source, record));
+        Summary written = new Summary();
+        target.forEach(record -> add(written, record));
+        
+        result.sourceCount = source.count;
+        result.targetCount = written.count;
+        result.verified = source.count == written.count && source.checksum == written.checksum;
+        if (!result.verified) {
+            logger.warning("마이그레이션 검증 실패: 원본 " + source.count + "명, 대상 " + written.count + "명"
+                + (source.count == written.count ? " (값이 다른 레코드 있음)" : ""));
+        }
+    }
+    
+    /**
+     * 레코드 체크섬을 더함 (더하기라서 순서와 무관)
+     */
+    private static void add(Summary summary, PlayerDataStore.Record record) {
+        ByteBuffer bytes = ByteBuffer.allocate(16 + 5 * 8 + 2 * 4);
+        bytes.putLong(record.playerId.getMostSignificantBits());
+        bytes.putLong(record.playerId.getLeastSignificantBits());
+        bytes.putDouble(record.stats.health);
+        bytes.putDouble(record.stats.damage);
+        bytes.putDouble(record.stats.defense);
+        bytes.putDouble(record.stats.speed);
+        bytes.putDouble(record.stats.mining);
+        bytes.putInt(record.stats.statCoins);
+        bytes.putInt(record.stats.coins);
+        
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes.array()) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        summary.count++;
+        summary.checksum += hash;
+    }
+    
+    private long readCheckpoint() throws IOException {
+        if (!checkpointFile.isFile()) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointFile.toPath()));
+        if (buffer.remaining() < 12 || buffer.getInt() != CHECKPOINT_MAGIC) {
+            logger.warning("체크포인트 형식이 아니어서 처음부터 진행합니다: " + checkpointFile.getName());
+            return 0;
+        }
+        return buffer.getLong();
+    }
+    
+    private void writeCheckpoint(long records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(12);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeLong(records);
+        AtomicFiles.write(checkpointFile, bytes.toByteArray());
+    }
+    
+    /**
+     * 쓰기 스레드 오류로 원본 읽기를 멈출 때 사용
+     */
+    private static final class AbortException extends RuntimeException {
+        AbortException() {
+            super(null, null, false, false);
+        }
+    }
+    
+    /**
+     * 서버 밖에서 실행 (서버를 멈춘 상태에서, Bukkit API jar를 클래스패스에 포함)
+     * java -cp CustomRPG.jar:spigot-api.jar com.customrpg.plugin.PlayerDataMigrator <데이터 폴더> <원본> <대상> [쓰기 스레드 수]
+     * java -cp ... com.customrpg.plugin.PlayerDataMigrator verify <데이터 폴더> <원본> <대상>
+     */
+    public static void main(String[] args) throws Exception {
+        boolean verifyOnly = args.length > 0 && args[0].equalsIgnoreCase("verify");
+        int offset = verifyOnly ? 1 : 0;
+        if (args.length < offset + 3) {
+            System.err.println("사용법: PlayerDataMigrator [verify] <데이터 폴더> <원본 종류> <대상 종류> [쓰기 스레드 수]");
+            System.exit(2);
+            return;
+        }
+        
+        File dataFolder = new File(args[offset]);
+        YamlConfiguration config = new YamlConfiguration();
+        File configFile = new File(dataFolder, "config.yml");
+        if (configFile.isFile()) {
+            try {
+                config.load(configFile);
+            } catch (InvalidConfigurationException e) {
+                System.err.println("config.yml 형식 오류: " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+        
+        int writers = args.length > offset + 3 ? Integer.parseInt(args[offset + 3])
+            : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        PlayerDataMigrator migrator = new PlayerDataMigrator(dataFolder, config, Logger.getLogger("CustomRPG-Migrate"),
+            args[offset + 1], args[offset + 2], writers);
+        
+        Result result = verifyOnly ? migrator.verifyOnly() : migrator.run(System.out::println);
+        System.out.println("원본 " + result.sourceCount + "명, 대상 " + result.targetCount + "명, 검증 "
+            + (result.verified ? "성공" : "실패"));
+        System.exit(result.verified ? 0 : 1);
+    }
+}
@@ -0,0 +1,207 @@
+package com.customrpg.plugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 플레이어 데이터 저장소
+ * - load/forEach: 어느 스레드에서나 호출 가능
+ * - write/remove: 저장 스레드(PlayerDataWriter)에서만 호출
+ */
+interface PlayerDataStore {
+    
+    /**
+     * 저장 단위 레코드 (메인 스레드에서 복사된 스냅샷)
+     */
+    final class Record {
+        final UUID playerId;
+        final String name;
+        final PlayerStatsManager.PlayerStats stats;
+        
+        Record(UUID playerId, String name, PlayerStatsManager.PlayerStats stats) {
+            this.playerId = playerId;
+            this.name = name;
+            this.stats = stats;
+        }
+        
+        /**
+         * 저장소와 무관한 바이너리 형식으로 기록 (백업, 콜드 보관)
+         * uuid(16) + 이름 유무(1) + 이름(UTF) + 스텟 5개(double) + 코인 2개(int)
+         */
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(playerId.getMostSignificantBits());
+            out.writeLong(playerId.getLeastSignificantBits());
+            out.writeBoolean(name != null);
+            if (name != null) {
+                out.writeUTF(name);
+            }
+            
+            out.writeDouble(stats.health);
+            out.writeDouble(stats.damage);
+            out.writeDouble(stats.defense);
+            out.writeDouble(stats.speed);
+            out.writeDouble(stats.mining);
+            out.writeInt(stats.statCoins);
+            out.writeInt(stats.coins);
+        }
+        
+        static Record readFrom(DataInput in) throws IOException {
+            UUID playerId = new UUID(in.readLong(), in.readLong());
+            String name = in.readBoolean() ? in.readUTF() : null;
+            PlayerStatsManager.PlayerStats stats = new PlayerStatsManager.PlayerStats(
+                in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readInt(), in.readInt());
+            return new Record(playerId, name, stats);
+        }
+    }
+    
+    /**
+     * 저장소 종류 (config.yml의 storage.type 값)
+     */
+    String getType();
+    
+    /**
+     * 플레이어 데이터 조회
+     * @return 저장된 스텟 (없으면 null)
+     */
+    PlayerStatsManager.PlayerStats load(UUID playerId) throws IOException;
+    
+    /**
+     * 여러 레코드를 한 번에 저장
+     * @return 기록한 바이트 수
+     */
+    long write(Collection<Record> records) throws IOException;
+    
+    /**
+     * 저장된 모든 레코드 순회
+     */
+    void forEach(Consumer<Record> consumer) throws IOException;
+    
+    /**
+     * 플레이어 레코드 삭제 (콜드 보관으로 옮긴 플레이어)
+     */
+    void remove(Collection<UUID> playerIds) throws IOException;
+    
+    default void close() {}
+    
+    /**
+     * 설정된 종류의 저장소 열기 (필요하면 기존 players.yml에서 마이그레이션)
+     */
+    static PlayerDataStore open(File dataFolder, ConfigurationSection config, Logger logger) throws IOException {
+        File legacyFile = new File(dataFolder, "players.yml");
+        String type = config.getString("storage.type", "yaml").toLowerCase();
+        if (!isKnownType(type)) {
+            logger.warning("알 수 없는 저장소 종류: " + type + " (yaml 사용)");
+            type = "yaml";
+        }
+        
+        PlayerDataStore store = create(dataFolder, type, config, logger);
+        if (store instanceof YamlPlayerDataStore) {
+            return store;
+        }
+        
+        if (legacyFile.isFile() && legacyFile.length() > 0) {
+            migrateLegacyFile(store, legacyFile, logger);
+        }
+        return store;
+    }
+    
+    static boolean isKnownType(String type) {
+        switch (type) {
+            case "yaml":
+            case "sharded":
+            case "binary":
+            case "sqlite":
+            case "shared":
+            case "log":
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * 종류를 지정해서 저장소 생성 (마이그레이션 없음)
+     */
+    static PlayerDataStore create(File dataFolder, String type, ConfigurationSection config, Logger logger) throws IOException {
+        switch (type) {
+            case "sharded":
+                return new ShardedPlayerDataStore(new File(dataFolder, "players"));
+            
+            case "binary":
+                return new MappedPlayerDataStore(new File(dataFolder, "players.dat"));
+            
+            case "sqlite":
+                return new SqlPlayerDataStore(new File(dataFolder, config.getString("storage.sql.file", "players.db")),
+                    config.getInt("storage.sql.pool-size", 4));
+            
+            case "shared":
+                // 여러 서버가 같은 파일을 쓰도록 절대 경로 또는 플러그인 폴더 기준 상대 경로
+                File sharedFile = new File(config.getString("storage.shared.file", "players.db"));
+                return new SharedPlayerDataStore(sharedFile.isAbsolute() ? sharedFile : new File(dataFolder, sharedFile.getPath()),
+                    config.getInt("storage.sql.pool-size", 4),
+                    config.getString("storage.shared.node-id", ""),
+                    config.getLong("storage.shared.lease-seconds", 30) * 1000L,
+                    config.getLong("storage.shared.handoff-wait-seconds", 5) * 1000L,
+                    logger);
+            
+            case "log":
+                return new LogPlayerDataStore(new File(dataFolder, "playerlog"),
+                    config.getLong("storage.log.segment-size", 8) * 1024L * 1024L,
+                    config.getInt("storage.log.compact-after", 4), logger);
+            
+            case "yaml":
+                return new YamlPlayerDataStore(new File(dataFolder, "players.yml"), logger);
+            
+            default:
+                throw new IOException("알 수 없는 저장소 종류: " + type);
+        }
+    }
+    
+    /**
+     * 기존 players.yml을 한 레코드씩 읽어 다른 저장소로 옮김
+     * 완료 후 원본은 players.yml.migrated로 이름 변경
+     */
+    static void migrateLegacyFile(PlayerDataStore target, File legacyFile, Logger logger) throws IOException {
+        final int batchSize = 500;
+        long startTime = System.currentTimeMillis();
+        int migrated = 0;
+        
+        try (LegacyPlayerYamlReader reader = new LegacyPlayerYamlReader(legacyFile)) {
+            List<Record> batch = new ArrayList<>(batchSize);
+            Record record;
+            while ((record = reader.next()) != null) {
+                batch.add(record);
+                if (batch.size() >= batchSize) {
+                    target.write(batch);
+                    migrated += batch.size();
+                    batch.clear();
+                }
+            }
+            target.write(batch);
+            migrated += batch.size();
+            
+            if (reader.getSkippedCount() > 0) {
+                logger.warning("잘못된 UUID 형식으로 건너뛴 플레이어: " + reader.getSkippedCount() + "명");
+            }
+        }
+        
+        File migratedFile = new File(legacyFile.getParentFile(), legacyFile.getName() + ".migrated");
+        if (!legacyFile.renameTo(migratedFile)) {
+            throw new IOException("players.yml 이름 변경 실패: " + migratedFile.getName());
+        }
+        
+        logger.info("players.yml → " + target.getType() + " 마이그레이션 완료: " + migrated + "명 ("
+            + (System.currentTimeMillis() - startTime) + "ms)");
+    }
+}
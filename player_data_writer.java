@@ -0,0 +1,236 @@
+package com.customrpg.plugin;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 플레이어 데이터 쓰기 지연(write-behind) 저장기
+ * - 변경된 플레이어만 더티로 표시하고 주기적으로 모아서 저장
+ * - 메인 스레드에서는 레코드 복사만, 파일 쓰기는 백그라운드 스레드에서 수행
+ * - 실제 기록 방식은 PlayerDataStore 구현이 담당
+ * - 전체 저장(bulk)도 같은 경로로 합쳐져 파일을 한 번만 직렬화
+ */
+class PlayerDataWriter {
+    
+    private final CustomRPGPlugin plugin;
+    private final PlayerStatsManager statsManager;
+    private final PlayerDataStore store;
+    private final TransactionJournal journal;
+    private final ExecutorService ioExecutor;
+    
+    // 아직 디스크에 쓰이지 않은 레코드 (같은 플레이어는 최신 값으로 병합)
+    private final Map<UUID, PlayerDataStore.Record> pendingRecords = new ConcurrentHashMap<>();
+    // 저장소에 기록 중인 레코드 (기록이 끝나기 전의 조회가 옛 값을 읽지 않도록)
+    private final Map<UUID, PlayerDataStore.Record> inFlightRecords = new ConcurrentHashMap<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final Queue<CompletableFuture<PlayerStatsManager.SaveResult>> waitingSaves = new ConcurrentLinkedQueue<>();
+    private volatile boolean retryPending = false;
+    // 대기열에 든 레코드가 반영하고 있는 마지막 거래 txid (저장 성공 시 저널 체크포인트)
+    private volatile long coveredTxid;
+    private volatile PlayerStatsManager.SaveResult lastSaveResult;
+    private BukkitTask flushTask;
+    
+    PlayerDataWriter(CustomRPGPlugin plugin, PlayerStatsManager statsManager, PlayerDataStore store,
+                     TransactionJournal journal) {
+        this.plugin = plugin;
+        this.statsManager = statsManager;
+        this.store = store;
+        this.journal = journal;
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-PlayerData");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 주기적 저장 작업 시작
+     */
+    void start() {
+        long interval = Math.max(1, plugin.getConfig().getInt("settings.write-behind-interval", 5)) * 20L;
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+    
+    /**
+     * 이미 복사된 레코드를 저장 대기열에 추가
+     */
+    void enqueue(PlayerDataStore.Record record) {
+        pendingRecords.put(record.playerId, record);
+    }
+    
+    /**
+     * 더티 레코드를 모아 백그라운드 저장 요청 (메인 스레드)
+     */
+    void flush() {
+        // 더티 플레이어를 모두 복사하면 이 txid까지의 거래가 대기열에 포함됨
+        long txid = journal.getLastTxid();
+        for (PlayerDataStore.Record record : statsManager.drainDirtyRecords()) {
+            pendingRecords.put(record.playerId, record);
+        }
+        coveredTxid = txid;
+        
+        if (pendingRecords.isEmpty() && !retryPending) {
+            return;
+        }
+        
+        scheduleWrite();
+    }
+    
+    /**
+     * 한 번에 복사된 전체 스냅샷 저장 (직렬화와 fsync는 백그라운드에서 한 번만 수행)
+     */
+    CompletableFuture<PlayerStatsManager.SaveResult> saveSnapshot(List<PlayerDataStore.Record> records) {
+        CompletableFuture<PlayerStatsManager.SaveResult> future = new CompletableFuture<>();
+        for (PlayerDataStore.Record record : records) {
+            pendingRecords.put(record.playerId, record);
+        }
+        waitingSaves.add(future);
+        scheduleWrite();
+        return future;
+    }
+    
+    private void scheduleWrite() {
+        // 이미 대기 중인 쓰기가 있으면 그 쓰기에 합쳐짐
+        if (writeScheduled.compareAndSet(false, true)) {
+            ioExecutor.execute(this::writePending);
+        }
+    }
+    
+    private void writePending() {
+        writeScheduled.set(false);
+        
+        List<CompletableFuture<PlayerStatsManager.SaveResult>> saves = new ArrayList<>();
+        CompletableFuture<PlayerStatsManager.SaveResult> waiting;
+        while ((waiting = waitingSaves.poll()) != null) {
+            saves.add(waiting);
+        }
+        
+        long txid = coveredTxid;
+        long startTime = System.nanoTime();
+        List<PlayerDataStore.Record> batch = new ArrayList<>(pendingRecords.size());
+        for (UUID playerId : pendingRecords.keySet()) {
+            PlayerDataStore.Record record = pendingRecords.remove(playerId);
+            if (record != null) {
+                batch.add(record);
+                inFlightRecords.put(playerId, record);
+            }
+        }
+        
+        try {
+            long bytesWritten = store.write(batch);
+            retryPending = false;
+            journal.checkpoint(txid);
+            for (PlayerDataStore.Record record : batch) {
+                inFlightRecords.remove(record.playerId, record);
+            }
+            
+            PlayerStatsManager.SaveResult result = new PlayerStatsManager.SaveResult(
+                batch.size(), bytesWritten, (System.nanoTime() - startTime) / 1_000_000L);
+            lastSaveResult = result;
+            for (CompletableFuture<PlayerStatsManager.SaveResult> save : saves) {
+                save.complete(result);
+            }
+        } catch (SharedPlayerDataStore.WriteConflictException e) {
+            // 나머지는 커밋됐지만 충돌한 레코드의 거래가 저널에 남도록 체크포인트는 옮기지 않음
+            for (PlayerDataStore.Record record : batch) {
+                if (e.getPlayerIds().contains(record.playerId)) {
+                    pendingRecords.putIfAbsent(record.playerId, record);
+                }
+                inFlightRecords.remove(record.playerId, record);
+            }
+            retryPending = true;
+            plugin.getLogger().warning("플레이어 데이터 일부 저장 실패, 다음 주기에 재시도: " + e.getMessage());
+            for (CompletableFuture<PlayerStatsManager.SaveResult> save : saves) {
+                save.completeExceptionally(e);
+            }
+        } catch (IOException e) {
+            // 실패한 레코드는 더 최신 값이 없을 때만 다시 대기열에 넣고 다음 주기에 재시도
+            for (PlayerDataStore.Record record : batch) {
+                pendingRecords.putIfAbsent(record.playerId, record);
+                inFlightRecords.remove(record.playerId, record);
+            }
+            retryPending = true;
+            plugin.getLogger().warning("플레이어 데이터 저장 실패: " + e.getMessage());
+            for (CompletableFuture<PlayerStatsManager.SaveResult> save : saves) {
+                save.completeExceptionally(e);
+            }
+        }
+    }
+    
+    /**
+     * 대기 중인 저장이 끝난 뒤 저장 스레드에서 작업 실행 (메인 스레드에서 호출)
+     * - 저장 스레드는 하나라서 작업 중에는 저장소에 다른 쓰기가 끼어들지 않음
+     */
+    <T> CompletableFuture<T> callAfterWrites(Callable<T> task) {
+        flush();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, ioExecutor);
+    }
+    
+    /**
+     * 아직 기록되지 않은 레코드를 대기열에서 제거 (복원한 값을 옛 값으로 덮어쓰지 않도록)
+     */
+    void discardPending(UUID playerId) {
+        pendingRecords.remove(playerId);
+    }
+    
+    /**
+     * 아직 저장소에 반영되지 않은 최신 값 (없으면 null)
+     */
+    PlayerStatsManager.PlayerStats peekUnwritten(UUID playerId) {
+        PlayerDataStore.Record record = pendingRecords.get(playerId);
+        if (record == null) {
+            record = inFlightRecords.get(playerId);
+        }
+        return record != null ? record.stats.copy() : null;
+    }
+    
+    PlayerStatsManager.SaveResult getLastSaveResult() {
+        return lastSaveResult;
+    }
+    
+    /**
+     * 남은 데이터를 저장하고 종료 (onDisable, 제한 시간 내에서만 대기)
+     */
+    void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        
+        flush();
+        ioExecutor.shutdown();
+        
+        long timeout = Math.max(1, plugin.getConfig().getLong("settings.shutdown-flush-timeout", 10));
+        try {
+            if (!ioExecutor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("플레이어 데이터 저장이 " + timeout + "초 안에 끝나지 않았습니다.");
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ioExecutor.shutdownNow();
+        }
+        
+        store.close();
+    }
+}
@@ -0,0 +1,145 @@
+package com.customrpg.plugin;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 오프라인 플레이어 스텟 LRU 캐시
+ * - 최대 개수와 마지막 접근 후 유지 시간으로 제한
+ * - 적중/실패/제거 횟수 집계
+ * - 모든 메소드는 스레드 안전 (내부 잠금)
+ */
+class PlayerStatsCache {
+    
+    private static final class Entry {
+        final PlayerStatsManager.PlayerStats stats;
+        long lastAccess;
+        
+        Entry(PlayerStatsManager.PlayerStats stats, long lastAccess) {
+            this.stats = stats;
+            this.lastAccess = lastAccess;
+        }
+    }
+    
+    private final int maxSize;
+    private final long expireAfterMillis;
+    private final BiConsumer<UUID, PlayerStatsManager.PlayerStats> evictionListener;
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    PlayerStatsCache(int maxSize, long expireAfterMillis, BiConsumer<UUID, PlayerStatsManager.PlayerStats> evictionListener) {
+        this.maxSize = Math.max(1, maxSize);
+        this.expireAfterMillis = expireAfterMillis;
+        this.evictionListener = evictionListener;
+    }
+    
+    /**
+     * 캐시 조회 (적중/실패 집계, 유지 시간은 expireEntries에서만 처리)
+     */
+    PlayerStatsManager.PlayerStats get(UUID playerId) {
+        synchronized (entries) {
+            Entry entry = entries.get(playerId);
+            if (entry != null) {
+                entry.lastAccess = System.currentTimeMillis();
+                hits.incrementAndGet();
+                return entry.stats;
+            }
+        }
+        
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    /**
+     * 집계 없이 조회 (저장 작업용)
+     */
+    PlayerStatsManager.PlayerStats peek(UUID playerId) {
+        synchronized (entries) {
+            Entry entry = entries.get(playerId);
+            return entry != null ? entry.stats : null;
+        }
+    }
+    
+    /**
+     * 캐시에서 꺼냄 (접속한 플레이어를 활성 목록으로 옮길 때)
+     */
+    PlayerStatsManager.PlayerStats remove(UUID playerId) {
+        synchronized (entries) {
+            Entry entry = entries.remove(playerId);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry.stats;
+            }
+        }
+        
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    void put(UUID playerId, PlayerStatsManager.PlayerStats stats) {
+        Map<UUID, PlayerStatsManager.PlayerStats> evicted = new LinkedHashMap<>();
+        synchronized (entries) {
+            entries.put(playerId, new Entry(stats, System.currentTimeMillis()));
+            
+            // 가장 오래 사용하지 않은 항목부터 제거
+            Iterator<Map.Entry<UUID, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                Map.Entry<UUID, Entry> eldest = iterator.next();
+                iterator.remove();
+                evicted.put(eldest.getKey(), eldest.getValue().stats);
+            }
+        }
+        notifyEvicted(evicted);
+    }
+    
+    /**
+     * 유지 시간이 지난 항목 제거
+     */
+    void expireEntries() {
+        long now = System.currentTimeMillis();
+        Map<UUID, PlayerStatsManager.PlayerStats> evicted = new LinkedHashMap<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<UUID, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Entry> entry = iterator.next();
+                if (now - entry.getValue().lastAccess > expireAfterMillis) {
+                    iterator.remove();
+                    evicted.put(entry.getKey(), entry.getValue().stats);
+                }
+            }
+        }
+        notifyEvicted(evicted);
+    }
+    
+    private void notifyEvicted(Map<UUID, PlayerStatsManager.PlayerStats> evicted) {
+        for (Map.Entry<UUID, PlayerStatsManager.PlayerStats> entry : evicted.entrySet()) {
+            evictions.incrementAndGet();
+            evictionListener.accept(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    long getHitCount() {
+        return hits.get();
+    }
+    
+    long getMissCount() {
+        return misses.get();
+    }
+    
+    long getEvictionCount() {
+        return evictions.get();
+    }
+}
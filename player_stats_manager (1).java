@@ -1,24 +1,213 @@
 package com.customrpg.plugin;
 
 import org.bukkit.entity.Player;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerStatsManager {
     
     private CustomRPGPlugin plugin;
-    private Map<UUID, PlayerStats> playerStatsMap;
+    private Map<UUID, PlayerStats> playerStatsMap; // 접속 중인 플레이어
+    private final PlayerDataStore store;
+    
+    // 오프라인 플레이어 캐시와 접속 전에 미리 불러온 데이터
+    private static final long PREFETCH_TIMEOUT_MILLIS = 60_000L;
+    private final PlayerStatsCache offlineCache;
+    private final Map<UUID, PrefetchedStats> prefetchedStats = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private final Set<UUID> balanceLoads = ConcurrentHashMap.newKeySet();
+    private BukkitTask cacheMaintenanceTask;
+    
+    // 쓰기 지연 저장 (변경된 플레이어만 주기적으로 저장)
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, String> playerNames = new ConcurrentHashMap<>();
+    private PlayerDataWriter dataWriter;
+    
+    // 코인/스텟 코인 거래 저널 (저장 주기 사이의 충돌에도 보상 유지)
+    private final TransactionJournal journal;
+    
+    // 오래 접속하지 않은 플레이어의 콜드 보관소
+    private final ColdPlayerArchive archive;
+    private BukkitTask archiveTask;
+    
+    // 여러 서버가 저장소를 공유할 때의 플레이어 임대 (storage.type: shared가 아니면 null)
+    private final SharedPlayerDataStore sharedStore;
+    private final Set<UUID> pendingLeaseReleases = ConcurrentHashMap.newKeySet();
+    private final Object leaseLock = new Object();
+    private BukkitTask leaseTask;
+    
+    // 코인/스텟 코인/처치 수 순위표 (변경 시 즉시 갱신, 주기적으로 파일 저장)
+    private final LeaderboardManager leaderboards;
+    private BukkitTask leaderboardTask;
     
     public PlayerStatsManager(CustomRPGPlugin plugin) {
+        this(plugin, openStorage(plugin));
+    }
+    
+    /**
+     * 미리 열어 둔 저장소로 초기화 (시작 시 다른 설정 파일과 병렬로 열기 위해 분리)
+     */
+    PlayerStatsManager(CustomRPGPlugin plugin, Storage storage) {
         this.plugin = plugin;
-        this.playerStatsMap = new HashMap<>();
-        loadAllPlayerData();
+        this.playerStatsMap = new ConcurrentHashMap<>();
+        this.store = storage.store;
+        this.journal = storage.journal;
+        this.archive = storage.archive;
+        this.leaderboards = storage.leaderboards;
+        this.sharedStore = store instanceof SharedPlayerDataStore ? (SharedPlayerDataStore) store : null;
+        
+        int cacheSize = plugin.getConfig().getInt("storage.cache.max-size", 1000);
+        long expireSeconds = plugin.getConfig().getLong("storage.cache.expire-after", 600);
+        this.offlineCache = new PlayerStatsCache(cacheSize, expireSeconds * 1000L, this::onCacheEviction);
+        
+        journal.start();
+        
+        // 전체 로드 대신 접속하는 플레이어만 필요할 때 불러옴
+        this.dataWriter = new PlayerDataWriter(plugin, this, store, journal);
+        this.dataWriter.start();
+        this.cacheMaintenanceTask = plugin.getServer().getScheduler().runTaskTimer(plugin,
+            this::maintainCache, 1200L, 1200L);
+        
+        long leaderboardInterval = Math.max(1, plugin.getConfig().getLong("leaderboards.save-interval-minutes", 5)) * 1200L;
+        this.leaderboardTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            leaderboards::saveIfDirty, leaderboardInterval, leaderboardInterval);
+        
+        if (sharedStore != null) {
+            // 만료 전에 여러 번 연장하도록 임대 시간의 1/3마다 실행
+            long period = Math.max(20L, sharedStore.getLeaseMillis() / 1000L * 20L / 3L);
+            this.leaseTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::maintainLeases, period, period);
+            sharedStore.setMergeListener(this::absorbForeignBalance);
+            plugin.getLogger().info("공유 저장소 사용 (서버 ID: " + sharedStore.getNodeId() + ")");
+        } else if (plugin.getConfig().getBoolean("archive.enabled", true)) {
+            long interval = Math.max(1, plugin.getConfig().getLong("archive.check-interval-hours", 24)) * 72000L;
+            this.archiveTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () ->
+                archiveInactivePlayers().whenComplete((count, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().warning("콜드 보관 실패: " + PlayerBackupService.rootMessage(error));
+                    }
+                }), 12000L, interval);
+        }
+    }
+    
+    /**
+     * 열린 저장소와 재생이 끝난 거래 저널, 콜드 보관소, 순위표
+     */
+    static final class Storage {
+        final PlayerDataStore store;
+        final TransactionJournal journal;
+        final ColdPlayerArchive archive;
+        final LeaderboardManager leaderboards;
+        
+        Storage(PlayerDataStore store, TransactionJournal journal, ColdPlayerArchive archive,
+                LeaderboardManager leaderboards) {
+            this.store = store;
+            this.journal = journal;
+            this.archive = archive;
+            this.leaderboards = leaderboards;
+        }
+    }
+    
+    /**
+     * 저장소를 열고 지난 종료 때 반영되지 못한 거래 복구 (메인 스레드가 아니어도 됨)
+     */
+    static Storage openStorage(CustomRPGPlugin plugin) {
+        PlayerDataStore store;
+        try {
+            store = PlayerDataStore.open(plugin.getDataFolder(), plugin.getConfig(), plugin.getLogger());
+        } catch (IOException e) {
+            throw new IllegalStateException("플레이어 데이터 저장소를 열 수 없습니다: " + e.getMessage(), e);
+        }
+        
+        // 저널 재생 때 콜드 보관된 플레이어도 찾을 수 있도록 보관소를 먼저 열기
+        ColdPlayerArchive archive;
+        try {
+            archive = new ColdPlayerArchive(new File(plugin.getDataFolder(), "archive"), plugin.getLogger());
+        } catch (IOException e) {
+            store.close();
+            throw new IllegalStateException("콜드 보관소를 열 수 없습니다: " + e.getMessage(), e);
+        }
+        
+        TransactionJournal journal = new TransactionJournal(new File(plugin.getDataFolder(), "journal"), plugin.getLogger());
+        try {
+            journal.replay(store, archive);
+        } catch (IOException e) {
+            store.close();
+            throw new IllegalStateException("거래 저널을 재생할 수 없습니다: " + e.getMessage(), e);
+        }
+        
+        // 비정상 종료 후에는 저널 재생까지 끝난 저장소에서 코인 순위표를 다시 만듦
+        // (공유 저장소는 다른 서버의 변경을 반영하도록 매번)
+        LeaderboardManager leaderboards = new LeaderboardManager(plugin.getDataFolder(), plugin.getLogger());
+        if (leaderboards.needsRebuild() || store instanceof SharedPlayerDataStore) {
+            try {
+                leaderboards.rebuildBalances(store);
+            } catch (IOException e) {
+                plugin.getLogger().warning("순위표 재생성 실패: " + e.getMessage());
+            }
+        }
+        return new Storage(store, journal, archive, leaderboards);
+    }
+    
+    private static final class PrefetchedStats {
+        final PlayerStats stats;
+        final long loadedAt;
+        
+        PrefetchedStats(PlayerStats stats) {
+            this.stats = stats;
+            this.loadedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * CoinBatch에서 계정 하나의 코인 종류 하나에 적용할 순변경량
+     */
+    private static final class BalanceChange {
+        final UUID playerId;
+        final PlayerStats stats;
+        final CoinLedger.Currency currency;
+        final long delta;
+        
+        BalanceChange(UUID playerId, PlayerStats stats, CoinLedger.Currency currency, long delta) {
+            this.playerId = playerId;
+            this.stats = stats;
+            this.currency = currency;
+            this.delta = delta;
+        }
+        
+        boolean apply() {
+            if (delta < Integer.MIN_VALUE + 1 || delta > Integer.MAX_VALUE) {
+                return false;
+            }
+            if (delta < 0) {
+                return CoinLedger.trySpend(stats, currency, (int) -delta) >= 0;
+            }
+            try {
+                CoinLedger.credit(stats, currency, (int) delta);
+                return true;
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+        
+        void undo() {
+            CoinLedger.credit(stats, currency, (int) -delta);
+        }
     }
     
     public static class PlayerStats {
@@ -27,8 +216,12 @@ public class PlayerStatsManager {
         public double defense = 0;     // 방어력 증가
         public double speed = 0;       // 속도 증가
         public double mining = 0;      // 채굴속도 증가
-        public int statCoins = 0;      // 스텟 코인
-        public int coins = 0;          // 일반 코인
+        // 코인은 다른 스레드에서도 바뀌므로 CoinLedger로만 변경
+        public volatile int statCoins = 0;      // 스텟 코인
+        public volatile int coins = 0;          // 일반 코인
+        // 공유 저장소에서 다른 서버가 반영한 코인 중 이 객체에 더한 양 (저장하지 않음)
+        volatile int foreignStatCoins = 0;
+        volatile int foreignCoins = 0;
         
         public PlayerStats() {}
         
@@ -41,46 +234,275 @@ public class PlayerStatsManager {
             this.statCoins = statCoins;
             this.coins = coins;
         }
+        
+        public synchronized PlayerStats copy() {
+            PlayerStats copy = new PlayerStats(health, damage, defense, speed, mining, statCoins, coins);
+            copy.foreignStatCoins = foreignStatCoins;
+            copy.foreignCoins = foreignCoins;
+            return copy;
+        }
+        
+        /**
+         * 다른 서버가 공유 저장소에 반영한 코인 변경을 더함
+         * - 복사본마다 이 서버에서 생긴 변경(잔액 - 더한 양)을 구분할 수 있도록 잔액과 같이 기록
+         */
+        synchronized void absorbForeign(int statCoinsDelta, int coinsDelta) {
+            CoinLedger.credit(this, CoinLedger.Currency.STAT_COINS, statCoinsDelta);
+            foreignStatCoins += statCoinsDelta;
+            CoinLedger.credit(this, CoinLedger.Currency.COINS, coinsDelta);
+            foreignCoins += coinsDelta;
+        }
     }
     
+    /**
+     * 저장 결과 (소요 시간, 기록한 바이트 수)
+     */
+    public static class SaveResult {
+        public final int records;
+        public final long bytesWritten;
+        public final long durationMillis;
+        
+        public SaveResult(int records, long bytesWritten, long durationMillis) {
+            this.records = records;
+            this.bytesWritten = bytesWritten;
+            this.durationMillis = durationMillis;
+        }
+    }
+    
+    /**
+     * 플레이어 스텟 조회 (접속 중이 아니면 캐시 또는 저장소에서 불러옴)
+     */
     public PlayerStats getPlayerStats(UUID playerId) {
-        return playerStatsMap.computeIfAbsent(playerId, k -> new PlayerStats());
+        PlayerStats stats = playerStatsMap.get(playerId);
+        if (stats != null) {
+            return stats;
+        }
+        
+        stats = offlineCache.get(playerId);
+        if (stats != null) {
+            return stats;
+        }
+        
+        // 접속/퇴장 이동도 같은 잠금 안에서 일어나므로, 그 사이에 옮겨진 객체를 다시 확인
+        synchronized (loadLock) {
+            stats = playerStatsMap.get(playerId);
+            if (stats != null) {
+                return stats;
+            }
+            stats = offlineCache.peek(playerId);
+            if (stats == null) {
+                stats = readStats(playerId);
+                offlineCache.put(playerId, stats);
+            }
+            return stats;
+        }
     }
     
     public PlayerStats getPlayerStats(Player player) {
-        return getPlayerStats(player.getUniqueId());
+        PlayerStats stats = playerStatsMap.get(player.getUniqueId());
+        if (stats == null) {
+            loadPlayerData(player);
+            stats = playerStatsMap.get(player.getUniqueId());
+        }
+        return stats;
     }
     
     public void addStatCoins(Player player, int amount) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.statCoins += amount;
-        savePlayerData(player);
+        playerNames.put(player.getUniqueId(), player.getName());
+        credit(player.getUniqueId(), CoinLedger.Currency.STAT_COINS, amount);
     }
     
     public void addCoins(Player player, int amount) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.coins += amount;
-        savePlayerData(player);
+        playerNames.put(player.getUniqueId(), player.getName());
+        credit(player.getUniqueId(), CoinLedger.Currency.COINS, amount);
     }
     
     public boolean spendStatCoins(Player player, int amount) {
-        PlayerStats stats = getPlayerStats(player);
-        if (stats.statCoins >= amount) {
-            stats.statCoins -= amount;
-            savePlayerData(player);
-            return true;
-        }
-        return false;
+        playerNames.put(player.getUniqueId(), player.getName());
+        return spend(player.getUniqueId(), CoinLedger.Currency.STAT_COINS, amount);
     }
     
     public boolean spendCoins(Player player, int amount) {
+        playerNames.put(player.getUniqueId(), player.getName());
+        return spend(player.getUniqueId(), CoinLedger.Currency.COINS, amount);
+    }
+    
+    /**
+     * 잔액 조회 (어느 스레드에서나, 잠금 없음)
+     */
+    public int getBalance(UUID playerId, CoinLedger.Currency currency) {
+        return CoinLedger.balance(getPlayerStats(playerId), currency);
+    }
+    
+    /**
+     * 저장소를 읽지 않는 잔액 조회 (Vault처럼 메인 스레드에서 자주 부르는 조회용)
+     * - 메모리에 없으면 순위표의 잔액을 돌려주고, 저장 스레드에서 미리 불러와서 다음 조회부터 캐시 사용
+     * - 순위표는 모든 잔액 변경을 바로 반영하므로 이 서버에서는 저장소 값과 같음
+     */
+    public int peekBalance(UUID playerId, CoinLedger.Currency currency) {
+        PlayerStats stats = playerStatsMap.get(playerId);
+        if (stats == null) {
+            stats = offlineCache.get(playerId);
+        }
+        if (stats != null) {
+            return CoinLedger.balance(stats, currency);
+        }
+        
+        if (balanceLoads.add(playerId)) {
+            callOnStorageThread(() -> getPlayerStats(playerId))
+                .whenComplete((ignored, error) -> balanceLoads.remove(playerId));
+        }
+        return (int) leaderboards.getScore(LeaderboardManager.Board.of(currency), playerId);
+    }
+    
+    /**
+     * 코인 적립 (어느 스레드에서나 호출 가능, 오프라인 플레이어 포함)
+     * @return 적립 후 잔액
+     */
+    public int credit(UUID playerId, CoinLedger.Currency currency, int amount) {
+        PlayerStats stats = getPlayerStats(playerId);
+        int balance = CoinLedger.credit(stats, currency, amount);
+        onBalanceChanged(playerId, stats, currency, amount);
+        return balance;
+    }
+    
+    /**
+     * 잔액이 충분할 때만 차감 (어느 스레드에서나 호출 가능)
+     * @return 잔액이 부족하면 false
+     */
+    public boolean spend(UUID playerId, CoinLedger.Currency currency, int amount) {
+        PlayerStats stats = getPlayerStats(playerId);
+        if (CoinLedger.trySpend(stats, currency, amount) < 0) {
+            return false;
+        }
+        onBalanceChanged(playerId, stats, currency, -amount);
+        return true;
+    }
+    
+    /**
+     * 여러 플레이어의 코인 지급/차감을 한 거래로 적용 (어느 스레드에서나 호출 가능)
+     * - 차감을 먼저 CAS로 적용하고, 잔액이 부족한 계정이 나오면 적용한 차감을 되돌린 뒤 실패
+     * - 모두 성공하면 지급을 적용하고 저널에 엔트리 하나로 기록 (저장소 쓰기는 다음 저장 주기에 한 번)
+     */
+    public CoinBatch.Result applyCoinBatch(CoinBatch batch) {
+        Map<UUID, long[]> deltas = batch.getNetDeltas();
+        Map<UUID, PlayerStats> accounts = new HashMap<>();
+        for (UUID playerId : deltas.keySet()) {
+            accounts.put(playerId, getPlayerStats(playerId));
+        }
+        
+        // 차감 → 지급 순으로 적용 (지급은 int 범위를 넘을 때만 실패)
+        List<BalanceChange> changes = new ArrayList<>();
+        for (boolean debits : new boolean[] {true, false}) {
+            for (Map.Entry<UUID, long[]> entry : deltas.entrySet()) {
+                for (CoinLedger.Currency currency : CoinLedger.Currency.values()) {
+                    long delta = entry.getValue()[currency.ordinal()];
+                    if (delta != 0 && (delta < 0) == debits) {
+                        changes.add(new BalanceChange(entry.getKey(), accounts.get(entry.getKey()), currency, delta));
+                    }
+                }
+            }
+        }
+        
+        int applied = 0;
+        while (applied < changes.size() && changes.get(applied).apply()) {
+            applied++;
+        }
+        
+        if (applied < changes.size()) {
+            // 적용한 순서의 반대로 되돌림
+            for (int i = applied - 1; i >= 0; i--) {
+                changes.get(i).undo();
+            }
+            BalanceChange failed = changes.get(applied);
+            return new CoinBatch.Result(false, deltas.size(), failed.playerId, failed.currency);
+        }
+        
+        for (Map.Entry<UUID, PlayerStats> account : accounts.entrySet()) {
+            markBalanceDirty(account.getKey(), account.getValue());
+        }
+        journal.recordBatch(deltas, accounts);
+        for (BalanceChange change : changes) {
+            leaderboards.updateBalance(change.playerId, change.stats, change.currency);
+        }
+        return new CoinBatch.Result(true, deltas.size(), null, null);
+    }
+    
+    /**
+     * 잔액 변경 후 저장 표시와 저널 기록
+     * - 저장 스레드는 txid를 읽은 뒤 더티 목록을 복사하므로 더티 표시를 저널 기록보다 먼저 해야 함
+     */
+    private void onBalanceChanged(UUID playerId, PlayerStats stats, CoinLedger.Currency currency, int delta) {
+        markBalanceDirty(playerId, stats);
+        journal.recordBalance(playerId, stats, currency.journalField(), delta);
+        leaderboards.updateBalance(playerId, stats, currency);
+    }
+    
+    /**
+     * 공유 저장소 병합 때 발견한 다른 서버의 코인 변경을 메모리의 객체에 반영 (저장 스레드)
+     * - 저장소에는 이미 반영되어 있으므로 저장 표시와 저널 기록은 하지 않음
+     */
+    private void absorbForeignBalance(UUID playerId, int statCoinsDelta, int coinsDelta) {
+        PlayerStats stats = playerStatsMap.get(playerId);
+        if (stats == null) {
+            stats = offlineCache.peek(playerId);
+        }
+        if (stats == null) {
+            PrefetchedStats prefetched = prefetchedStats.get(playerId);
+            stats = prefetched != null ? prefetched.stats : null;
+        }
+        if (stats == null) {
+            return;
+        }
+        
+        try {
+            stats.absorbForeign(statCoinsDelta, coinsDelta);
+        } catch (ArithmeticException e) {
+            plugin.getLogger().warning("다른 서버의 코인 변경을 반영하지 못했습니다 (다음 접속 때 반영): " + playerId);
+            return;
+        }
+        leaderboards.updateBalance(playerId, stats, CoinLedger.Currency.STAT_COINS);
+        leaderboards.updateBalance(playerId, stats, CoinLedger.Currency.COINS);
+    }
+    
+    private void markBalanceDirty(UUID playerId, PlayerStats stats) {
+        dirtyPlayers.add(playerId);
+        
+        // 그 사이 오프라인 캐시에서 빠진 객체면 변경이 사라지지 않도록 직접 저장 대기열에 넣음
+        if (playerStatsMap.get(playerId) != stats && offlineCache.peek(playerId) != stats) {
+            dataWriter.enqueue(new PlayerDataStore.Record(playerId, playerNames.get(playerId), stats.copy()));
+        }
+    }
+    
+    /**
+     * 스텟 코인을 써서 스텟 올리기 (차감과 증가를 거래 하나로 기록)
+     * @return 스텟 코인이 부족하면 false
+     */
+    public boolean upgradeStat(Player player, TransactionJournal.Field field, double amount, int cost) {
         PlayerStats stats = getPlayerStats(player);
-        if (stats.coins >= amount) {
-            stats.coins -= amount;
-            savePlayerData(player);
-            return true;
+        int statCoinsAfter = CoinLedger.trySpend(stats, CoinLedger.Currency.STAT_COINS, cost);
+        if (statCoinsAfter < 0) {
+            return false;
         }
-        return false;
+        
+        double valueAfter;
+        switch (field) {
+            case HEALTH: valueAfter = stats.health += amount; break;
+            case DAMAGE: valueAfter = stats.damage += amount; break;
+            case DEFENSE: valueAfter = stats.defense += amount; break;
+            case SPEED: valueAfter = stats.speed += amount; break;
+            case MINING: valueAfter = stats.mining += amount; break;
+            default:
+                CoinLedger.credit(stats, CoinLedger.Currency.STAT_COINS, cost);
+                throw new IllegalArgumentException("스텟 필드가 아닙니다: " + field);
+        }
+        
+        markDirty(player);
+        journal.recordBalance(player.getUniqueId(), stats,
+            new TransactionJournal.Change(TransactionJournal.Field.STAT_COINS, -cost, statCoinsAfter),
+            new TransactionJournal.Change(field, amount, valueAfter));
+        leaderboards.updateBalance(player.getUniqueId(), stats, CoinLedger.Currency.STAT_COINS);
+        return true;
     }
     
     public void addTemporaryStats(Player player, double health, double damage, double defense, double speed, double mining) {
@@ -136,11 +558,7 @@ public class PlayerStatsManager {
     
     public void resetPlayerStats(Player player) {
         PlayerStats stats = getPlayerStats(player);
-        
-        // 기본값으로 되돌리기
-        player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(20.0);
-        player.removePotionEffect(PotionEffectType.SPEED);
-        player.removePotionEffect(PotionEffectType.FAST_DIGGING);
+        resetPlayerAttributes(player);
         
         // 임시 스텟 초기화 (코인은 유지)
         stats.health = 0;
@@ -150,69 +568,406 @@ public class PlayerStatsManager {
         stats.mining = 0;
     }
     
+    /**
+     * 엔티티 속성과 효과만 기본값으로 되돌림 (저장되는 스텟 값은 그대로)
+     * - 퇴장 때는 스텟 객체가 오프라인 캐시로 옮겨지므로 값을 건드리지 않음
+     */
+    public void resetPlayerAttributes(Player player) {
+        player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(20.0);
+        player.removePotionEffect(PotionEffectType.SPEED);
+        player.removePotionEffect(PotionEffectType.FAST_DIGGING);
+    }
+    
+    /**
+     * 플레이어를 저장 대상으로 표시 (실제 저장은 PlayerDataWriter가 주기적으로 수행)
+     */
+    public void markDirty(Player player) {
+        playerNames.put(player.getUniqueId(), player.getName());
+        dirtyPlayers.add(player.getUniqueId());
+    }
+    
+    /**
+     * 현재 값을 즉시 스냅샷하여 저장 대기열에 추가 (디스크 쓰기는 다음 주기에 수행)
+     */
     public void savePlayerData(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        FileConfiguration config = plugin.getPlayersConfig();
-        String path = "players." + player.getUniqueId().toString();
+        UUID playerId = player.getUniqueId();
+        dirtyPlayers.remove(playerId);
+        playerNames.remove(playerId);
+        dataWriter.enqueue(new PlayerDataStore.Record(playerId, player.getName(), getPlayerStats(player).copy()));
+    }
+    
+    /**
+     * 더티 플레이어들의 스냅샷을 만들고 더티 표시 해제 (메인 스레드)
+     */
+    List<PlayerDataStore.Record> drainDirtyRecords() {
+        List<PlayerDataStore.Record> records = new ArrayList<>(dirtyPlayers.size());
+        Iterator<UUID> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext()) {
+            UUID playerId = iterator.next();
+            iterator.remove();
+            
+            PlayerStats stats = playerStatsMap.get(playerId);
+            if (stats == null) {
+                stats = offlineCache.peek(playerId);
+            }
+            if (stats != null) {
+                records.add(new PlayerDataStore.Record(playerId, playerNames.remove(playerId), stats.copy()));
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * 접속 전 데이터 미리 불러오기 (AsyncPlayerPreLoginEvent, 비동기 스레드)
+     * @return 공유 모드에서 다른 서버가 임대를 반납하지 않아 접속을 막아야 하면 false
+     */
+    public boolean prefetchPlayerData(UUID playerId) {
+        archive.touch(playerId);
+        if (sharedStore != null) {
+            return prefetchLeased(playerId);
+        }
+        
+        if (playerStatsMap.containsKey(playerId) || offlineCache.peek(playerId) != null) {
+            return true;
+        }
+        prefetchedStats.put(playerId, new PrefetchedStats(readStats(playerId)));
+        return true;
+    }
+    
+    /**
+     * 공유 모드: 임대를 얻은 뒤 다른 서버에서 바뀌었을 수 있는 값을 저장소에서 다시 읽음
+     */
+    private boolean prefetchLeased(UUID playerId) {
+        synchronized (leaseLock) {
+            // 퇴장 직후 같은 서버로 다시 접속하면 반납 예정이던 임대를 그대로 사용
+            pendingLeaseReleases.remove(playerId);
+        }
         
-        config.set(path + ".health", stats.health);
-        config.set(path + ".damage", stats.damage);
-        config.set(path + ".defense", stats.defense);
-        config.set(path + ".speed", stats.speed);
-        config.set(path + ".mining", stats.mining);
-        config.set(path + ".statCoins", stats.statCoins);
-        config.set(path + ".coins", stats.coins);
-        config.set(path + ".name", player.getName());
+        try {
+            if (!sharedStore.acquireLease(playerId)) {
+                plugin.getLogger().info("다른 서버가 플레이어 임대를 반납하지 않아 접속 거부: " + playerId);
+                return false;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("플레이어 임대 실패 (" + playerId + "): " + e.getMessage());
+            return false;
+        }
         
-        plugin.savePlayersConfig();
+        if (!playerStatsMap.containsKey(playerId)) {
+            offlineCache.remove(playerId);
+            prefetchedStats.put(playerId, new PrefetchedStats(readStats(playerId)));
+        }
+        return true;
     }
     
+    /**
+     * 접속한 플레이어를 활성 목록으로 옮김 (미리 불러온 데이터 우선 사용)
+     */
     public void loadPlayerData(Player player) {
-        FileConfiguration config = plugin.getPlayersConfig();
-        String path = "players." + player.getUniqueId().toString();
-        
-        if (config.contains(path)) {
-            PlayerStats stats = new PlayerStats(
-                config.getDouble(path + ".health", 0),
-                config.getDouble(path + ".damage", 0),
-                config.getDouble(path + ".defense", 0),
-                config.getDouble(path + ".speed", 0),
-                config.getDouble(path + ".mining", 0),
-                config.getInt(path + ".statCoins", 0),
-                config.getInt(path + ".coins", 0)
-            );
-            playerStatsMap.put(player.getUniqueId(), stats);
-        }
-    }
-    
-    public void loadAllPlayerData() {
-        FileConfiguration config = plugin.getPlayersConfig();
-        if (config.contains("players")) {
-            for (String uuidString : config.getConfigurationSection("players").getKeys(false)) {
-                try {
-                    UUID uuid = UUID.fromString(uuidString);
-                    String path = "players." + uuidString;
-                    
-                    PlayerStats stats = new PlayerStats(
-                        config.getDouble(path + ".health", 0),
-                        config.getDouble(path + ".damage", 0),
-                        config.getDouble(path + ".defense", 0),
-                        config.getDouble(path + ".speed", 0),
-                        config.getDouble(path + ".mining", 0),
-                        config.getInt(path + ".statCoins", 0),
-                        config.getInt(path + ".coins", 0)
-                    );
-                    playerStatsMap.put(uuid, stats);
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("잘못된 UUID 형식: " + uuidString);
+        UUID playerId = player.getUniqueId();
+        archive.touch(playerId);
+        leaderboards.setName(playerId, player.getName());
+        if (playerStatsMap.containsKey(playerId)) {
+            return;
+        }
+        
+        if (sharedStore != null && !prefetchedStats.containsKey(playerId) && !prefetchLeased(playerId)) {
+            plugin.getLogger().warning("임대 없이 접속한 플레이어, 저장이 거부될 수 있습니다: " + player.getName());
+        }
+        
+        // 캐시에 있는 객체가 미리 불러온 값보다 최신
+        // - 잠금 없이 옮기면 그 사이 비동기 지급이 저장소에서 새 객체를 불러와 지급액이 사라짐
+        synchronized (loadLock) {
+            PlayerStats stats = offlineCache.remove(playerId);
+            PrefetchedStats prefetched = prefetchedStats.remove(playerId);
+            if (stats == null && prefetched != null) {
+                stats = prefetched.stats;
+            }
+            
+            if (stats == null) {
+                plugin.getLogger().fine("미리 불러오지 못한 플레이어 데이터 동기 로드: " + player.getName());
+                stats = readStats(playerId);
+            }
+            
+            playerStatsMap.put(playerId, stats);
+        }
+    }
+    
+    /**
+     * 퇴장한 플레이어를 오프라인 캐시로 옮김
+     */
+    public void unloadPlayerData(Player player) {
+        archive.touch(player.getUniqueId());
+        synchronized (loadLock) {
+            PlayerStats stats = playerStatsMap.remove(player.getUniqueId());
+            if (sharedStore == null && stats != null) {
+                offlineCache.put(player.getUniqueId(), stats);
+            }
+        }
+        if (sharedStore != null) {
+            // 다른 서버로 옮겨 갈 수 있으므로 캐시에 두지 않고, 퇴장 저장이 끝나면 임대 반납
+            pendingLeaseReleases.add(player.getUniqueId());
+            callOnStorageThread(() -> {
+                releaseIdleLeases();
+                return null;
+            }).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("플레이어 임대 반납 실패: " + PlayerBackupService.rootMessage(error));
+                }
+            });
+        }
+    }
+    
+    /**
+     * 저장 대기 중인 값 → 저장소 → 콜드 보관소 → 새 데이터 순으로 조회
+     */
+    private PlayerStats readStats(UUID playerId) {
+        PlayerStats stats = dataWriter.peekUnwritten(playerId);
+        if (stats != null) {
+            return stats;
+        }
+        
+        try {
+            stats = store.load(playerId);
+            if (stats == null) {
+                stats = restoreArchived(playerId);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("플레이어 데이터 로드 실패 (" + playerId + "): " + e.getMessage());
+        }
+        return stats != null ? stats : new PlayerStats();
+    }
+    
+    /**
+     * 콜드 보관된 플레이어를 저장소로 되돌림 (다음 저장 주기에 기록)
+     */
+    private PlayerStats restoreArchived(UUID playerId) throws IOException {
+        PlayerDataStore.Record record = archive.load(playerId);
+        if (record == null) {
+            return null;
+        }
+        
+        dataWriter.enqueue(new PlayerDataStore.Record(playerId, record.name, record.stats.copy()));
+        plugin.getLogger().info("콜드 보관에서 플레이어 복원: " + (record.name != null ? record.name : playerId.toString()));
+        return record.stats;
+    }
+    
+    /**
+     * archive.inactive-days 동안 접속하지 않은 플레이어를 콜드 보관소로 옮김 (메인 스레드에서 호출)
+     * - 저장 스레드에서 선택/보관/삭제를 한 번에 처리해서 그 사이 저장이 끼어들지 않음
+     * @return 옮긴 플레이어 수
+     */
+    public CompletableFuture<Integer> archiveInactivePlayers() {
+        if (sharedStore != null) {
+            // 접속 기록이 서버마다 따로라서 다른 서버에서 활동 중인 플레이어를 보관할 수 있음
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            future.completeExceptionally(new IOException("공유 저장소에서는 콜드 보관을 사용할 수 없습니다."));
+            return future;
+        }
+        
+        long inactiveDays = Math.max(1, plugin.getConfig().getLong("archive.inactive-days", 90));
+        long cutoff = System.currentTimeMillis() - inactiveDays * 24L * 60L * 60L * 1000L;
+        Set<UUID> online = new HashSet<>(playerStatsMap.keySet());
+        
+        return callOnStorageThread(() -> {
+            long startTime = System.nanoTime();
+            List<PlayerDataStore.Record> inactive = archive.selectInactive(store, cutoff, online);
+            long archivedBytes = archive.archive(inactive);
+            
+            List<UUID> playerIds = new ArrayList<>(inactive.size());
+            for (PlayerDataStore.Record record : inactive) {
+                playerIds.add(record.playerId);
+            }
+            store.remove(playerIds);
+            archive.forget(inactive, cutoff);
+            archive.saveLastSeen();
+            
+            if (!inactive.isEmpty()) {
+                plugin.getLogger().info("콜드 보관 완료: " + inactive.size() + "명 이동 (" + archivedBytes / 1024 + "KB, "
+                    + (System.nanoTime() - startTime) / 1_000_000L + "ms), 보관 중 " + archive.size() + "명");
+            }
+            return inactive.size();
+        });
+    }
+    
+    /**
+     * 콜드 보관 중인 플레이어 수
+     */
+    public int getArchivedPlayerCount() {
+        return archive.size();
+    }
+    
+    /**
+     * 공유 모드 임대 관리 (메인 스레드 타이머)
+     * - 대기 중인 저장을 마친 뒤 반납 예정 임대를 반납하고 나머지 임대를 연장
+     */
+    private void maintainLeases() {
+        callOnStorageThread(() -> {
+            releaseIdleLeases();
+            return sharedStore.renewLeases();
+        }).whenComplete((renewed, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("플레이어 임대 연장 실패: " + PlayerBackupService.rootMessage(error));
+            }
+        });
+    }
+    
+    /**
+     * 퇴장한 플레이어의 임대 반납 (저장 스레드)
+     * - 저장에 실패해 아직 기록되지 않은 값이 있으면 임대를 유지하고 다음 주기에 다시 시도
+     */
+    private void releaseIdleLeases() throws IOException {
+        synchronized (leaseLock) {
+            Iterator<UUID> iterator = pendingLeaseReleases.iterator();
+            while (iterator.hasNext()) {
+                UUID playerId = iterator.next();
+                if (dataWriter.peekUnwritten(playerId) == null) {
+                    sharedStore.releaseLease(playerId);
+                    iterator.remove();
                 }
             }
         }
     }
     
-    public void saveAllPlayerData() {
+    private void onCacheEviction(UUID playerId, PlayerStats stats) {
+        // 저장되지 않은 변경 사항은 캐시에서 빠지기 전에 저장 대기열로
+        if (dirtyPlayers.remove(playerId)) {
+            dataWriter.enqueue(new PlayerDataStore.Record(playerId, playerNames.remove(playerId), stats.copy()));
+        }
+    }
+    
+    private void maintainCache() {
+        offlineCache.expireEntries();
+        
+        // 접속으로 이어지지 않은 미리 불러온 데이터는 캐시로 이동
+        long now = System.currentTimeMillis();
+        prefetchedStats.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().loadedAt < PREFETCH_TIMEOUT_MILLIS) {
+                return false;
+            }
+            if (!playerStatsMap.containsKey(entry.getKey()) && offlineCache.peek(entry.getKey()) == null) {
+                offlineCache.put(entry.getKey(), entry.getValue().stats);
+            }
+            return true;
+        });
+    }
+    
+    public int getCachedPlayerCount() {
+        return offlineCache.size();
+    }
+    
+    public long getCacheHitCount() {
+        return offlineCache.getHitCount();
+    }
+    
+    public long getCacheMissCount() {
+        return offlineCache.getMissCount();
+    }
+    
+    public long getCacheEvictionCount() {
+        return offlineCache.getEvictionCount();
+    }
+    
+    PlayerDataStore getStore() {
+        return store;
+    }
+    
+    TransactionJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * 코인/스텟 코인/처치 수 순위표
+     */
+    public LeaderboardManager getLeaderboards() {
+        return leaderboards;
+    }
+    
+    /**
+     * 대기 중인 저장을 마친 뒤 저장 스레드에서 저장소 작업 실행 (메인 스레드에서 호출)
+     */
+    <T> CompletableFuture<T> callOnStorageThread(Callable<T> task) {
+        return dataWriter.callAfterWrites(task);
+    }
+    
+    /**
+     * 저장소에 직접 복원한 값으로 메모리의 데이터 교체 (메인 스레드)
+     * - 접속 중이면 기존 객체에 값을 복사하고 다시 저장 대상으로 표시
+     * - 오프라인이면 캐시와 저장 대기열에서 빼서 다음 조회 때 저장소에서 읽게 함
+     */
+    void replaceStats(UUID playerId, PlayerStats restored) {
+        leaderboards.setBalances(playerId, restored.coins, restored.statCoins);
+        PlayerStats stats = playerStatsMap.get(playerId);
+        if (stats != null) {
+            stats.health = restored.health;
+            stats.damage = restored.damage;
+            stats.defense = restored.defense;
+            stats.speed = restored.speed;
+            stats.mining = restored.mining;
+            stats.statCoins = restored.statCoins;
+            stats.coins = restored.coins;
+            dirtyPlayers.add(playerId);
+            
+            Player player = plugin.getServer().getPlayer(playerId);
+            if (player != null) {
+                applyStatsToPlayer(player);
+            }
+            return;
+        }
+        
+        offlineCache.remove(playerId);
+        prefetchedStats.remove(playerId);
+        dirtyPlayers.remove(playerId);
+        playerNames.remove(playerId);
+        dataWriter.discardPending(playerId);
+    }
+    
+    /**
+     * 온라인 플레이어 전체를 한 번에 복사한 뒤 백그라운드에서 한 번만 직렬화/저장
+     */
+    public CompletableFuture<SaveResult> saveAllPlayerData() {
+        List<PlayerDataStore.Record> records = new ArrayList<>();
         for (Player player : plugin.getServer().getOnlinePlayers()) {
-            savePlayerData(player);
+            UUID playerId = player.getUniqueId();
+            dirtyPlayers.remove(playerId);
+            playerNames.remove(playerId);
+            records.add(new PlayerDataStore.Record(playerId, player.getName(), getPlayerStats(playerId).copy()));
+        }
+        return dataWriter.saveSnapshot(records);
+    }
+    
+    /**
+     * 마지막 저장 결과 (저장된 적이 없으면 null)
+     */
+    public SaveResult getLastSaveResult() {
+        return dataWriter.getLastSaveResult();
+    }
+    
+    /**
+     * 남은 변경 사항을 저장하고 저장 스레드 종료 (onDisable)
+     */
+    public void shutdown() {
+        if (cacheMaintenanceTask != null) {
+            cacheMaintenanceTask.cancel();
+        }
+        if (archiveTask != null) {
+            archiveTask.cancel();
+        }
+        if (leaseTask != null) {
+            leaseTask.cancel();
+        }
+        if (leaderboardTask != null) {
+            leaderboardTask.cancel();
+        }
+        saveAllPlayerData();
+        dataWriter.shutdown();
+        journal.shutdown();
+        leaderboards.save(true);
+        
+        try {
+            archive.saveLastSeen();
+        } catch (IOException e) {
+            plugin.getLogger().warning("접속 기록 저장 실패: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
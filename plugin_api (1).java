@@ -1,15 +1,20 @@
 package com.customrpg.plugin.api;
 
+import com.customrpg.plugin.CoinBatch;
+import com.customrpg.plugin.CoinLedger;
 import com.customrpg.plugin.CustomRPGPlugin;
+import com.customrpg.plugin.LeaderboardManager;
 import com.customrpg.plugin.PlayerStatsManager;
 import com.customrpg.plugin.CustomItemManager;
 import com.customrpg.plugin.CustomMonsterManager;
+import com.customrpg.plugin.ItemStats;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.Location;
 import org.bukkit.World;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -88,6 +93,81 @@ public class CustomRPGAPI {
         return plugin.getStatsManager().spendCoins(player, amount);
     }
     
+    /**
+     * 코인 잔액 조회 (어느 스레드에서나 호출 가능)
+     * @param playerId 대상 플레이어 (오프라인 포함)
+     * @param currency 코인 종류
+     * @return 현재 잔액
+     */
+    public static int getBalance(UUID playerId, CoinLedger.Currency currency) {
+        return plugin.getStatsManager().getBalance(playerId, currency);
+    }
+    
+    /**
+     * 코인 지급 (비동기 스레드에서도 호출 가능, 스케줄러를 거치지 않음)
+     * @param playerId 대상 플레이어 (오프라인 포함)
+     * @param currency 코인 종류
+     * @param amount 지급할 양
+     * @return 지급 후 잔액
+     */
+    public static int credit(UUID playerId, CoinLedger.Currency currency, int amount) {
+        return plugin.getStatsManager().credit(playerId, currency, amount);
+    }
+    
+    /**
+     * 잔액이 충분할 때만 코인 차감 (비동기 스레드에서도 호출 가능)
+     * @param playerId 대상 플레이어 (오프라인 포함)
+     * @param currency 코인 종류
+     * @param amount 차감할 양
+     * @return 잔액이 부족하면 false
+     */
+    public static boolean spend(UUID playerId, CoinLedger.Currency currency, int amount) {
+        return plugin.getStatsManager().spend(playerId, currency, amount);
+    }
+    
+    /**
+     * 여러 플레이어의 코인 지급/차감을 한 거래로 적용 (비동기 스레드에서도 호출 가능)
+     * 예: new CoinBatch().debit(buyer, COINS, 100).credit(seller, COINS, 95)
+     * @param batch 적용할 지급/차감 목록
+     * @return 결과 (잔액이 부족한 계정이 있으면 아무것도 바뀌지 않고 success가 false)
+     */
+    public static CoinBatch.Result applyCoinBatch(CoinBatch batch) {
+        return plugin.getStatsManager().applyCoinBatch(batch);
+    }
+    
+    // ==================== 순위표 API (O(log n), 어느 스레드에서나 호출 가능) ====================
+    
+    /**
+     * 플레이어 순위 조회
+     * @param board 순위표 종류 (코인, 스텟 코인, 처치 수)
+     * @param playerId 대상 플레이어 (오프라인 포함)
+     * @return 순위 (1부터, 점수가 0이면 0)
+     */
+    public static int getRank(LeaderboardManager.Board board, UUID playerId) {
+        return plugin.getStatsManager().getLeaderboards().getRank(board, playerId);
+    }
+    
+    /**
+     * 순위표 점수 조회 (처치 수는 이 API로만 조회 가능)
+     * @param board 순위표 종류
+     * @param playerId 대상 플레이어
+     * @return 점수
+     */
+    public static long getLeaderboardScore(LeaderboardManager.Board board, UUID playerId) {
+        return plugin.getStatsManager().getLeaderboards().getScore(board, playerId);
+    }
+    
+    /**
+     * 상위 순위 조회
+     * @param board 순위표 종류
+     * @param fromRank 시작 순위 (1부터)
+     * @param count 최대 개수
+     * @return 순위 순 항목 목록
+     */
+    public static List<LeaderboardManager.Entry> getTopPlayers(LeaderboardManager.Board board, int fromRank, int count) {
+        return plugin.getStatsManager().getLeaderboards().getRange(board, fromRank, count);
+    }
+    
     /**
      * 플레이어에게 임시 스텟 적용
      * @param player 대상 플레이어
@@ -168,6 +248,15 @@ public class CustomRPGAPI {
         return plugin.getItemManager().getItemStats(item);
     }
     
+    /**
+     * 아이템 스텟 조회 (맵을 만들지 않음, 같은 스텟의 아이템끼리 공유하는 변경 불가 객체)
+     * @param item 아이템 스택
+     * @return 스텟 묶음 (커스텀 아이템이 아니면 ItemStats.EMPTY)
+     */
+    public static ItemStats getItemStatVector(ItemStack item) {
+        return plugin.getItemManager().getItemStatVector(item);
+    }
+    
     /**
      * 플레이어에게 커스텀 아이템 지급
      * @param player 대상 플레이어
@@ -496,6 +585,10 @@ public class CustomRPGAPI {
         stats.put("spawnRegions", plugin.getMonsterManager().getSpawnRegionNames().size());
         stats.put("onlinePlayers", plugin.getServer().getOnlinePlayers().size());
         stats.put("pluginEnabled", plugin.isPluginEnabled());
+        stats.put("cachedPlayers", plugin.getStatsManager().getCachedPlayerCount());
+        stats.put("playerCacheHits", plugin.getStatsManager().getCacheHitCount());
+        stats.put("playerCacheMisses", plugin.getStatsManager().getCacheMissCount());
+        stats.put("playerCacheEvictions", plugin.getStatsManager().getCacheEvictionCount());
         return stats;
     }
     
@@ -0,0 +1,667 @@
+package com.customrpg.plugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 보상 보관함 (stash/<uuid>.dat)
+ * - 인벤토리가 가득 찼을 때 지급된 아이템을 땅에 떨어뜨리지 않고 여기에 넣음 (아이템 엔티티가 생기지 않음)
+ * - 항목은 ItemStack이 아니라 아이템 ID + 수량 + 스텟만 고정 길이로 기록, 꺼낼 때 아이템 생성
+ * - 추가는 메모리에 모았다가 쓰기 스레드가 파일 끝에 한 번에 이어 씀
+ * - 보관함 화면은 열 때 해당 페이지(45칸)만 읽음
+ *
+ * 파일: magic(4) + version(2) + 항목 길이(2) + 항목들
+ * 항목 (64 bytes): ID 길이(1) + ID(42) + 수량(1) + 스텟 5개(float, 체력/공격력/방어력/속도/채굴)
+ * 꺼낸 항목 자리는 마지막 항목으로 채우고 파일을 줄임
+ * - 파일을 고치기 전에 바뀔 부분의 원래 내용을 <uuid>.undo에 먼저 기록, 고치는 도중 멈췄으면 다음에 열 때 되돌림
+ */
+public class RewardStash implements Listener {
+    
+    private static final int MAGIC = 0x43525354; // "CRST"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int ENTRY_SIZE = 64;
+    private static final int MAX_ID_BYTES = 42;
+    private static final int PAGE_SIZE = 45;
+    private static final int SLOT_PREVIOUS = 45;
+    private static final int SLOT_TAKE_ALL = 49;
+    private static final int SLOT_NEXT = 53;
+    private static final long NOTICE_INTERVAL_MILLIS = 30_000L;
+    private static final String[] STAT_TYPES = {"health", "damage", "defense", "speed", "mining"};
+    
+    /**
+     * 열려 있는 보관함 화면 (읽은 페이지 내용 포함)
+     */
+    private static final class StashView implements InventoryHolder {
+        final UUID playerId;
+        final int page;
+        final int total;
+        final byte[][] entries;
+        Inventory inventory;
+        // 쓰기 스레드 작업이 끝날 때까지 다른 클릭 무시
+        boolean busy;
+        
+        StashView(UUID playerId, int page, int total, byte[][] entries) {
+            this.playerId = playerId;
+            this.page = page;
+            this.total = total;
+            this.entries = entries;
+        }
+        
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+    
+    private final CustomRPGPlugin plugin;
+    private final File directory;
+    private final int maxItems;
+    private final ExecutorService writer;
+    
+    // 파일에 아직 쓰지 않은 항목 (메인 스레드가 넣고 쓰기 스레드가 가져감)
+    private final Map<UUID, List<byte[]>> pendingAdds = new ConcurrentHashMap<>();
+    // 플레이어별 항목 수 (메인 스레드 전용, 처음 필요할 때 파일 크기로 계산)
+    private final Map<UUID, Integer> sizes = new HashMap<>();
+    private final Map<UUID, Long> lastNotice = new HashMap<>();
+    // 파일에서 꺼냈지만 아직 메인 스레드에서 지급하지 않은 항목 (종료 시 보관함에 되돌림)
+    private final Map<List<byte[]>, UUID> undelivered = Collections.synchronizedMap(new IdentityHashMap<>());
+    private BukkitTask flushTask;
+    
+    RewardStash(CustomRPGPlugin plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "stash");
+        this.maxItems = Math.max(PAGE_SIZE, plugin.getConfig().getInt("stash.max-items", 2700));
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRPG-Stash");
+            thread.setDaemon(true);
+            return thread;
+        });
+        directory.mkdirs();
+        
+        long interval = Math.max(1, plugin.getConfig().getLong("stash.flush-interval-ticks", 40));
+        this.flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::requestFlush, interval, interval);
+    }
+    
+    // ==================== 추가 (메인 스레드) ====================
+    
+    /**
+     * 인벤토리에 들어가지 못한 아이템을 보관함에 추가
+     * @return 보관함에 넣을 수 없는 아이템 ID거나 보관함이 가득 찼으면 false (호출한 쪽에서 기존 방식으로 처리)
+     */
+    public boolean add(Player player, String itemId, Map<String, Double> stats) {
+        byte[] entry = encode(itemId, 1, stats);
+        if (entry == null) {
+            return false;
+        }
+        
+        UUID playerId = player.getUniqueId();
+        int size = getSize(playerId);
+        if (size >= maxItems) {
+            notice(player, ChatColor.RED + "보관함이 가득 차서 아이템을 발밑에 떨어뜨렸습니다. (/rpg stash)");
+            return false;
+        }
+        
+        enqueue(playerId, entry);
+        sizes.put(playerId, size + 1);
+        notice(player, ChatColor.YELLOW + "인벤토리가 가득 차서 보관함에 넣었습니다. (" + (size + 1) + "개, /rpg stash)");
+        return true;
+    }
+    
+    /**
+     * 기록 대기 목록에 추가
+     * - 쓰기 스레드는 목록을 맵에서 빼낸 뒤에 읽으므로, 추가는 맵 잠금(compute) 안에서만 함
+     */
+    private void enqueue(UUID playerId, byte[] entry) {
+        pendingAdds.compute(playerId, (id, entries) -> {
+            List<byte[]> list = entries != null ? entries : new ArrayList<>();
+            list.add(entry);
+            return list;
+        });
+    }
+    
+    /**
+     * 보관함 항목 수 (메인 스레드)
+     */
+    public int getSize(UUID playerId) {
+        return sizes.computeIfAbsent(playerId, id -> {
+            // 이 플레이어의 기록 대기 항목이 생기기 전이라 파일 크기가 그대로 항목 수
+            long length = stashFile(id).length();
+            return length > HEADER_SIZE ? (int) ((length - HEADER_SIZE) / ENTRY_SIZE) : 0;
+        });
+    }
+    
+    private void notice(Player player, String message) {
+        long now = System.currentTimeMillis();
+        Long last = lastNotice.get(player.getUniqueId());
+        if (last == null || now - last >= NOTICE_INTERVAL_MILLIS) {
+            lastNotice.put(player.getUniqueId(), now);
+            player.sendMessage(message);
+        }
+    }
+    
+    private void requestFlush() {
+        if (!pendingAdds.isEmpty()) {
+            submit(() -> {
+                flushPending();
+                return null;
+            }, ignored -> {});
+        }
+    }
+    
+    // ==================== 보관함 화면 (메인 스레드) ====================
+    
+    /**
+     * 보관함 열기 (페이지는 쓰기 스레드에서 읽고 화면은 메인 스레드에서 생성)
+     * @param page 페이지 (0부터)
+     */
+    public void open(Player player, int page) {
+        UUID playerId = player.getUniqueId();
+        // 꺼내기로 항목 수가 바뀌기 전에 파일 크기로 항목 수를 먼저 계산
+        getSize(playerId);
+        submit(() -> readPage(playerId, page), view -> {
+            if (player.isOnline()) {
+                show(player, view);
+            }
+        });
+    }
+    
+    private void show(Player player, StashView view) {
+        int pages = Math.max(1, (view.total + PAGE_SIZE - 1) / PAGE_SIZE);
+        Inventory inventory = Bukkit.createInventory(view, 54,
+            "보관함 (" + (view.page + 1) + "/" + pages + ", " + view.total + "개)");
+        view.inventory = inventory;
+        
+        for (int slot = 0; slot < view.entries.length; slot++) {
+            inventory.setItem(slot, decode(view.entries[slot]));
+        }
+        if (view.page > 0) {
+            inventory.setItem(SLOT_PREVIOUS, button(Material.ARROW, ChatColor.YELLOW + "이전 페이지"));
+        }
+        if (view.total > 0) {
+            inventory.setItem(SLOT_TAKE_ALL, button(Material.CHEST, ChatColor.GREEN + "빈 칸만큼 모두 꺼내기"));
+        }
+        if (view.page + 1 < pages) {
+            inventory.setItem(SLOT_NEXT, button(Material.ARROW, ChatColor.YELLOW + "다음 페이지"));
+        }
+        player.openInventory(inventory);
+    }
+    
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getView().getTopInventory().getHolder() instanceof StashView)) return;
+        event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player) || event.getClickedInventory() != event.getView().getTopInventory()) {
+            return;
+        }
+        
+        Player player = (Player) event.getWhoClicked();
+        StashView view = (StashView) event.getView().getTopInventory().getHolder();
+        if (view.busy) {
+            return;
+        }
+        
+        int slot = event.getRawSlot();
+        if (slot == SLOT_PREVIOUS && view.page > 0) {
+            view.busy = true;
+            open(player, view.page - 1);
+        } else if (slot == SLOT_NEXT) {
+            view.busy = true;
+            open(player, view.page + 1);
+        } else if (slot == SLOT_TAKE_ALL) {
+            takeAll(player, view);
+        } else if (slot < view.entries.length) {
+            take(player, view, slot);
+        }
+    }
+    
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getView().getTopInventory().getHolder() instanceof StashView) {
+            event.setCancelled(true);
+        }
+    }
+    
+    private void take(Player player, StashView view, int slot) {
+        ItemStack item = decode(view.entries[slot]);
+        if (item.getType() == Material.BARRIER) {
+            player.sendMessage(ChatColor.RED + "더 이상 존재하지 않는 아이템입니다.");
+            return;
+        }
+        if (player.getInventory().firstEmpty() == -1) {
+            player.sendMessage(ChatColor.RED + "인벤토리에 빈 칸이 없습니다.");
+            return;
+        }
+        
+        view.busy = true;
+        UUID playerId = view.playerId;
+        int index = view.page * PAGE_SIZE + slot;
+        byte[] expected = view.entries[slot];
+        submit(() -> remove(playerId, index, expected) ? hold(playerId, Collections.singletonList(expected)) : null, taken -> {
+            if (taken != null) {
+                if (!release(taken)) {
+                    return;
+                }
+                sizes.merge(playerId, -1, Integer::sum);
+                give(player, taken);
+            } else {
+                player.sendMessage(ChatColor.RED + "보관함 내용이 바뀌었습니다. 다시 시도하세요.");
+            }
+            reopen(player, view);
+        });
+    }
+    
+    private void takeAll(Player player, StashView view) {
+        int free = 0;
+        for (ItemStack item : player.getInventory().getStorageContents()) {
+            if (item == null || item.getType() == Material.AIR) {
+                free++;
+            }
+        }
+        if (free == 0) {
+            player.sendMessage(ChatColor.RED + "인벤토리에 빈 칸이 없습니다.");
+            return;
+        }
+        
+        view.busy = true;
+        UUID playerId = view.playerId;
+        int count = free;
+        submit(() -> hold(playerId, removeLast(playerId, count)), taken -> {
+            if (!release(taken)) {
+                return;
+            }
+            sizes.merge(playerId, -taken.size(), Integer::sum);
+            give(player, taken);
+            player.sendMessage(ChatColor.GREEN + "보관함에서 " + taken.size() + "개를 꺼냈습니다.");
+            reopen(player, view);
+        });
+    }
+    
+    /**
+     * 꺼낸 항목 지급 (그 사이 인벤토리가 찼으면 보관함에 다시 넣음)
+     */
+    private void give(Player player, List<byte[]> entries) {
+        for (byte[] entry : entries) {
+            ItemStack item = decode(entry);
+            if (!player.isOnline() || item.getType() == Material.BARRIER || player.getInventory().firstEmpty() == -1) {
+                enqueue(player.getUniqueId(), entry);
+                sizes.merge(player.getUniqueId(), 1, Integer::sum);
+                continue;
+            }
+            player.getInventory().addItem(item);
+        }
+    }
+    
+    /**
+     * 꺼낸 항목을 지급 대기로 등록 (쓰기 스레드)
+     */
+    private List<byte[]> hold(UUID playerId, List<byte[]> entries) {
+        undelivered.put(entries, playerId);
+        return entries;
+    }
+    
+    /**
+     * 지급 직전 등록 해제 (메인 스레드)
+     * @return 종료 중에 이미 보관함으로 되돌렸으면 false
+     */
+    private boolean release(List<byte[]> entries) {
+        return undelivered.remove(entries) != null;
+    }
+    
+    private void reopen(Player player, StashView view) {
+        if (player.isOnline() && player.getOpenInventory().getTopInventory().getHolder() == view) {
+            open(player, view.page);
+        }
+    }
+    
+    private static ItemStack button(Material material, String name) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        item.setItemMeta(meta);
+        return item;
+    }
+    
+    /**
+     * 쓰기 스레드에서 작업 실행 후 결과를 메인 스레드로 넘김
+     */
+    private <T> void submit(Callable<T> task, Consumer<T> onMainThread) {
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, writer).whenComplete((result, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("보관함 작업 실패: " + PlayerBackupService.rootMessage(error));
+                return;
+            }
+            if (plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> onMainThread.accept(result));
+            }
+        });
+    }
+    
+    /**
+     * 남은 항목을 기록하고 쓰기 스레드 종료 (onDisable)
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        writer.execute(() -> {
+            // 메인 스레드 지급 작업은 종료 후 실행되지 않으므로 꺼낸 항목을 다시 넣음
+            synchronized (undelivered) {
+                for (Map.Entry<List<byte[]>, UUID> entry : undelivered.entrySet()) {
+                    for (byte[] item : entry.getKey()) {
+                        enqueue(entry.getValue(), item);
+                    }
+                }
+                undelivered.clear();
+            }
+            try {
+                flushPending();
+            } catch (IOException e) {
+                plugin.getLogger().warning("보관함 저장 실패: " + e.getMessage());
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("보관함 저장이 제한 시간 안에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ==================== 파일 (쓰기 스레드) ====================
+    
+    private void flushPending() throws IOException {
+        for (UUID playerId : new ArrayList<>(pendingAdds.keySet())) {
+            flushPending(playerId);
+        }
+    }
+    
+    private void flushPending(UUID playerId) throws IOException {
+        List<byte[]> entries = pendingAdds.remove(playerId);
+        if (entries == null) {
+            return;
+        }
+        
+        byte[] data = new byte[entries.size() * ENTRY_SIZE];
+        for (int i = 0; i < entries.size(); i++) {
+            System.arraycopy(entries.get(i), 0, data, i * ENTRY_SIZE, ENTRY_SIZE);
+        }
+        
+        // 지난 기록이 중간에 잘렸으면 온전한 항목 뒤로 잘라내고 이어 씀
+        try (RandomAccessFile file = open(playerId)) {
+            long end = HEADER_SIZE + (long) count(file) * ENTRY_SIZE;
+            file.setLength(end);
+            file.seek(end);
+            file.write(data);
+            file.getChannel().force(false);
+        } catch (IOException e) {
+            // 기록하지 못한 항목은 그 사이 추가된 항목 앞에 다시 넣어서 다음 기록 때 재시도
+            pendingAdds.compute(playerId, (id, added) -> {
+                List<byte[]> list = new ArrayList<>(entries);
+                if (added != null) {
+                    list.addAll(added);
+                }
+                return list;
+            });
+            throw e;
+        }
+    }
+    
+    private StashView readPage(UUID playerId, int page) throws IOException {
+        flushPending(playerId);
+        File stashFile = stashFile(playerId);
+        if (!stashFile.isFile()) {
+            return new StashView(playerId, 0, 0, new byte[0][]);
+        }
+        
+        try (RandomAccessFile file = open(playerId)) {
+            int total = count(file);
+            int lastPage = Math.max(0, (total - 1) / PAGE_SIZE);
+            int current = Math.max(0, Math.min(page, lastPage));
+            int first = current * PAGE_SIZE;
+            int length = Math.max(0, Math.min(PAGE_SIZE, total - first));
+            
+            byte[] data = new byte[length * ENTRY_SIZE];
+            file.seek(HEADER_SIZE + (long) first * ENTRY_SIZE);
+            file.readFully(data);
+            
+            byte[][] entries = new byte[length][];
+            for (int i = 0; i < length; i++) {
+                entries[i] = Arrays.copyOfRange(data, i * ENTRY_SIZE, (i + 1) * ENTRY_SIZE);
+            }
+            return new StashView(playerId, current, total, entries);
+        }
+    }
+    
+    /**
+     * 항목 하나 꺼내기 (화면에 보인 내용과 같을 때만, 자리는 마지막 항목으로 채움)
+     */
+    private boolean remove(UUID playerId, int index, byte[] expected) throws IOException {
+        flushPending(playerId);
+        try (RandomAccessFile file = open(playerId)) {
+            int total = count(file);
+            if (index >= total) {
+                return false;
+            }
+            
+            byte[] current = new byte[ENTRY_SIZE];
+            file.seek(HEADER_SIZE + (long) index * ENTRY_SIZE);
+            file.readFully(current);
+            if (!Arrays.equals(current, expected)) {
+                return false;
+            }
+            
+            byte[] last = new byte[ENTRY_SIZE];
+            file.seek(HEADER_SIZE + (long) (total - 1) * ENTRY_SIZE);
+            file.readFully(last);
+            writeUndo(playerId, file.length(), index, current, total - 1, last);
+            
+            if (index < total - 1) {
+                file.seek(HEADER_SIZE + (long) index * ENTRY_SIZE);
+                file.write(last);
+            }
+            file.setLength(HEADER_SIZE + (long) (total - 1) * ENTRY_SIZE);
+            file.getChannel().force(false);
+            deleteUndo(playerId);
+            return true;
+        }
+    }
+    
+    /**
+     * 마지막 항목부터 최대 count개 꺼내기
+     */
+    private List<byte[]> removeLast(UUID playerId, int count) throws IOException {
+        flushPending(playerId);
+        if (!stashFile(playerId).isFile()) {
+            return new ArrayList<>();
+        }
+        
+        try (RandomAccessFile file = open(playerId)) {
+            int total = count(file);
+            int taken = Math.min(count, total);
+            if (taken == 0) {
+                return new ArrayList<>();
+            }
+            byte[] data = new byte[taken * ENTRY_SIZE];
+            file.seek(HEADER_SIZE + (long) (total - taken) * ENTRY_SIZE);
+            file.readFully(data);
+            writeUndo(playerId, file.length(), total - taken, data, total - taken, data);
+            file.setLength(HEADER_SIZE + (long) (total - taken) * ENTRY_SIZE);
+            file.getChannel().force(false);
+            deleteUndo(playerId);
+            
+            List<byte[]> entries = new ArrayList<>(taken);
+            for (int i = taken - 1; i >= 0; i--) {
+                entries.add(Arrays.copyOfRange(data, i * ENTRY_SIZE, (i + 1) * ENTRY_SIZE));
+            }
+            return entries;
+        }
+    }
+    
+    /**
+     * 꺼내기 전 상태 기록 (파일 길이 + 바뀔 두 자리의 원래 항목)
+     * - 두 자리가 같으면(마지막 항목 꺼내기, 여러 개 꺼내기) 같은 내용을 두 번 기록
+     */
+    private void writeUndo(UUID playerId, long length, int firstIndex, byte[] first, int secondIndex, byte[] second)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 4 + first.length + 4 + 4 + second.length);
+        buffer.putLong(length);
+        buffer.putInt(firstIndex).putInt(first.length).put(first);
+        buffer.putInt(secondIndex).putInt(second.length).put(second);
+        AtomicFiles.write(undoFile(playerId), buffer.array());
+    }
+    
+    private void deleteUndo(UUID playerId) throws IOException {
+        File undo = undoFile(playerId);
+        if (undo.exists() && !undo.delete()) {
+            throw new IOException("보관함 되돌리기 기록 삭제 실패: " + undo.getName());
+        }
+    }
+    
+    /**
+     * 꺼내는 도중 멈춘 파일을 꺼내기 전 상태로 되돌림 (아직 지급하지 않은 항목이므로 보관함에 남김)
+     */
+    private void rollback(UUID playerId, RandomAccessFile file) throws IOException {
+        File undo = undoFile(playerId);
+        if (!undo.isFile()) {
+            return;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(undo.toPath()));
+        file.setLength(buffer.getLong());
+        for (int i = 0; i < 2; i++) {
+            int index = buffer.getInt();
+            byte[] data = new byte[buffer.getInt()];
+            buffer.get(data);
+            file.seek(HEADER_SIZE + (long) index * ENTRY_SIZE);
+            file.write(data);
+        }
+        file.getChannel().force(false);
+        deleteUndo(playerId);
+        plugin.getLogger().warning("중단된 보관함 꺼내기를 되돌렸습니다: " + playerId);
+    }
+    
+    private RandomAccessFile open(UUID playerId) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(stashFile(playerId), "rw");
+        try {
+            rollback(playerId, file);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        if (file.length() < HEADER_SIZE) {
+            file.setLength(0);
+            file.writeInt(MAGIC);
+            file.writeShort(VERSION);
+            file.writeShort(ENTRY_SIZE);
+        } else if (file.readInt() != MAGIC) {
+            file.close();
+            throw new IOException("보관함 파일 형식이 아닙니다: " + playerId);
+        }
+        return file;
+    }
+    
+    private static int count(RandomAccessFile file) throws IOException {
+        // 쓰는 도중 멈춰서 잘린 항목은 무시
+        return (int) ((file.length() - HEADER_SIZE) / ENTRY_SIZE);
+    }
+    
+    private File stashFile(UUID playerId) {
+        return new File(directory, playerId + ".dat");
+    }
+    
+    private File undoFile(UUID playerId) {
+        return new File(directory, playerId + ".undo");
+    }
+    
+    // ==================== 항목 인코딩 ====================
+    
+    /**
+     * @return 항목 (아이템 ID가 너무 길면 null)
+     */
+    static byte[] encode(String itemId, int amount, Map<String, Double> stats) {
+        byte[] id = itemId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_ID_BYTES) {
+            return null;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE);
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        buffer.position(1 + MAX_ID_BYTES);
+        buffer.put((byte) Math.max(1, Math.min(amount, 127)));
+        for (String statType : STAT_TYPES) {
+            Double value = stats.get(statType);
+            buffer.putFloat(value != null ? value.floatValue() : 0f);
+        }
+        return buffer.array();
+    }
+    
+    /**
+     * 항목으로 아이템 생성 (정의가 삭제된 아이템은 표시용 방벽)
+     */
+    private ItemStack decode(byte[] entry) {
+        ByteBuffer buffer = ByteBuffer.wrap(entry);
+        int idLength = buffer.get() & 0xFF;
+        String itemId = new String(entry, 1, Math.min(idLength, MAX_ID_BYTES), StandardCharsets.UTF_8);
+        buffer.position(1 + MAX_ID_BYTES);
+        int amount = buffer.get();
+        
+        Map<String, Double> stats = new HashMap<>();
+        for (String statType : STAT_TYPES) {
+            float value = buffer.getFloat();
+            if (value != 0f) {
+                // float 오차 제거 (지급 시 스텟은 소수점 둘째 자리로 반올림됨)
+                stats.put(statType, Math.round(value * 100.0) / 100.0);
+            }
+        }
+        
+        ItemStack item = plugin.getItemManager().createItemStack(itemId, stats);
+        if (item == null) {
+            return button(Material.BARRIER, ChatColor.RED + "삭제된 아이템: " + itemId);
+        }
+        item.setAmount(amount);
+        return item;
+    }
+}
@@ -7,6 +7,11 @@ import org.bukkit.entity.Player;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
 public class RPGCommandExecutor implements CommandExecutor {
     
     private CustomRPGPlugin plugin;
@@ -17,6 +22,26 @@ public class RPGCommandExecutor implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // 마이그레이션은 콘솔에서도 실행 가능
+        if (args.length > 0 && args[0].equalsIgnoreCase("migrate")) {
+            if (!sender.hasPermission("customrpg.admin")) {
+                sender.sendMessage(ChatColor.RED + "권한이 없습니다.");
+                return true;
+            }
+            handleMigrateCommand(sender, args);
+            return true;
+        }
+        
+        // 보상 시뮬레이션도 콘솔에서 실행 가능
+        if (args.length > 0 && args[0].equalsIgnoreCase("simulate")) {
+            if (!sender.hasPermission("customrpg.admin")) {
+                sender.sendMessage(ChatColor.RED + "권한이 없습니다.");
+                return true;
+            }
+            handleSimulateCommand(sender, args);
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage(ChatColor.RED + "이 명령어는 플레이어만 사용할 수 있습니다.");
             return true;
@@ -52,6 +77,23 @@ public class RPGCommandExecutor implements CommandExecutor {
                 showPlayerStats(player);
                 break;
                 
+            case "top":
+                showLeaderboard(player, args);
+                break;
+                
+            case "stash":
+                if (plugin.getRewardStash() == null) {
+                    player.sendMessage(ChatColor.RED + "보관함이 비활성화되어 있습니다.");
+                    return true;
+                }
+                plugin.getRewardStash().open(player, 0);
+                break;
+                
+            case "ah":
+            case "auction":
+                handleAuctionCommand(player, args);
+                break;
+                
             case "warp":
                 if (args.length < 2) {
                     player.sendMessage(ChatColor.RED + "사용법: /rpg warp <월드이름>");
@@ -89,10 +131,34 @@ public class RPGCommandExecutor implements CommandExecutor {
                     player.sendMessage(ChatColor.RED + "권한이 없습니다.");
                     return true;
                 }
+                if (args.length > 1 && args[1].equalsIgnoreCase("items")) {
+                    reloadItems(player);
+                    break;
+                }
+                if (args.length > 1 && args[1].equalsIgnoreCase("monsters")) {
+                    reloadMonsters(player);
+                    break;
+                }
                 plugin.reloadConfig();
                 player.sendMessage(ChatColor.GREEN + "설정이 다시 로드되었습니다.");
                 break;
                 
+            case "backup":
+                if (!player.hasPermission("customrpg.admin")) {
+                    player.sendMessage(ChatColor.RED + "권한이 없습니다.");
+                    return true;
+                }
+                handleBackupCommand(player, args);
+                break;
+                
+            case "storage":
+                if (!player.hasPermission("customrpg.admin")) {
+                    player.sendMessage(ChatColor.RED + "권한이 없습니다.");
+                    return true;
+                }
+                handleStorageCommand(player, args);
+                break;
+                
             default:
                 sendHelpMessage(player);
                 break;
@@ -104,6 +170,9 @@ public class RPGCommandExecutor implements CommandExecutor {
     private void sendHelpMessage(Player player) {
         player.sendMessage(ChatColor.GOLD + "=== CustomRPG 명령어 ===");
         player.sendMessage(ChatColor.YELLOW + "/rpg stats - 내 스텟 확인");
+        player.sendMessage(ChatColor.YELLOW + "/rpg top [coins|statcoins|kills] [페이지] - 순위 확인");
+        player.sendMessage(ChatColor.YELLOW + "/rpg ah [페이지|search|sell|buy|cancel|mine|claim] - 경매장");
+        player.sendMessage(ChatColor.YELLOW + "/rpg stash - 인벤토리가 가득 차서 보관된 아이템");
         player.sendMessage(ChatColor.YELLOW + "/rpg warp <월드> - RPG 월드로 이동");
         
         if (player.hasPermission("customrpg.admin")) {
@@ -113,10 +182,43 @@ public class RPGCommandExecutor implements CommandExecutor {
             player.sendMessage(ChatColor.AQUA + "/rpg region list - 스폰 지역 목록");
             player.sendMessage(ChatColor.AQUA + "/rpg spawn <몬스터ID> [레벨] - 몬스터 스폰");
             player.sendMessage(ChatColor.AQUA + "/rpg give <아이템ID> [플레이어] - 커스텀 아이템 지급");
-            player.sendMessage(ChatColor.AQUA + "/rpg reload - 설정 다시 로드");
+            player.sendMessage(ChatColor.AQUA + "/rpg reload [items|monsters] - 설정/아이템/몬스터 다시 로드");
+            player.sendMessage(ChatColor.AQUA + "/rpg backup [now|list|restore <ID>] - 플레이어 데이터 백업/복원");
+            player.sendMessage(ChatColor.AQUA + "/rpg migrate [verify] <원본> <대상> [스레드 수] - 플레이어 데이터 형식 변환");
+            player.sendMessage(ChatColor.AQUA + "/rpg storage [archive|top <coins|statcoins>|find <이름>] - 저장소 정보/보관/조회");
+            player.sendMessage(ChatColor.AQUA + "/rpg simulate [지역|all] [처치 수] [시간당 처치 수] - 드롭/코인 보상 시뮬레이션");
         }
     }
     
+    private void reloadItems(Player player) {
+        player.sendMessage(ChatColor.YELLOW + "items.yml을 다시 읽는 중...");
+        plugin.reloadItemsConfig().whenComplete((result, error) -> {
+            if (error != null) {
+                // 파일 읽기 실패는 저장 스레드에서 끝나므로 메시지는 메인 스레드로 넘김
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                    player.sendMessage(ChatColor.RED + "items.yml을 읽을 수 없어 기존 아이템을 유지합니다: " + error.getMessage()));
+                return;
+            }
+            player.sendMessage(ChatColor.GREEN + "아이템 리로드 완료: 추가 " + result.added + ", 변경 " + result.changed
+                + ", 삭제 " + result.removed + ", 유지 " + result.unchanged);
+        });
+    }
+    
+    private void reloadMonsters(Player player) {
+        player.sendMessage(ChatColor.YELLOW + "monsters.yml을 다시 읽는 중...");
+        plugin.reloadMonstersConfig().whenComplete((result, error) -> {
+            if (error != null) {
+                plugin.getServer().getScheduler().runTask(plugin, () ->
+                    player.sendMessage(ChatColor.RED + "monsters.yml을 읽을 수 없어 기존 설정을 유지합니다: " + error.getMessage()));
+                return;
+            }
+            player.sendMessage(ChatColor.GREEN + "몬스터 리로드 완료: 추가 " + result.monstersAdded + ", 변경 " + result.monstersChanged
+                + ", 삭제 " + result.monstersRemoved);
+            player.sendMessage(ChatColor.GREEN + "스폰 지역: 추가 " + result.regionsAdded + ", 변경 " + result.regionsChanged
+                + ", 삭제 " + result.regionsRemoved);
+        });
+    }
+    
     private void showPlayerStats(Player player) {
         PlayerStatsManager.PlayerStats stats = plugin.getStatsManager().getPlayerStats(player);
         
@@ -130,6 +232,128 @@ public class RPGCommandExecutor implements CommandExecutor {
         player.sendMessage(ChatColor.GOLD + "코인: " + stats.coins);
     }
     
+    /**
+     * 순위표 페이지와 내 순위 표시 (순위표에서 바로 읽으므로 플레이어 수와 관계없이 빠름)
+     */
+    private void showLeaderboard(Player player, String[] args) {
+        LeaderboardManager.Board board;
+        String title;
+        String unit;
+        String type = args.length > 1 ? args[1].toLowerCase() : "coins";
+        switch (type) {
+            case "coins":
+                board = LeaderboardManager.Board.COINS;
+                title = "코인";
+                unit = "코인";
+                break;
+            case "statcoins":
+                board = LeaderboardManager.Board.STAT_COINS;
+                title = "스텟 코인";
+                unit = "스텟 코인";
+                break;
+            case "kills":
+                board = LeaderboardManager.Board.KILLS;
+                title = "몬스터 처치";
+                unit = "마리";
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + "사용법: /rpg top [coins|statcoins|kills] [페이지]");
+                return;
+        }
+        
+        int page = 1;
+        if (args.length > 2) {
+            try {
+                page = Math.max(1, Integer.parseInt(args[2]));
+            } catch (NumberFormatException e) {
+                player.sendMessage(ChatColor.RED + "페이지는 숫자여야 합니다: " + args[2]);
+                return;
+            }
+        }
+        
+        LeaderboardManager leaderboards = plugin.getStatsManager().getLeaderboards();
+        int pageSize = 10;
+        int total = leaderboards.size(board);
+        int pages = Math.max(1, (total + pageSize - 1) / pageSize);
+        page = Math.min(page, pages);
+        
+        player.sendMessage(ChatColor.GOLD + "=== " + title + " 순위 (" + page + "/" + pages + ") ===");
+        for (LeaderboardManager.Entry entry : leaderboards.getRange(board, (page - 1) * pageSize + 1, pageSize)) {
+            player.sendMessage(ChatColor.YELLOW + "" + entry.rank + ". "
+                + (entry.name != null ? entry.name : entry.playerId.toString()) + " - " + entry.score + " " + unit);
+        }
+        
+        int rank = leaderboards.getRank(board, player.getUniqueId());
+        if (rank > 0) {
+            player.sendMessage(ChatColor.GREEN + "내 순위: " + rank + "위 / " + total + "명 ("
+                + leaderboards.getScore(board, player.getUniqueId()) + " " + unit + ")");
+        } else {
+            player.sendMessage(ChatColor.GRAY + "아직 순위에 오르지 않았습니다.");
+        }
+    }
+    
+    private void handleAuctionCommand(Player player, String[] args) {
+        AuctionHouse auctionHouse = plugin.getAuctionHouse();
+        if (auctionHouse == null) {
+            player.sendMessage(ChatColor.RED + "경매장이 비활성화되어 있습니다.");
+            return;
+        }
+        
+        String mode = args.length > 1 ? args[1].toLowerCase() : "list";
+        try {
+            switch (mode) {
+                case "list":
+                    auctionHouse.showPage(player, null, 1);
+                    break;
+                    
+                case "search":
+                    if (args.length < 3) {
+                        player.sendMessage(ChatColor.RED + "사용법: /rpg ah search <아이템ID> [페이지]");
+                        return;
+                    }
+                    auctionHouse.showPage(player, args[2], args.length > 3 ? Integer.parseInt(args[3]) : 1);
+                    break;
+                    
+                case "sell":
+                    if (args.length < 3) {
+                        player.sendMessage(ChatColor.RED + "사용법: /rpg ah sell <가격> (손에 든 아이템)");
+                        return;
+                    }
+                    auctionHouse.sell(player, Integer.parseInt(args[2]));
+                    break;
+                    
+                case "buy":
+                case "cancel":
+                    if (args.length < 3) {
+                        player.sendMessage(ChatColor.RED + "사용법: /rpg ah " + mode + " <번호>");
+                        return;
+                    }
+                    long listingId = Long.parseLong(args[2].startsWith("#") ? args[2].substring(1) : args[2]);
+                    if (mode.equals("buy")) {
+                        auctionHouse.buy(player, listingId);
+                    } else {
+                        auctionHouse.cancel(player, listingId);
+                    }
+                    break;
+                    
+                case "mine":
+                    auctionHouse.showOwn(player);
+                    break;
+                    
+                case "claim":
+                    auctionHouse.claim(player);
+                    break;
+                    
+                default:
+                    // /rpg ah <페이지>
+                    auctionHouse.showPage(player, null, Integer.parseInt(args[1]));
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            player.sendMessage(ChatColor.RED + "숫자를 입력해야 합니다: " + e.getMessage());
+        }
+    }
+    
     private void warpToRPGWorld(Player player, String worldName) {
         // RPG 월드로 이동하는 경우 특별 처리
         if ("rpg".equalsIgnoreCase(worldName) || "rpg_world".equalsIgnoreCase(worldName)) {
@@ -271,4 +495,268 @@ public class RPGCommandExecutor implements CommandExecutor {
             target.sendMessage(ChatColor.GREEN + "커스텀 아이템을 받았습니다: " + itemId);
         }
     }
-}
\ No newline at end of file
+    
+    private void handleBackupCommand(Player player, String[] args) {
+        PlayerBackupService backupService = plugin.getBackupService();
+        String mode = args.length > 1 ? args[1].toLowerCase() : "status";
+        
+        switch (mode) {
+            case "now":
+                player.sendMessage(ChatColor.YELLOW + "플레이어 데이터 백업을 시작합니다...");
+                backupService.backupNow().whenComplete((result, error) ->
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        if (error != null) {
+                            player.sendMessage(ChatColor.RED + "백업 실패: " + PlayerBackupService.rootMessage(error));
+                        } else {
+                            player.sendMessage(ChatColor.GREEN + "백업 완료: " + result.id + " (" + (result.full ? "전체" : "증분")
+                                + ", 변경 " + result.changed + "명, " + result.durationMillis + "ms)");
+                        }
+                    }));
+                break;
+                
+            case "list":
+                List<File> backups = backupService.listBackups();
+                player.sendMessage(ChatColor.GOLD + "=== 백업 목록 (최근 10개) ===");
+                for (int i = Math.max(0, backups.size() - 10); i < backups.size(); i++) {
+                    File backup = backups.get(i);
+                    player.sendMessage(ChatColor.YELLOW + backup.getName() + " - " + backup.length() / 1024 + "KB");
+                }
+                if (backups.isEmpty()) {
+                    player.sendMessage(ChatColor.GRAY + "백업이 없습니다.");
+                }
+                break;
+                
+            case "restore":
+                if (args.length < 3) {
+                    player.sendMessage(ChatColor.RED + "사용법: /rpg backup restore <ID> (ID는 파일 이름의 .full/.delta 앞부분)");
+                    return;
+                }
+                player.sendMessage(ChatColor.YELLOW + args[2] + " 시점으로 복원합니다...");
+                backupService.restore(args[2]).whenComplete((count, error) ->
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        if (error != null) {
+                            player.sendMessage(ChatColor.RED + "복원 실패: " + PlayerBackupService.rootMessage(error));
+                        } else {
+                            player.sendMessage(ChatColor.GREEN + "복원 완료: " + count + "명");
+                        }
+                    }));
+                break;
+                
+            default:
+                PlayerBackupService.BackupResult last = backupService.getLastResult();
+                if (last == null) {
+                    player.sendMessage(ChatColor.YELLOW + "이번 실행 중에 만든 백업이 없습니다.");
+                    return;
+                }
+                player.sendMessage(ChatColor.GOLD + "=== 마지막 백업 ===");
+                player.sendMessage(ChatColor.YELLOW + last.id + " (" + (last.full ? "전체" : "증분") + ")");
+                player.sendMessage(ChatColor.YELLOW + "레코드 " + last.records + "명, 변경 " + last.changed + ", 삭제 " + last.removed);
+                player.sendMessage(ChatColor.YELLOW + "압축 크기 " + last.compressedBytes / 1024 + "KB, 메모리 약 "
+                    + last.memoryBytes / 1024 + "KB");
+                player.sendMessage(ChatColor.YELLOW + "복사 " + last.captureMillis + "ms, 전체 " + last.durationMillis + "ms");
+                break;
+        }
+    }
+    
+    private void handleMigrateCommand(CommandSender sender, String[] args) {
+        boolean verifyOnly = args.length > 1 && args[1].equalsIgnoreCase("verify");
+        int offset = verifyOnly ? 2 : 1;
+        if (args.length < offset + 2) {
+            sender.sendMessage(ChatColor.RED + "사용법: /rpg migrate [verify] <원본> <대상> [스레드 수] (yaml, sharded, binary, log, sqlite, shared)");
+            return;
+        }
+        
+        String source = args[offset].toLowerCase();
+        String target = args[offset + 1].toLowerCase();
+        String liveType = plugin.getStatsManager().getStore().getType();
+        
+        // 서버가 사용 중인 저장소에 동시에 쓰면 데이터가 섞이므로 대상으로는 사용 불가
+        if (target.equals(liveType)) {
+            sender.sendMessage(ChatColor.RED + "현재 사용 중인 저장소(" + liveType + ")로는 변환할 수 없습니다. 서버를 멈추고 명령줄 도구를 사용하세요.");
+            return;
+        }
+        if (source.equals(liveType) && !source.equals("yaml")) {
+            sender.sendMessage(ChatColor.RED + "현재 사용 중인 저장소(" + liveType + ")는 서버를 멈추고 명령줄 도구로 변환하세요.");
+            return;
+        }
+        
+        int writers = 2;
+        if (args.length > offset + 2) {
+            try {
+                writers = Integer.parseInt(args[offset + 2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "스레드 수는 숫자여야 합니다.");
+                return;
+            }
+        }
+        
+        PlayerDataMigrator migrator = new PlayerDataMigrator(plugin.getDataFolder(), plugin.getConfig(), plugin.getLogger(),
+            source, target, writers);
+        sender.sendMessage(ChatColor.YELLOW + source + " → " + target + (verifyOnly ? " 검증" : " 변환") + "을 시작합니다...");
+        
+        // 변환은 오래 걸리므로 메인 스레드 밖에서 실행하고 메시지만 메인 스레드에서 전송
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            String message;
+            try {
+                PlayerDataMigrator.Result result = verifyOnly ? migrator.verifyOnly()
+                    : migrator.run(line -> plugin.getServer().getScheduler().runTask(plugin,
+                        () -> sender.sendMessage(ChatColor.GRAY + line)));
+                message = (result.verified ? ChatColor.GREEN + "검증 성공: " : ChatColor.RED + "검증 실패: ")
+                    + "원본 " + result.sourceCount + "명, 대상 " + result.targetCount + "명"
+                    + (verifyOnly ? "" : " (이번에 변환 " + result.migrated + "명, " + result.durationMillis + "ms)");
+            } catch (IOException e) {
+                message = ChatColor.RED + "마이그레이션 실패: " + e.getMessage();
+            }
+            
+            String finalMessage = message;
+            plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(finalMessage));
+        });
+    }
+    
+    private void handleSimulateCommand(CommandSender sender, String[] args) {
+        String regionName = args.length > 1 && !args[1].equalsIgnoreCase("all") ? args[1] : null;
+        long kills = plugin.getConfig().getLong("simulator.kills", 10_000_000L);
+        int killsPerHour = plugin.getConfig().getInt("simulator.kills-per-hour", 300);
+        try {
+            if (args.length > 2) {
+                kills = Long.parseLong(args[2]);
+            }
+            if (args.length > 3) {
+                killsPerHour = Integer.parseInt(args[3]);
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "사용법: /rpg simulate [지역|all] [처치 수] [시간당 처치 수]");
+            return;
+        }
+        
+        // 정의는 메인 스레드에서 보상표로 복사해 두고, 계산은 메인 스레드 밖에서 실행
+        LootSimulator simulator = LootSimulator.of(plugin.getMonsterManager());
+        for (String warning : simulator.getWarnings()) {
+            sender.sendMessage(ChatColor.RED + warning);
+        }
+        if (regionName != null && !simulator.getRegionNames().contains(regionName)) {
+            sender.sendMessage(ChatColor.RED + "시뮬레이션할 수 있는 지역: " + String.join(", ", simulator.getRegionNames()));
+            return;
+        }
+        
+        int configured = plugin.getConfig().getInt("simulator.parallelism", 0);
+        int parallelism = configured > 0 ? configured : LootSimulator.defaultParallelism();
+        long seed = System.nanoTime();
+        long finalKills = kills;
+        int finalKillsPerHour = killsPerHour;
+        sender.sendMessage(ChatColor.YELLOW + "보상 시뮬레이션을 시작합니다... (스레드 " + parallelism + ", 시드 " + seed + ")");
+        
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> lines;
+            try {
+                lines = simulator.run(regionName, finalKills, finalKillsPerHour, parallelism, seed);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                lines = Collections.singletonList(ChatColor.RED + "시뮬레이션 실패: " + e.getMessage());
+            }
+            
+            String[] result = lines.toArray(new String[0]);
+            plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(result));
+        });
+    }
+    
+    private void handleStorageCommand(Player player, String[] args) {
+        PlayerStatsManager statsManager = plugin.getStatsManager();
+        PlayerDataStore store = statsManager.getStore();
+        
+        if (args.length == 1) {
+            player.sendMessage(ChatColor.GOLD + "=== 플레이어 저장소 ===");
+            player.sendMessage(ChatColor.YELLOW + "종류: " + store.getType());
+            if (store instanceof SharedPlayerDataStore) {
+                SharedPlayerDataStore sharedStore = (SharedPlayerDataStore) store;
+                player.sendMessage(ChatColor.YELLOW + "서버 ID: " + sharedStore.getNodeId()
+                    + " (다른 서버 변경과 병합: " + sharedStore.getMergeCount()
+                    + " / 병합하지 못해 재시도: " + sharedStore.getConflictCount() + ")");
+            }
+            player.sendMessage(ChatColor.YELLOW + "캐시: " + statsManager.getCachedPlayerCount() + "명 (적중 "
+                + statsManager.getCacheHitCount() + " / 실패 " + statsManager.getCacheMissCount() + ")");
+            player.sendMessage(ChatColor.YELLOW + "콜드 보관: " + statsManager.getArchivedPlayerCount() + "명");
+            
+            PlayerStatsManager.SaveResult lastSave = statsManager.getLastSaveResult();
+            if (lastSave != null) {
+                player.sendMessage(ChatColor.YELLOW + "마지막 저장: " + lastSave.records + "명, "
+                    + lastSave.bytesWritten + " bytes, " + lastSave.durationMillis + "ms");
+            }
+        }
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("archive")) {
+            player.sendMessage(ChatColor.YELLOW + "오래 접속하지 않은 플레이어를 콜드 보관소로 옮기는 중...");
+            statsManager.archiveInactivePlayers().whenComplete((count, error) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        player.sendMessage(ChatColor.RED + "콜드 보관 실패: " + PlayerBackupService.rootMessage(error));
+                    } else {
+                        player.sendMessage(ChatColor.GREEN + "콜드 보관 완료: " + count + "명 이동");
+                    }
+                }));
+            return;
+        }
+        
+        if (!(store instanceof SqlPlayerDataStore)) {
+            if (args.length > 1) {
+                player.sendMessage(ChatColor.RED + "순위/검색은 sqlite 저장소에서만 사용할 수 있습니다.");
+            }
+            return;
+        }
+        
+        SqlPlayerDataStore sqlStore = (SqlPlayerDataStore) store;
+        String mode = args.length > 1 ? args[1].toLowerCase() : "count";
+        if (mode.equals("find") && args.length < 3) {
+            player.sendMessage(ChatColor.RED + "사용법: /rpg storage find <이름>");
+            return;
+        }
+        
+        // DB 조회는 메인 스레드 밖에서 실행하고 결과만 메인 스레드에서 전송
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            String[] lines;
+            try {
+                switch (mode) {
+                    case "top":
+                        boolean statCoins = args.length > 2 && args[2].equalsIgnoreCase("statcoins");
+                        List<PlayerDataStore.Record> top = sqlStore.findTop(statCoins, 10);
+                        lines = new String[top.size() + 1];
+                        lines[0] = ChatColor.GOLD + "=== " + (statCoins ? "스텟 코인" : "코인") + " 순위 ===";
+                        for (int i = 0; i < top.size(); i++) {
+                            PlayerDataStore.Record record = top.get(i);
+                            lines[i + 1] = ChatColor.YELLOW + "" + (i + 1) + ". "
+                                + (record.name != null ? record.name : record.playerId.toString()) + " - "
+                                + (statCoins ? record.stats.statCoins : record.stats.coins);
+                        }
+                        break;
+                        
+                    case "find":
+                        PlayerDataStore.Record found = sqlStore.findByName(args[2]);
+                        if (found == null) {
+                            lines = new String[] {ChatColor.RED + "저장된 플레이어를 찾을 수 없습니다: " + args[2]};
+                        } else {
+                            PlayerStatsManager.PlayerStats stats = found.stats;
+                            lines = new String[] {
+                                ChatColor.GOLD + "=== " + found.name + " (" + found.playerId + ") ===",
+                                ChatColor.YELLOW + "체력 +" + stats.health + ", 공격력 +" + stats.damage
+                                    + ", 방어력 +" + stats.defense + ", 속도 +" + stats.speed + ", 채굴 +" + stats.mining,
+                                ChatColor.YELLOW + "스텟 코인: " + stats.statCoins + ", 코인: " + stats.coins
+                            };
+                        }
+                        break;
+                        
+                    default:
+                        lines = new String[] {ChatColor.YELLOW + "저장된 플레이어: " + sqlStore.count() + "명"};
+                        break;
+                }
+            } catch (IOException e) {
+                lines = new String[] {ChatColor.RED + "저장소 조회 실패: " + e.getMessage()};
+            }
+            
+            String[] result = lines;
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) {
+                    player.sendMessage(result);
+                }
+            });
+        });
+    }
+}
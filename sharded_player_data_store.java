@@ -0,0 +1,118 @@
+package com.customrpg.plugin;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 플레이어별 파일 저장소
+ * - players/<ab>/<cd>/<uuid>.yml 형태의 2단계 해시 디렉토리
+ * - 조회/저장 비용이 전체 플레이어 수와 무관
+ */
+class ShardedPlayerDataStore implements PlayerDataStore {
+    
+    private final File rootDirectory;
+    
+    ShardedPlayerDataStore(File rootDirectory) {
+        this.rootDirectory = rootDirectory;
+        rootDirectory.mkdirs();
+    }
+    
+    @Override
+    public String getType() {
+        return "sharded";
+    }
+    
+    File getPlayerFile(UUID playerId) {
+        int hash = playerId.hashCode();
+        String first = String.format("%02x", (hash >>> 8) & 0xff);
+        String second = String.format("%02x", hash & 0xff);
+        return new File(new File(new File(rootDirectory, first), second), playerId.toString() + ".yml");
+    }
+    
+    @Override
+    public PlayerStatsManager.PlayerStats load(UUID playerId) throws IOException {
+        YamlConfiguration config = readFile(getPlayerFile(playerId));
+        return config != null ? YamlPlayerDataStore.readStats(config, "") : null;
+    }
+    
+    @Override
+    public long write(Collection<Record> records) throws IOException {
+        long bytesWritten = 0;
+        
+        for (Record record : records) {
+            File file = getPlayerFile(record.playerId);
+            YamlConfiguration config = new YamlConfiguration();
+            
+            // 이름이 없는 레코드는 기존 파일의 이름 유지
+            if (record.name == null) {
+                YamlConfiguration existing = readFile(file);
+                if (existing != null && existing.contains("name")) {
+                    config.set("name", existing.getString("name"));
+                }
+            }
+            
+            YamlPlayerDataStore.writeRecord(config, "", record);
+            byte[] bytes = config.saveToString().getBytes(StandardCharsets.UTF_8);
+            AtomicFiles.write(file, bytes);
+            bytesWritten += bytes.length;
+        }
+        
+        return bytesWritten;
+    }
+    
+    @Override
+    public void remove(Collection<UUID> playerIds) throws IOException {
+        for (UUID playerId : playerIds) {
+            Files.deleteIfExists(getPlayerFile(playerId).toPath());
+        }
+    }
+    
+    @Override
+    public void forEach(Consumer<Record> consumer) throws IOException {
+        try (Stream<Path> paths = Files.walk(rootDirectory.toPath(), 3)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String fileName = path.getFileName().toString();
+                if (!fileName.endsWith(".yml")) {
+                    continue;
+                }
+                
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                
+                YamlConfiguration config = readFile(path.toFile());
+                if (config != null) {
+                    consumer.accept(new Record(playerId, config.getString("name"),
+                        YamlPlayerDataStore.readStats(config, "")));
+                }
+            }
+        }
+    }
+    
+    private YamlConfiguration readFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (InvalidConfigurationException e) {
+            throw new IOException("플레이어 데이터 형식 오류: " + file.getName(), e);
+        }
+        return config;
+    }
+}
@@ -0,0 +1,567 @@
+package com.customrpg.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * 여러 서버가 함께 쓰는 SQLite 저장소 (storage.type: shared)
+ * - 레코드마다 버전과 임대(소유 서버, 만료 시각)를 기록
+ * - 접속 시 임대를 얻은 서버가 그 플레이어를 불러오고, 퇴장 후 저장이 끝나면 임대 반납
+ * - 저장은 이 서버가 마지막으로 읽은 버전과 같을 때만 반영 (compare-and-set)
+ * - 다른 서버가 먼저 바꾼 레코드는 다시 읽어서 이 서버의 변경만 더한 뒤 재시도
+ *   (코인은 변경량을 더하고, 스텟은 이 서버에서 바뀐 값만 덮어씀)
+ * - 그래도 저장하지 못한 레코드는 WriteConflictException으로 알려서 다음 주기에 재시도
+ * - 서버가 비정상 종료되면 lease-seconds 뒤 다른 서버가 임대를 가져갈 수 있음
+ *
+ * 같은 컴퓨터의 서버들은 storage.shared.file에 같은 경로를 지정하면 됨
+ */
+class SharedPlayerDataStore extends SqlPlayerDataStore {
+    
+    private static final long ACQUIRE_RETRY_MILLIS = 200;
+    private static final int MERGE_ATTEMPTS = 3;
+    
+    private static final String SELECT_VERSIONED =
+        "SELECT health, damage, defense, speed, mining, stat_coins, coins, version FROM players WHERE uuid = ?";
+    private static final String UPDATE_VERSIONED =
+        "UPDATE players SET name = COALESCE(?, name), health = ?, damage = ?, defense = ?, speed = ?, mining = ?, "
+            + "stat_coins = ?, coins = ?, updated_at = ?, version = version + 1, writer = ? "
+            + "WHERE uuid = ? AND version = ?";
+    private static final String INSERT_NEW =
+        "INSERT OR IGNORE INTO players (uuid, name, health, damage, defense, speed, mining, stat_coins, coins, updated_at, "
+            + "version, writer) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?)";
+    // 버전을 모르는 쓰기 (백업 복원, 마이그레이션): 다른 서버가 임대 중이 아닐 때만
+    private static final String UPSERT_UNLEASED =
+        "INSERT INTO players (uuid, name, health, damage, defense, speed, mining, stat_coins, coins, updated_at, "
+            + "version, writer) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?) "
+            + "ON CONFLICT(uuid) DO UPDATE SET name = COALESCE(excluded.name, players.name), "
+            + "health = excluded.health, damage = excluded.damage, defense = excluded.defense, "
+            + "speed = excluded.speed, mining = excluded.mining, stat_coins = excluded.stat_coins, "
+            + "coins = excluded.coins, updated_at = excluded.updated_at, version = players.version + 1, "
+            + "writer = excluded.writer "
+            + "WHERE players.owner IS NULL OR players.owner = ? OR players.lease_until < ?";
+    
+    private final String nodeId;
+    private final long leaseMillis;
+    private final long handoffWaitMillis;
+    private final Logger logger;
+    
+    // 이 서버가 마지막으로 읽거나 쓴 레코드
+    private final Map<UUID, Base> bases = new ConcurrentHashMap<>();
+    private final AtomicLong mergeCount = new AtomicLong();
+    private final AtomicLong conflictCount = new AtomicLong();
+    private volatile MergeListener mergeListener;
+    
+    /**
+     * 이 서버가 마지막으로 읽거나 쓴 레코드
+     * - row: 그때 저장소에 있던 값, sent: 그 값을 만든 메모리 쪽 스냅샷
+     * - 다음 저장은 sent 이후 이 서버에서 생긴 변경만 row에 더해서 기록
+     */
+    private static final class Base {
+        final long version;
+        final PlayerStatsManager.PlayerStats row;
+        final PlayerStatsManager.PlayerStats sent;
+        
+        Base(long version, PlayerStatsManager.PlayerStats row, PlayerStatsManager.PlayerStats sent) {
+            this.version = version;
+            this.row = row;
+            this.sent = sent;
+        }
+        
+        static Base empty() {
+            return new Base(0, new PlayerStatsManager.PlayerStats(), new PlayerStatsManager.PlayerStats());
+        }
+    }
+    
+    /**
+     * 병합하면서 발견한 다른 서버의 코인 변경을 받음 (저장 스레드에서 커밋 후 호출)
+     */
+    interface MergeListener {
+        void merged(UUID playerId, int statCoinsDelta, int coinsDelta);
+    }
+    
+    /**
+     * 다른 서버와 충돌해 저장하지 못한 플레이어 (나머지 레코드는 커밋됨)
+     */
+    static final class WriteConflictException extends IOException {
+        private final Set<UUID> playerIds;
+        
+        WriteConflictException(Set<UUID> playerIds) {
+            super("다른 서버와 충돌해 저장하지 못한 플레이어 " + playerIds.size() + "명");
+            this.playerIds = playerIds;
+        }
+        
+        Set<UUID> getPlayerIds() {
+            return playerIds;
+        }
+    }
+    
+    SharedPlayerDataStore(File databaseFile, int poolSize, String nodeId, long leaseMillis, long handoffWaitMillis,
+                          Logger logger) throws IOException {
+        super(databaseFile, poolSize);
+        this.nodeId = nodeId == null || nodeId.isEmpty() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.leaseMillis = Math.max(5000, leaseMillis);
+        this.handoffWaitMillis = Math.max(0, handoffWaitMillis);
+        this.logger = logger;
+        
+        try {
+            addLeaseColumns();
+            // 같은 이름으로 다시 시작했으면 비정상 종료 때 남은 임대를 바로 반납
+            int released = releaseAll();
+            if (released > 0) {
+                logger.info("지난 실행에서 반납하지 못한 임대 " + released + "개 반납 (" + this.nodeId + ")");
+            }
+        } catch (IOException e) {
+            closeConnections();
+            throw e;
+        }
+    }
+    
+    private void addLeaseColumns() throws IOException {
+        Connection connection = borrow();
+        try (Statement statement = connection.createStatement()) {
+            Set<String> columns = new HashSet<>();
+            try (ResultSet result = statement.executeQuery("PRAGMA table_info(players)")) {
+                while (result.next()) {
+                    columns.add(result.getString("name"));
+                }
+            }
+            
+            // 기존 sqlite 저장소의 레코드는 버전 1로 시작
+            addColumn(statement, columns, "version", "INTEGER NOT NULL DEFAULT 1");
+            addColumn(statement, columns, "owner", "TEXT");
+            addColumn(statement, columns, "lease_until", "INTEGER NOT NULL DEFAULT 0");
+            // 마지막으로 레코드를 쓴 서버 (저널 재생이 다른 서버의 변경을 덮어쓰지 않도록)
+            addColumn(statement, columns, "writer", "TEXT");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_owner ON players (owner)");
+        } catch (SQLException e) {
+            throw new IOException("공유 저장소 테이블 준비 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    private static void addColumn(Statement statement, Set<String> columns, String name, String definition) throws SQLException {
+        if (columns.contains(name)) {
+            return;
+        }
+        try {
+            statement.executeUpdate("ALTER TABLE players ADD COLUMN " + name + " " + definition);
+        } catch (SQLException e) {
+            // 다른 서버가 동시에 먼저 추가한 경우
+            if (e.getMessage() == null || !e.getMessage().contains("duplicate column")) {
+                throw e;
+            }
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "shared";
+    }
+    
+    String getNodeId() {
+        return nodeId;
+    }
+    
+    long getLeaseMillis() {
+        return leaseMillis;
+    }
+    
+    void setMergeListener(MergeListener mergeListener) {
+        this.mergeListener = mergeListener;
+    }
+    
+    /**
+     * 임대만 잡아 둔 버전 0의 빈 레코드는 전체 조회와 순위, 인원 수에서 제외
+     */
+    @Override
+    String visibleRows() {
+        return "version > 0";
+    }
+    
+    /**
+     * 다른 서버의 변경과 병합해서 저장한 레코드 수
+     */
+    long getMergeCount() {
+        return mergeCount.get();
+    }
+    
+    /**
+     * 병합하지 못해서 다음 주기로 미룬 레코드 수
+     */
+    long getConflictCount() {
+        return conflictCount.get();
+    }
+    
+    /**
+     * 조회하면서 읽은 버전과 값 기록 (이후 저장은 이 버전 기준으로 compare-and-set)
+     */
+    @Override
+    public PlayerStatsManager.PlayerStats load(UUID playerId) throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_VERSIONED)) {
+            statement.setString(1, playerId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                // 버전 0은 임대만 잡아 둔 빈 레코드
+                if (!result.next() || result.getLong("version") == 0) {
+                    bases.put(playerId, Base.empty());
+                    return null;
+                }
+                
+                PlayerStatsManager.PlayerStats stats = readStats(result);
+                bases.put(playerId, new Base(result.getLong("version"), stats.copy(), stats.copy()));
+                return stats;
+            }
+        } catch (SQLException e) {
+            throw new IOException("플레이어 데이터 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 이 서버의 저널을 재생해도 되는 플레이어인지 (시작 시 저널 재생)
+     * - 저널에는 변경 후 값이 기록되므로, 마지막으로 이 서버가 쓴 레코드에만 재생
+     * - 그 뒤 다른 서버가 쓴 레코드나 다른 서버가 임대 중인 레코드는 재생하면 그 변경을 덮어씀
+     */
+    boolean isReplayable(UUID playerId) throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT writer, owner, lease_until FROM players WHERE uuid = ?")) {
+            statement.setString(1, playerId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next()) {
+                    return true;
+                }
+                String writer = result.getString("writer");
+                String owner = result.getString("owner");
+                boolean leasedElsewhere = owner != null && !owner.equals(nodeId)
+                    && result.getLong("lease_until") >= System.currentTimeMillis();
+                return (writer == null || writer.equals(nodeId)) && !leasedElsewhere;
+            }
+        } catch (SQLException e) {
+            throw new IOException("플레이어 데이터 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 버전이 맞으면 그대로, 다른 서버가 먼저 바꿨으면 다시 읽어서 병합한 값으로 저장
+     * @throws WriteConflictException 병합하지 못한 레코드가 있는 경우 (나머지는 커밋됨)
+     */
+    @Override
+    public long write(Collection<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        long bytesWritten = 0;
+        long now = System.currentTimeMillis();
+        Map<UUID, Base> writtenBases = new HashMap<>();
+        Map<UUID, int[]> foreignChanges = new HashMap<>();
+        Set<UUID> conflicts = new HashSet<>();
+        Connection connection = borrow();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement select = connection.prepareStatement(SELECT_VERSIONED);
+                 PreparedStatement update = connection.prepareStatement(UPDATE_VERSIONED);
+                 PreparedStatement insert = connection.prepareStatement(INSERT_NEW);
+                 PreparedStatement upsert = connection.prepareStatement(UPSERT_UNLEASED)) {
+                for (Record record : records) {
+                    Base base = bases.get(record.playerId);
+                    boolean written;
+                    if (base == null) {
+                        bindRecord(upsert, record.playerId, record.name, record.stats, now);
+                        upsert.setString(11, nodeId);
+                        upsert.setString(12, nodeId);
+                        upsert.setLong(13, now);
+                        written = upsert.executeUpdate() > 0;
+                    } else {
+                        Base next = writeMerged(select, update, insert, record, base, now, foreignChanges);
+                        written = next != null;
+                        if (written) {
+                            writtenBases.put(record.playerId, next);
+                        }
+                    }
+                    
+                    if (!written) {
+                        conflicts.add(record.playerId);
+                        continue;
+                    }
+                    bytesWritten += 36 + 5 * 8 + 2 * 4 + 8 + 8
+                        + (record.name != null ? record.name.getBytes(StandardCharsets.UTF_8).length : 0);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // 롤백 실패는 원래 오류로 보고
+            }
+            throw new IOException("플레이어 데이터 저장 실패: " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // 다음 사용 시 다시 설정됨
+            }
+            release(connection);
+        }
+        
+        bases.putAll(writtenBases);
+        mergeCount.addAndGet(foreignChanges.size());
+        MergeListener listener = mergeListener;
+        for (Map.Entry<UUID, int[]> change : foreignChanges.entrySet()) {
+            int[] delta = change.getValue();
+            if (listener != null && (delta[0] != 0 || delta[1] != 0)) {
+                listener.merged(change.getKey(), delta[0], delta[1]);
+            }
+        }
+        
+        if (!conflicts.isEmpty()) {
+            conflictCount.addAndGet(conflicts.size());
+            throw new WriteConflictException(conflicts);
+        }
+        return bytesWritten;
+    }
+    
+    /**
+     * 마지막으로 아는 버전에 저장하고, 다른 서버가 먼저 바꿨으면 다시 읽어서 병합 후 재시도
+     * - 첫 쓰기에서 트랜잭션이 쓰기 잠금을 잡으므로 보통 두 번째 시도에서 성공
+     * @return 저장 후의 기준 레코드, 끝내 저장하지 못하면 null
+     */
+    private Base writeMerged(PreparedStatement select, PreparedStatement update, PreparedStatement insert,
+                             Record record, Base base, long now, Map<UUID, int[]> foreignChanges) throws SQLException {
+        Base current = base;
+        for (int attempt = 0; attempt < MERGE_ATTEMPTS; attempt++) {
+            PlayerStatsManager.PlayerStats merged = merge(current.row, base.sent, record.stats);
+            if (updateVersioned(update, insert, record, merged, current.version, now)) {
+                if (current != base) {
+                    // 기준 레코드 이후 다른 서버가 더한 코인
+                    foreignChanges.put(record.playerId, new int[] {
+                        current.row.statCoins - base.row.statCoins, current.row.coins - base.row.coins});
+                }
+                return new Base(current.version + 1, merged, record.stats.copy());
+            }
+            current = reread(select, record.playerId);
+        }
+        return null;
+    }
+    
+    private static Base reread(PreparedStatement select, UUID playerId) throws SQLException {
+        select.setString(1, playerId.toString());
+        try (ResultSet result = select.executeQuery()) {
+            if (!result.next() || result.getLong("version") == 0) {
+                return Base.empty();
+            }
+            return new Base(result.getLong("version"), readStats(result), null);
+        }
+    }
+    
+    /**
+     * 저장소의 현재 값에 이 서버의 변경만 반영
+     * - 코인: sent 이후 이 서버에서 생긴 변경량을 더함 (다른 서버에서 더해 받은 양은 제외)
+     * - 스텟: sent 이후 이 서버에서 바뀐 스텟만 덮어씀
+     */
+    private static PlayerStatsManager.PlayerStats merge(PlayerStatsManager.PlayerStats row,
+                                                        PlayerStatsManager.PlayerStats sent,
+                                                        PlayerStatsManager.PlayerStats stats) {
+        long statCoinsDelta = ((long) stats.statCoins - stats.foreignStatCoins) - ((long) sent.statCoins - sent.foreignStatCoins);
+        long coinsDelta = ((long) stats.coins - stats.foreignCoins) - ((long) sent.coins - sent.foreignCoins);
+        return new PlayerStatsManager.PlayerStats(
+            stats.health != sent.health ? stats.health : row.health,
+            stats.damage != sent.damage ? stats.damage : row.damage,
+            stats.defense != sent.defense ? stats.defense : row.defense,
+            stats.speed != sent.speed ? stats.speed : row.speed,
+            stats.mining != sent.mining ? stats.mining : row.mining,
+            clampInt(row.statCoins + statCoinsDelta),
+            clampInt(row.coins + coinsDelta));
+    }
+    
+    private static int clampInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+    
+    private boolean updateVersioned(PreparedStatement update, PreparedStatement insert, Record record,
+                                    PlayerStatsManager.PlayerStats stats, long expected, long now) throws SQLException {
+        update.setString(1, record.name);
+        update.setDouble(2, stats.health);
+        update.setDouble(3, stats.damage);
+        update.setDouble(4, stats.defense);
+        update.setDouble(5, stats.speed);
+        update.setDouble(6, stats.mining);
+        update.setInt(7, stats.statCoins);
+        update.setInt(8, stats.coins);
+        update.setLong(9, now);
+        update.setString(10, nodeId);
+        update.setString(11, record.playerId.toString());
+        update.setLong(12, expected);
+        if (update.executeUpdate() > 0) {
+            return true;
+        }
+        
+        // 조회 때 없던 플레이어는 새로 추가 (그 사이 다른 서버가 추가했으면 다시 읽어서 병합)
+        if (expected == 0) {
+            bindRecord(insert, record.playerId, record.name, stats, now);
+            insert.setString(11, nodeId);
+            return insert.executeUpdate() > 0;
+        }
+        return false;
+    }
+    
+    private static void bindRecord(PreparedStatement statement, UUID playerId, String name,
+                                   PlayerStatsManager.PlayerStats stats, long now) throws SQLException {
+        statement.setString(1, playerId.toString());
+        statement.setString(2, name);
+        statement.setDouble(3, stats.health);
+        statement.setDouble(4, stats.damage);
+        statement.setDouble(5, stats.defense);
+        statement.setDouble(6, stats.speed);
+        statement.setDouble(7, stats.mining);
+        statement.setInt(8, stats.statCoins);
+        statement.setInt(9, stats.coins);
+        statement.setLong(10, now);
+    }
+    
+    /**
+     * 플레이어 임대 획득 (접속 전, 비동기 스레드)
+     * - 다른 서버가 아직 퇴장 저장 중이면 handoff-wait-seconds 동안 반납을 기다림
+     * @return 획득하면 true, 다른 서버가 계속 임대 중이면 false
+     */
+    boolean acquireLease(UUID playerId) throws IOException {
+        long deadline = System.currentTimeMillis() + handoffWaitMillis;
+        while (!tryAcquire(playerId)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(ACQUIRE_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean tryAcquire(UUID playerId) throws IOException {
+        long now = System.currentTimeMillis();
+        Connection connection = borrow();
+        try {
+            connection.setAutoCommit(false);
+            int updated;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE players SET owner = ?, lease_until = ? "
+                        + "WHERE uuid = ? AND (owner IS NULL OR owner = ? OR lease_until < ?)")) {
+                statement.setString(1, nodeId);
+                statement.setLong(2, now + leaseMillis);
+                statement.setString(3, playerId.toString());
+                statement.setString(4, nodeId);
+                statement.setLong(5, now);
+                updated = statement.executeUpdate();
+            }
+            
+            // 처음 보는 플레이어는 버전 0의 빈 레코드로 임대를 먼저 잡음
+            if (updated == 0) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT OR IGNORE INTO players (uuid, owner, lease_until, version) VALUES (?, ?, ?, 0)")) {
+                    statement.setString(1, playerId.toString());
+                    statement.setString(2, nodeId);
+                    statement.setLong(3, now + leaseMillis);
+                    updated = statement.executeUpdate();
+                }
+            }
+            connection.commit();
+            return updated > 0;
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // 롤백 실패는 원래 오류로 보고
+            }
+            throw new IOException("플레이어 임대 실패: " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // 다음 사용 시 다시 설정됨
+            }
+            release(connection);
+        }
+    }
+    
+    /**
+     * 플레이어 임대 반납 (퇴장 저장이 끝난 뒤 저장 스레드)
+     */
+    void releaseLease(UUID playerId) throws IOException {
+        executeUpdate("UPDATE players SET owner = NULL, lease_until = 0 WHERE uuid = ? AND owner = ?",
+            playerId.toString(), nodeId);
+    }
+    
+    /**
+     * 이 서버가 가진 모든 임대의 만료 시각 연장
+     * @return 연장한 임대 수
+     */
+    int renewLeases() throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE players SET lease_until = ? WHERE owner = ?")) {
+            statement.setLong(1, System.currentTimeMillis() + leaseMillis);
+            statement.setString(2, nodeId);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("임대 연장 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    private int releaseAll() throws IOException {
+        return executeUpdate("UPDATE players SET owner = NULL, lease_until = 0 WHERE owner = ?", nodeId);
+    }
+    
+    private int executeUpdate(String sql, String... parameters) throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("임대 반납 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 남은 임대를 모두 반납하고 연결 종료 (마지막 저장이 끝난 뒤 호출됨)
+     */
+    @Override
+    public void close() {
+        try {
+            releaseAll();
+        } catch (IOException e) {
+            logger.warning("임대 반납 실패, " + leaseMillis / 1000 + "초 후 만료됩니다: " + e.getMessage());
+        }
+        closeConnections();
+    }
+}
@@ -0,0 +1,339 @@
+package com.customrpg.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 내장 SQLite 저장소 (players.db)
+ * - uuid 기본 키로 오프라인 플레이어도 인덱스 조회
+ * - 저장은 prepared statement 배치 upsert를 트랜잭션 하나로 실행 (저장 스레드)
+ * - 관리자 조회(인원 수, 순위, 이름 검색)를 전체 로드 없이 SQL로 처리
+ */
+class SqlPlayerDataStore implements PlayerDataStore {
+    
+    private static final long BORROW_TIMEOUT_SECONDS = 10;
+    
+    private static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS players ("
+            + "uuid TEXT PRIMARY KEY, name TEXT, "
+            + "health REAL NOT NULL DEFAULT 0, damage REAL NOT NULL DEFAULT 0, defense REAL NOT NULL DEFAULT 0, "
+            + "speed REAL NOT NULL DEFAULT 0, mining REAL NOT NULL DEFAULT 0, "
+            + "stat_coins INTEGER NOT NULL DEFAULT 0, coins INTEGER NOT NULL DEFAULT 0, "
+            + "updated_at INTEGER NOT NULL DEFAULT 0)";
+    static final String SELECT_COLUMNS =
+        "SELECT uuid, name, health, damage, defense, speed, mining, stat_coins, coins FROM players";
+    private static final String UPSERT =
+        "INSERT INTO players (uuid, name, health, damage, defense, speed, mining, stat_coins, coins, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT(uuid) DO UPDATE SET name = COALESCE(excluded.name, players.name), "
+            + "health = excluded.health, damage = excluded.damage, defense = excluded.defense, "
+            + "speed = excluded.speed, mining = excluded.mining, stat_coins = excluded.stat_coins, "
+            + "coins = excluded.coins, updated_at = excluded.updated_at";
+    
+    private final File databaseFile;
+    private final BlockingQueue<Connection> pool;
+    
+    SqlPlayerDataStore(File databaseFile, int poolSize) throws IOException {
+        this.databaseFile = databaseFile;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        
+        try {
+            Class.forName("org.sqlite.JDBC");
+            for (int i = 0; i < Math.max(1, poolSize); i++) {
+                pool.add(openConnection());
+            }
+            
+            Connection connection = borrow();
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(CREATE_TABLE);
+                statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_name ON players (name COLLATE NOCASE)");
+                statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_coins ON players (coins DESC)");
+                statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_stat_coins ON players (stat_coins DESC)");
+            } finally {
+                release(connection);
+            }
+        } catch (ClassNotFoundException e) {
+            closeConnections();
+            throw new IOException("SQLite 드라이버를 찾을 수 없습니다.", e);
+        } catch (SQLException e) {
+            closeConnections();
+            throw new IOException("players.db를 열 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "sqlite";
+    }
+    
+    @Override
+    public PlayerStatsManager.PlayerStats load(UUID playerId) throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_COLUMNS + " WHERE uuid = ?")) {
+            statement.setString(1, playerId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? readStats(result) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("플레이어 데이터 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    @Override
+    public long write(Collection<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        
+        long bytesWritten = 0;
+        long now = System.currentTimeMillis();
+        Connection connection = borrow();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (Record record : records) {
+                    PlayerStatsManager.PlayerStats stats = record.stats;
+                    statement.setString(1, record.playerId.toString());
+                    statement.setString(2, record.name);
+                    statement.setDouble(3, stats.health);
+                    statement.setDouble(4, stats.damage);
+                    statement.setDouble(5, stats.defense);
+                    statement.setDouble(6, stats.speed);
+                    statement.setDouble(7, stats.mining);
+                    statement.setInt(8, stats.statCoins);
+                    statement.setInt(9, stats.coins);
+                    statement.setLong(10, now);
+                    statement.addBatch();
+                    
+                    // 행 크기 추정치 (uuid + 스텟 + 코인 + 시각 + 이름)
+                    bytesWritten += 36 + 5 * 8 + 2 * 4 + 8
+                        + (record.name != null ? record.name.getBytes(StandardCharsets.UTF_8).length : 0);
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+            return bytesWritten;
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // 롤백 실패는 원래 오류로 보고
+            }
+            throw new IOException("플레이어 데이터 저장 실패: " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // 다음 사용 시 다시 설정됨
+            }
+            release(connection);
+        }
+    }
+    
+    @Override
+    public void remove(Collection<UUID> playerIds) throws IOException {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+        
+        Connection connection = borrow();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM players WHERE uuid = ?")) {
+                for (UUID playerId : playerIds) {
+                    statement.setString(1, playerId.toString());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // 롤백 실패는 원래 오류로 보고
+            }
+            throw new IOException("플레이어 데이터 삭제 실패: " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // 다음 사용 시 다시 설정됨
+            }
+            release(connection);
+        }
+    }
+    
+    @Override
+    public void forEach(Consumer<Record> consumer) throws IOException {
+        Connection connection = borrow();
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(500);
+            try (ResultSet result = statement.executeQuery(SELECT_COLUMNS + " WHERE " + visibleRows())) {
+                while (result.next()) {
+                    consumer.accept(readRecord(result));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("플레이어 데이터 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 저장된 플레이어 수
+     */
+    int count() throws IOException {
+        Connection connection = borrow();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM players WHERE " + visibleRows())) {
+            return result.next() ? result.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new IOException("플레이어 수 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 코인 또는 스텟 코인 상위 플레이어 (인덱스 사용)
+     */
+    List<Record> findTop(boolean statCoins, int limit) throws IOException {
+        String column = statCoins ? "stat_coins" : "coins";
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(
+                SELECT_COLUMNS + " WHERE " + visibleRows() + " ORDER BY " + column + " DESC LIMIT ?")) {
+            statement.setInt(1, limit);
+            List<Record> records = new ArrayList<>();
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    records.add(readRecord(result));
+                }
+            }
+            return records;
+        } catch (SQLException e) {
+            throw new IOException("순위 조회 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 이름으로 플레이어 검색 (대소문자 무시, 없으면 null)
+     */
+    Record findByName(String name) throws IOException {
+        Connection connection = borrow();
+        try (PreparedStatement statement = connection.prepareStatement(
+                SELECT_COLUMNS + " WHERE name = ? COLLATE NOCASE AND " + visibleRows() + " LIMIT 1")) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? readRecord(result) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("플레이어 검색 실패: " + e.getMessage(), e);
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * 전체 조회(forEach, count, findTop, findByName)에 포함할 행의 조건
+     */
+    String visibleRows() {
+        return "1 = 1";
+    }
+    
+    @Override
+    public void close() {
+        closeConnections();
+    }
+    
+    final void closeConnections() {
+        Connection connection;
+        while ((connection = pool.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // 닫는 중 오류는 무시
+            }
+        }
+    }
+    
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            // WAL: 저장 중에도 다른 연결에서 조회 가능
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=5000");
+        }
+        return connection;
+    }
+    
+    /**
+     * 연결 빌리기 (끊어진 연결은 여기서 다시 연결, 실패하면 끊어진 연결을 돌려놓고 오류)
+     */
+    Connection borrow() throws IOException {
+        Connection connection;
+        try {
+            connection = pool.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("DB 연결 대기 중 중단되었습니다.", e);
+        }
+        if (connection == null) {
+            throw new IOException("사용 가능한 DB 연결이 없습니다.");
+        }
+        
+        try {
+            if (connection.isClosed()) {
+                connection = openConnection();
+            }
+            return connection;
+        } catch (SQLException e) {
+            pool.offer(connection);
+            throw new IOException("DB 다시 연결 실패: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 연결 반납 (끊어진 연결도 그대로 돌려놓아 풀 크기를 유지하고, 다음 borrow에서 다시 연결)
+     */
+    void release(Connection connection) {
+        pool.offer(connection);
+    }
+    
+    static Record readRecord(ResultSet result) throws SQLException {
+        return new Record(UUID.fromString(result.getString("uuid")), result.getString("name"), readStats(result));
+    }
+    
+    static PlayerStatsManager.PlayerStats readStats(ResultSet result) throws SQLException {
+        return new PlayerStatsManager.PlayerStats(
+            result.getDouble("health"),
+            result.getDouble("damage"),
+            result.getDouble("defense"),
+            result.getDouble("speed"),
+            result.getDouble("mining"),
+            result.getInt("stat_coins"),
+            result.getInt("coins")
+        );
+    }
+}
@@ -0,0 +1,552 @@
+package com.customrpg.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * 코인/스텟 코인 거래 저널 (journal/)
+ * - 거래마다 txid를 붙여 순차 기록, 저널 스레드가 모아서 배치당 fsync 한 번 (group commit)
+ * - 엔트리에는 변경량과 변경 후 값을 함께 기록 → 재생은 값을 덮어쓰므로 여러 번 해도 결과 동일
+ * - 저장소 저장이 끝나면 그 시점까지의 txid를 체크포인트로 남기고 지난 세그먼트 삭제
+ * - 시작 시 체크포인트 이후 거래만 저장소에 재생
+ *
+ * 엔트리: length(int) + [txid(8) + (uuid(16) + 변경 수(1) + (필드(1) + 변경량(8) + 변경 후 값(8)) * n) * 플레이어 수] + crc32(int)
+ * (여러 플레이어의 거래도 CRC 하나로 묶여서 전부 재생되거나 전부 무시됨)
+ */
+class TransactionJournal {
+    
+    /**
+     * 거래로 바뀌는 PlayerStats 필드
+     */
+    enum Field {
+        COINS, STAT_COINS, HEALTH, DAMAGE, DEFENSE, SPEED, MINING;
+        
+        void set(PlayerStatsManager.PlayerStats stats, double value) {
+            switch (this) {
+                case COINS: stats.coins = (int) value; break;
+                case STAT_COINS: stats.statCoins = (int) value; break;
+                case HEALTH: stats.health = value; break;
+                case DAMAGE: stats.damage = value; break;
+                case DEFENSE: stats.defense = value; break;
+                case SPEED: stats.speed = value; break;
+                case MINING: stats.mining = value; break;
+            }
+        }
+        
+        double get(PlayerStatsManager.PlayerStats stats) {
+            switch (this) {
+                case COINS: return stats.coins;
+                case STAT_COINS: return stats.statCoins;
+                case HEALTH: return stats.health;
+                case DAMAGE: return stats.damage;
+                case DEFENSE: return stats.defense;
+                case SPEED: return stats.speed;
+                default: return stats.mining;
+            }
+        }
+    }
+    
+    /**
+     * 거래 하나에 포함된 필드 변경
+     */
+    static final class Change {
+        final Field field;
+        final double delta;
+        final double valueAfter;
+        
+        Change(Field field, double delta, double valueAfter) {
+            this.field = field;
+            this.delta = delta;
+            this.valueAfter = valueAfter;
+        }
+    }
+    
+    private static final class Entry {
+        final long txid;
+        final byte[] bytes;
+        
+        Entry(long txid, byte[] bytes) {
+            this.txid = txid;
+            this.bytes = bytes;
+        }
+    }
+    
+    private static final long SEGMENT_SIZE = 1024 * 1024;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    
+    private final File directory;
+    private final Logger logger;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong lastTxid = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong entryCount = new AtomicLong();
+    
+    // 저장소에 반영이 끝난 txid (저장 스레드가 올리고 저널 스레드가 파일로 남김)
+    private volatile long checkpointTarget;
+    private long persistedCheckpoint;
+    
+    private Thread thread;
+    private volatile boolean running;
+    private FileChannel segment;
+    private File segmentFile;
+    private long segmentBytes;
+    
+    TransactionJournal(File directory, Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+        directory.mkdirs();
+    }
+    
+    /**
+     * 체크포인트 이후의 거래를 저장소에 반영하고 저널 비우기 (시작 시, 저장 스레드 시작 전)
+     * - 저장소에 없는 플레이어는 콜드 보관소에서 찾아서 그 값 위에 재생
+     *   (복원만 되고 저장 전에 종료된 플레이어의 스텟이 초기화되지 않도록)
+     * @return 재생한 거래 수
+     */
+    int replay(PlayerDataStore store, ColdPlayerArchive archive) throws IOException {
+        long checkpoint = readCheckpoint();
+        long maxTxid = checkpoint;
+        int replayed = 0;
+        Map<UUID, PlayerDataStore.Record> touched = new LinkedHashMap<>();
+        Set<UUID> skipped = new HashSet<>();
+        
+        for (File file : listSegments().values()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            while (buffer.hasRemaining()) {
+                int position = buffer.position();
+                if (!readEntry(buffer, checkpoint, touched, skipped, store, archive)) {
+                    logger.warning("거래 저널 " + file.getName() + "의 손상된 끝부분 무시 ("
+                        + (buffer.limit() - position) + " bytes)");
+                    break;
+                }
+                long txid = buffer.getLong(position + 4);
+                maxTxid = Math.max(maxTxid, txid);
+                if (txid > checkpoint) {
+                    replayed++;
+                }
+            }
+        }
+        
+        if (!skipped.isEmpty()) {
+            logger.warning("다른 서버가 그 뒤에 변경한 플레이어 " + skipped.size() + "명은 거래 저널을 재생하지 않음 (공유 저장소)");
+        }
+        if (!touched.isEmpty()) {
+            store.write(new ArrayList<>(touched.values()));
+            logger.info("거래 저널 재생: 거래 " + replayed + "건, 플레이어 " + touched.size() + "명 복구");
+        }
+        
+        // 모두 저장소에 반영됐으므로 체크포인트를 올리고 세그먼트 정리
+        writeCheckpoint(maxTxid);
+        persistedCheckpoint = maxTxid;
+        checkpointTarget = maxTxid;
+        for (File file : listSegments().values()) {
+            Files.deleteIfExists(file.toPath());
+        }
+        lastTxid.set(maxTxid);
+        return replayed;
+    }
+    
+    /**
+     * 저널 스레드 시작
+     */
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "CustomRPG-Journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * 필드 하나가 바뀌는 거래 기록
+     */
+    long record(UUID playerId, Field field, double delta, double valueAfter) {
+        return record(playerId, new Change(field, delta, valueAfter));
+    }
+    
+    /**
+     * 잔액 하나가 바뀌는 거래 기록
+     */
+    long recordBalance(UUID playerId, PlayerStatsManager.PlayerStats stats, Field field, double delta) {
+        return recordBalance(playerId, stats, new Change(field, delta, field.get(stats)));
+    }
+    
+    /**
+     * 코인이 포함된 거래 기록 (코인은 여러 스레드에서 동시에 바뀜)
+     * - 코인의 변경 후 값을 잠금 안에서 다시 읽어서, txid가 큰 엔트리가 항상 더 최신 잔액을 가짐
+     *   (CAS 순서와 기록 순서가 달라도 재생 결과는 마지막 잔액)
+     */
+    synchronized long recordBalance(UUID playerId, PlayerStatsManager.PlayerStats stats, Change... changes) {
+        Change[] resolved = new Change[changes.length];
+        for (int i = 0; i < changes.length; i++) {
+            Change change = changes[i];
+            boolean currency = change.field == Field.COINS || change.field == Field.STAT_COINS;
+            resolved[i] = currency ? new Change(change.field, change.delta, change.field.get(stats)) : change;
+        }
+        return record(playerId, resolved);
+    }
+    
+    /**
+     * 여러 필드가 함께 바뀌는 거래를 txid 하나로 기록 (디스크 기록은 저널 스레드에서)
+     * @return 부여된 txid
+     */
+    synchronized long record(UUID playerId, Change... changes) {
+        Map<UUID, Change[]> sections = new LinkedHashMap<>();
+        sections.put(playerId, changes);
+        return append(sections);
+    }
+    
+    /**
+     * 여러 플레이어의 코인 변경을 txid 하나, 엔트리 하나로 기록 (CoinBatch)
+     * - 코인의 변경 후 값은 recordBalance와 같이 잠금 안에서 다시 읽음
+     * @param deltas 플레이어별 순변경량 [코인, 스텟 코인]
+     */
+    synchronized long recordBatch(Map<UUID, long[]> deltas, Map<UUID, PlayerStatsManager.PlayerStats> accounts) {
+        Map<UUID, Change[]> sections = new LinkedHashMap<>();
+        for (Map.Entry<UUID, long[]> entry : deltas.entrySet()) {
+            PlayerStatsManager.PlayerStats stats = accounts.get(entry.getKey());
+            long[] delta = entry.getValue();
+            List<Change> changes = new ArrayList<>(2);
+            if (delta[0] != 0) {
+                changes.add(new Change(Field.COINS, delta[0], stats.coins));
+            }
+            if (delta[1] != 0) {
+                changes.add(new Change(Field.STAT_COINS, delta[1], stats.statCoins));
+            }
+            if (!changes.isEmpty()) {
+                sections.put(entry.getKey(), changes.toArray(new Change[0]));
+            }
+        }
+        return sections.isEmpty() ? lastTxid.get() : append(sections);
+    }
+    
+    private long append(Map<UUID, Change[]> sections) {
+        long txid = lastTxid.incrementAndGet();
+        
+        int size = 8;
+        for (Change[] changes : sections.values()) {
+            size += 16 + 1 + changes.length * 17;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.putLong(txid);
+        for (Map.Entry<UUID, Change[]> section : sections.entrySet()) {
+            payload.putLong(section.getKey().getMostSignificantBits());
+            payload.putLong(section.getKey().getLeastSignificantBits());
+            payload.put((byte) section.getValue().length);
+            for (Change change : section.getValue()) {
+                payload.put((byte) change.field.ordinal());
+                payload.putDouble(change.delta);
+                payload.putDouble(change.valueAfter);
+            }
+        }
+        
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        ByteBuffer entry = ByteBuffer.allocate(4 + payload.capacity() + 4);
+        entry.putInt(payload.capacity());
+        entry.put(payload.array());
+        entry.putInt((int) crc.getValue());
+        
+        queue.add(new Entry(txid, entry.array()));
+        return txid;
+    }
+    
+    /**
+     * 지금까지 부여된 마지막 txid
+     */
+    long getLastTxid() {
+        return lastTxid.get();
+    }
+    
+    /**
+     * txid까지의 거래가 저장소에 반영되었음을 알림 (저장 스레드)
+     */
+    void checkpoint(long txid) {
+        if (txid > checkpointTarget) {
+            checkpointTarget = txid;
+        }
+    }
+    
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+    
+    public long getEntryCount() {
+        return entryCount.get();
+    }
+    
+    public int getPendingCount() {
+        return queue.size();
+    }
+    
+    /**
+     * 남은 거래를 모두 기록하고 종료 (저장 스레드 종료 후 호출)
+     */
+    void shutdown() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(10_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeSegment();
+    }
+    
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                    }
+                } else {
+                    // 기록에 실패한 거래 중 이미 저장소에 반영된 것만 제외하고 재시도
+                    long covered = checkpointTarget;
+                    batch.removeIf(entry -> entry.txid <= covered);
+                }
+                
+                if (!batch.isEmpty()) {
+                    // 기다리는 동안 쌓인 거래를 모두 한 번에 기록
+                    queue.drainTo(batch);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                persistCheckpoint();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                closeSegment();
+                if (!running) {
+                    logger.severe("거래 저널 기록 실패, 거래 " + batch.size() + "건을 기록하지 못하고 종료합니다: " + e.getMessage());
+                    return;
+                }
+                logger.severe("거래 저널 기록 실패, 새 세그먼트에 다시 기록합니다: " + e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        
+        try {
+            persistCheckpoint();
+        } catch (IOException e) {
+            logger.warning("거래 저널 체크포인트 저장 실패: " + e.getMessage());
+        }
+    }
+    
+    private void writeBatch(List<Entry> batch) throws IOException {
+        if (segment == null || segmentBytes >= SEGMENT_SIZE) {
+            openSegment(batch.get(0).txid);
+        }
+        
+        int size = 0;
+        for (Entry entry : batch) {
+            size += entry.bytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Entry entry : batch) {
+            buffer.put(entry.bytes);
+        }
+        buffer.flip();
+        
+        long start = segment.size();
+        try {
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segment.force(false);
+        } catch (IOException e) {
+            // 재시도한 거래가 잘린 엔트리 뒤에 붙어서 재생 때 무시되지 않도록 기록 전 길이로 되돌림
+            try {
+                segment.truncate(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+                // 이 묶음으로 연 세그먼트면 재시도가 같은 이름으로 열리므로 파일째 지움
+                if (start == 0) {
+                    closeSegment();
+                    try {
+                        Files.deleteIfExists(segmentFile.toPath());
+                    } catch (IOException deleteError) {
+                        e.addSuppressed(deleteError);
+                    }
+                }
+            }
+            throw e;
+        }
+        segmentBytes += size;
+        syncCount.incrementAndGet();
+        entryCount.addAndGet(batch.size());
+    }
+    
+    private void persistCheckpoint() throws IOException {
+        long target = checkpointTarget;
+        if (target <= persistedCheckpoint) {
+            return;
+        }
+        
+        writeCheckpoint(target);
+        persistedCheckpoint = target;
+        
+        // 다음 세그먼트의 첫 txid가 체크포인트 이하이면 그 앞 세그먼트는 모두 반영된 것
+        List<Map.Entry<Long, File>> segments = new ArrayList<>(listSegments().entrySet());
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (segments.get(i + 1).getKey() - 1 <= target) {
+                Files.deleteIfExists(segments.get(i).getValue().toPath());
+            }
+        }
+    }
+    
+    private void openSegment(long firstTxid) throws IOException {
+        closeSegment();
+        File file = new File(directory, String.format("%016d", firstTxid) + SEGMENT_SUFFIX);
+        segment = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        segmentFile = file;
+        segmentBytes = segment.size();
+    }
+    
+    private void closeSegment() {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                // 닫는 중 오류는 무시
+            }
+            segment = null;
+        }
+    }
+    
+    private TreeMap<Long, File> listSegments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return segments;
+        }
+        
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            } catch (NumberFormatException e) {
+                // 세그먼트가 아닌 파일
+            }
+        }
+        return segments;
+    }
+    
+    private long readCheckpoint() throws IOException {
+        File file = new File(directory, CHECKPOINT_FILE);
+        if (!file.isFile() || file.length() < 8) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath())).getLong();
+    }
+    
+    private void writeCheckpoint(long txid) throws IOException {
+        AtomicFiles.write(new File(directory, CHECKPOINT_FILE), ByteBuffer.allocate(8).putLong(txid).array());
+    }
+    
+    /**
+     * 엔트리 하나를 읽고, 체크포인트 이후 거래면 변경 후 값을 덮어씀
+     * @return 정상 엔트리면 true (끝이 잘렸거나 CRC가 맞지 않으면 false)
+     */
+    private static boolean readEntry(ByteBuffer buffer, long checkpoint,
+                                     Map<UUID, PlayerDataStore.Record> touched, Set<UUID> skipped,
+                                     PlayerDataStore store, ColdPlayerArchive archive) throws IOException {
+        if (buffer.remaining() < 4) {
+            return false;
+        }
+        
+        int length = buffer.getInt();
+        if (length < 25 || buffer.remaining() < length + 4) {
+            return false;
+        }
+        
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            return false;
+        }
+        
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        long txid = in.getLong();
+        if (txid <= checkpoint) {
+            return true;
+        }
+        
+        // 플레이어별 구간 (일반 거래는 하나, CoinBatch는 여러 개)
+        Field[] fields = Field.values();
+        while (in.remaining() >= 17) {
+            UUID playerId = new UUID(in.getLong(), in.getLong());
+            int count = in.get() & 0xff;
+            if (in.remaining() < count * 17) {
+                return false;
+            }
+            
+            // 공유 저장소에서 다른 서버가 그 뒤에 쓴 플레이어는 변경 후 값으로 덮어쓰지 않음
+            if (!touched.containsKey(playerId) && !skipped.contains(playerId)
+                    && store instanceof SharedPlayerDataStore
+                    && !((SharedPlayerDataStore) store).isReplayable(playerId)) {
+                skipped.add(playerId);
+            }
+            if (skipped.contains(playerId)) {
+                in.position(in.position() + count * 17);
+                continue;
+            }
+            
+            PlayerDataStore.Record record = touched.get(playerId);
+            if (record == null) {
+                PlayerStatsManager.PlayerStats loaded = store.load(playerId);
+                if (loaded != null) {
+                    record = new PlayerDataStore.Record(playerId, null, loaded);
+                } else {
+                    record = archive.load(playerId);
+                    if (record == null) {
+                        record = new PlayerDataStore.Record(playerId, null, new PlayerStatsManager.PlayerStats());
+                    }
+                }
+                touched.put(playerId, record);
+            }
+            PlayerStatsManager.PlayerStats stats = record.stats;
+            
+            for (int i = 0; i < count; i++) {
+                int field = in.get() & 0xff;
+                in.getDouble(); // 변경량 (재생에는 변경 후 값만 사용)
+                double valueAfter = in.getDouble();
+                if (field < fields.length) {
+                    fields[field].set(stats, valueAfter);
+                }
+            }
+        }
+        return true;
+    }
+}
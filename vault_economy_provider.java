@@ -0,0 +1,327 @@
+package com.customrpg.plugin;
+
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.ServicePriority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Vault 경제 제공자 (일반 코인)
+ * - 잔액 조회는 메모리의 PlayerStats에서 바로 읽음 (상점 플러그인의 잦은 조회도 디스크를 거치지 않음)
+ * - 메모리에 없는 오프라인 플레이어는 순위표 잔액으로 답하고 저장 스레드에서 미리 불러옴
+ * - 입금/출금만 처음 보는 오프라인 플레이어를 저장소에서 동기로 읽음 (잔액을 바꾸려면 실제 값이 필요)
+ * - 이름 조회는 접속 중인 플레이어와 순위표의 이름만 사용 (Mojang 조회로 메인 스레드가 멈추지 않도록)
+ * - 입금/출금은 CoinLedger CAS로 처리해서 비동기 스레드에서도 안전
+ * - 저장은 다른 코인 변경과 같이 거래 저널 + 쓰기 지연 저장
+ * - 코인은 정수라서 입금은 내림, 출금은 올림 (소수점으로 코인이 생기지 않도록)
+ *
+ * Vault가 있을 때만 이 클래스를 불러옴 (없으면 클래스 로드 오류)
+ */
+class VaultEconomyProvider implements Economy {
+    
+    private final CustomRPGPlugin plugin;
+    private final PlayerStatsManager statsManager;
+    private final String currencySingular;
+    private final String currencyPlural;
+    
+    VaultEconomyProvider(CustomRPGPlugin plugin) {
+        this.plugin = plugin;
+        this.statsManager = plugin.getStatsManager();
+        this.currencySingular = plugin.getConfig().getString("economy.currency-singular", "코인");
+        this.currencyPlural = plugin.getConfig().getString("economy.currency-plural", currencySingular);
+    }
+    
+    /**
+     * Vault 서비스로 등록 (onEnable, Vault 플러그인이 있을 때만 호출)
+     */
+    static void register(CustomRPGPlugin plugin) {
+        plugin.getServer().getServicesManager().register(Economy.class, new VaultEconomyProvider(plugin), plugin,
+            ServicePriority.Normal);
+        plugin.getLogger().info("Vault 경제 제공자로 등록되었습니다.");
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return plugin.isEnabled();
+    }
+    
+    @Override
+    public String getName() {
+        return "CustomRPG";
+    }
+    
+    @Override
+    public boolean hasBankSupport() {
+        return false;
+    }
+    
+    @Override
+    public int fractionalDigits() {
+        return 0;
+    }
+    
+    @Override
+    public String format(double amount) {
+        return String.format("%,d %s", (long) amount, Math.abs((long) amount) == 1 ? currencySingular : currencyPlural);
+    }
+    
+    @Override
+    public String currencyNamePlural() {
+        return currencyPlural;
+    }
+    
+    @Override
+    public String currencyNameSingular() {
+        return currencySingular;
+    }
+    
+    // ==================== 계정 (플레이어마다 자동 생성) ====================
+    
+    @Override
+    public boolean hasAccount(OfflinePlayer player) {
+        return true;
+    }
+    
+    @Override
+    public boolean hasAccount(OfflinePlayer player, String worldName) {
+        return true;
+    }
+    
+    @Override
+    public boolean hasAccount(String playerName) {
+        return true;
+    }
+    
+    @Override
+    public boolean hasAccount(String playerName, String worldName) {
+        return true;
+    }
+    
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player) {
+        return true;
+    }
+    
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player, String worldName) {
+        return true;
+    }
+    
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        return true;
+    }
+    
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        return true;
+    }
+    
+    // ==================== 잔액 ====================
+    
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        return balance(player.getUniqueId());
+    }
+    
+    @Override
+    public double getBalance(OfflinePlayer player, String worldName) {
+        return getBalance(player);
+    }
+    
+    @Override
+    public double getBalance(String playerName) {
+        UUID playerId = resolve(playerName);
+        return playerId != null ? balance(playerId) : 0;
+    }
+    
+    @Override
+    public double getBalance(String playerName, String worldName) {
+        return getBalance(playerName);
+    }
+    
+    @Override
+    public boolean has(OfflinePlayer player, double amount) {
+        return getBalance(player) >= Math.ceil(amount);
+    }
+    
+    @Override
+    public boolean has(OfflinePlayer player, String worldName, double amount) {
+        return has(player, amount);
+    }
+    
+    @Override
+    public boolean has(String playerName, double amount) {
+        return getBalance(playerName) >= Math.ceil(amount);
+    }
+    
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        return has(playerName, amount);
+    }
+    
+    // ==================== 입금/출금 ====================
+    
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        return withdraw(player.getUniqueId(), amount);
+    }
+    
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        return withdraw(player.getUniqueId(), amount);
+    }
+    
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        UUID playerId = resolve(playerName);
+        return playerId != null ? withdraw(playerId, amount) : unknownPlayer(amount, playerName);
+    }
+    
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        return withdrawPlayer(playerName, amount);
+    }
+    
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        return deposit(player.getUniqueId(), amount);
+    }
+    
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        return deposit(player.getUniqueId(), amount);
+    }
+    
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        UUID playerId = resolve(playerName);
+        return playerId != null ? deposit(playerId, amount) : unknownPlayer(amount, playerName);
+    }
+    
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        return depositPlayer(playerName, amount);
+    }
+    
+    private EconomyResponse withdraw(UUID playerId, double amount) {
+        if (amount < 0 || Double.isNaN(amount) || amount > Integer.MAX_VALUE) {
+            return failure(amount, playerId, "잘못된 금액입니다: " + amount);
+        }
+        
+        int coins = (int) Math.ceil(amount);
+        if (!statsManager.spend(playerId, CoinLedger.Currency.COINS, coins)) {
+            return failure(coins, playerId, currencyPlural + "이(가) 부족합니다.");
+        }
+        return new EconomyResponse(coins, balance(playerId), EconomyResponse.ResponseType.SUCCESS, null);
+    }
+    
+    private EconomyResponse deposit(UUID playerId, double amount) {
+        if (amount < 0 || Double.isNaN(amount) || amount > Integer.MAX_VALUE) {
+            return failure(amount, playerId, "잘못된 금액입니다: " + amount);
+        }
+        
+        int coins = (int) Math.floor(amount);
+        try {
+            int balance = statsManager.credit(playerId, CoinLedger.Currency.COINS, coins);
+            return new EconomyResponse(coins, balance, EconomyResponse.ResponseType.SUCCESS, null);
+        } catch (ArithmeticException e) {
+            return failure(coins, playerId, "잔액 한도를 넘습니다.");
+        }
+    }
+    
+    private double balance(UUID playerId) {
+        return statsManager.peekBalance(playerId, CoinLedger.Currency.COINS);
+    }
+    
+    private EconomyResponse failure(double amount, UUID playerId, String message) {
+        return new EconomyResponse(amount, balance(playerId), EconomyResponse.ResponseType.FAILURE, message);
+    }
+    
+    private static EconomyResponse unknownPlayer(double amount, String playerName) {
+        return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "알 수 없는 플레이어입니다: " + playerName);
+    }
+    
+    /**
+     * 이름 → UUID (접속 중인 플레이어, 그다음 순위표에 기록된 이름)
+     * @return 이 서버에 접속한 적 없는 이름이면 null
+     */
+    private UUID resolve(String playerName) {
+        Player online = plugin.getServer().getPlayerExact(playerName);
+        if (online != null) {
+            return online.getUniqueId();
+        }
+        return statsManager.getLeaderboards().findPlayerId(playerName);
+    }
+    
+    // ==================== 은행 (지원 안 함) ====================
+    
+    private static EconomyResponse notImplemented() {
+        return new EconomyResponse(0, 0, EconomyResponse.ResponseType.NOT_IMPLEMENTED, "은행은 지원하지 않습니다.");
+    }
+    
+    @Override
+    public EconomyResponse createBank(String name, String player) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse createBank(String name, OfflinePlayer player) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse deleteBank(String name) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse bankBalance(String name) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse bankHas(String name, double amount) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse bankWithdraw(String name, double amount) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse bankDeposit(String name, double amount) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse isBankOwner(String name, String playerName) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse isBankMember(String name, String playerName) {
+        return notImplemented();
+    }
+    
+    @Override
+    public EconomyResponse isBankMember(String name, OfflinePlayer player) {
+        return notImplemented();
+    }
+    
+    @Override
+    public List<String> getBanks() {
+        return Collections.emptyList();
+    }
+}
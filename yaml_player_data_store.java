@@ -0,0 +1,155 @@
+package com.customrpg.plugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 단일 players.yml 파일 저장소 (기존 방식)
+ * - 모든 플레이어를 "players.<uuid>" 아래에 저장
+ * - 저장할 때마다 파일 전체를 다시 직렬화
+ *
+ * 한계: 시작할 때 players.yml 전체를 YamlConfiguration 트리로 읽어서 종료 때까지 메모리에 유지함
+ * (오프라인 플레이어를 필요할 때만 불러오는 캐시도 이 저장소에서는 메모리를 줄이지 못함)
+ * 플레이어가 많은 서버는 storage.type을 sharded/binary/log/sqlite로 바꾸면
+ * 다음 시작 때 players.yml을 한 레코드씩 읽어서 자동으로 옮김
+ */
+class YamlPlayerDataStore implements PlayerDataStore {
+    
+    // 이 크기를 넘으면 시작할 때 다른 저장소를 권장
+    private static final long LARGE_FILE_BYTES = 8L * 1024 * 1024;
+    
+    private final File file;
+    private final YamlConfiguration document; // document 잠금 후 사용
+    
+    YamlPlayerDataStore(File file, Logger logger) throws IOException {
+        this.file = file;
+        this.document = new YamlConfiguration();
+        
+        if (file.isFile()) {
+            try {
+                document.load(file);
+            } catch (InvalidConfigurationException e) {
+                throw new IOException("players.yml 형식 오류: " + e.getMessage(), e);
+            }
+            
+            if (file.length() > LARGE_FILE_BYTES) {
+                logger.warning("players.yml이 " + file.length() / (1024 * 1024) + "MB입니다. yaml 저장소는 전체를 메모리에 올리고 "
+                    + "저장할 때마다 파일 전체를 다시 쓰므로 storage.type을 sharded 또는 binary로 바꾸는 것을 권장합니다. "
+                    + "(다음 시작 때 자동 마이그레이션)");
+            }
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "yaml";
+    }
+    
+    @Override
+    public PlayerStatsManager.PlayerStats load(UUID playerId) {
+        String path = "players." + playerId.toString();
+        synchronized (document) {
+            return document.contains(path) ? readStats(document, path + ".") : null;
+        }
+    }
+    
+    @Override
+    public long write(Collection<Record> records) throws IOException {
+        String data;
+        synchronized (document) {
+            for (Record record : records) {
+                writeRecord(document, "players." + record.playerId.toString() + ".", record);
+            }
+            data = document.saveToString();
+        }
+        
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        AtomicFiles.write(file, bytes);
+        return bytes.length;
+    }
+    
+    @Override
+    public void remove(Collection<UUID> playerIds) throws IOException {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+        
+        String data;
+        synchronized (document) {
+            for (UUID playerId : playerIds) {
+                document.set("players." + playerId.toString(), null);
+            }
+            data = document.saveToString();
+        }
+        AtomicFiles.write(file, data.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public void forEach(Consumer<Record> consumer) {
+        List<Record> records = new ArrayList<>();
+        synchronized (document) {
+            ConfigurationSection players = document.getConfigurationSection("players");
+            if (players == null) {
+                return;
+            }
+            
+            for (String uuidString : players.getKeys(false)) {
+                try {
+                    UUID playerId = UUID.fromString(uuidString);
+                    String path = "players." + uuidString + ".";
+                    records.add(new Record(playerId, document.getString(path + "name"), readStats(document, path)));
+                } catch (IllegalArgumentException e) {
+                    // 잘못된 UUID 키는 건너뜀
+                }
+            }
+        }
+        
+        records.forEach(consumer);
+    }
+    
+    /**
+     * 기존 코드 호환용 문서 접근 (document 잠금 후 사용)
+     */
+    FileConfiguration getDocument() {
+        return document;
+    }
+    
+    static PlayerStatsManager.PlayerStats readStats(ConfigurationSection config, String prefix) {
+        return new PlayerStatsManager.PlayerStats(
+            config.getDouble(prefix + "health", 0),
+            config.getDouble(prefix + "damage", 0),
+            config.getDouble(prefix + "defense", 0),
+            config.getDouble(prefix + "speed", 0),
+            config.getDouble(prefix + "mining", 0),
+            config.getInt(prefix + "statCoins", 0),
+            config.getInt(prefix + "coins", 0)
+        );
+    }
+    
+    static void writeRecord(ConfigurationSection config, String prefix, Record record) {
+        PlayerStatsManager.PlayerStats stats = record.stats;
+        
+        config.set(prefix + "health", stats.health);
+        config.set(prefix + "damage", stats.damage);
+        config.set(prefix + "defense", stats.defense);
+        config.set(prefix + "speed", stats.speed);
+        config.set(prefix + "mining", stats.mining);
+        config.set(prefix + "statCoins", stats.statCoins);
+        config.set(prefix + "coins", stats.coins);
+        if (record.name != null) {
+            config.set(prefix + "name", record.name);
+        }
+    }
+}